@@ -715,10 +715,20 @@ DEFAULT_LANG = {
     'tfc.commands.player.fail_invalid_food_stats': 'Player does not have any TFC nutrition or hydration data',
     'tfc.commands.locatevein.unknown_vein': 'Unknown vein: %s',
     'tfc.commands.locatevein.vein_not_found': 'Unable to find vein %s within reasonable distance (16 chunks radius)',
+    'tfc.commands.exportveins.starting': 'Exporting veins to %s...',
+    'tfc.commands.exportveins.done': 'Exported %s veins to %s',
+    'tfc.commands.exportveins.failed': 'Unable to export veins: %s',
     'tfc.commands.locate.invalid_biome': 'Invalid biome: \"%s\"',
     'tfc.commands.locate.invalid_biome_source': 'This world does not have a compatible biome source',
     'tfc.commands.locate.not_found': 'Could not find a biome of type \"%s\" within reasonable distance',
     'tfc.commands.locate.volcano_not_found': 'Could not find a volcano within reasonable distance',
+    'tfc.commands.stats.layers': 'Layer cache: %s hits, %s misses (%s%% hit rate)',
+    'tfc.commands.stats.reset': 'Statistics reset',
+    'tfc.commands.stats.collapses': 'Collapse blocks: %s queued, %s processed and %s deferred last tick',
+    'tfc.commands.stats.landslides': 'Landslides: %s queued, %s processed and %s deferred last tick',
+    'tfc.commands.stats.food_sync': 'Food sync packets: %s sent, %s suppressed (%s%% suppressed)',
+    'tfc.commands.stats.food_sync_player': 'Food sync packets for %s: %s sent, %s suppressed (%s%% suppressed)',
+    'tfc.commands.stats.calendar': 'Calendar catch-up: %s registered, %s pending, %s processed and %s deferred last tick',
 
     # Entities
     'entity.tfc.cod': 'Cod',
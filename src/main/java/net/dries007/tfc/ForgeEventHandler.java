@@ -6,6 +6,7 @@
 
 package net.dries007.tfc;
 
+import java.nio.file.Path;
 import java.util.Random;
 
 import org.apache.logging.log4j.LogManager;
@@ -45,8 +46,10 @@ import net.minecraft.world.level.block.SnowLayerBlock;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.chunk.*;
+import net.minecraft.world.level.dimension.DimensionType;
 import net.minecraft.world.level.material.FluidState;
 import net.minecraft.world.level.material.Material;
+import net.minecraft.world.level.storage.LevelResource;
 import net.minecraft.world.level.storage.ServerLevelData;
 import net.minecraft.world.phys.BlockHitResult;
 import net.minecraft.world.phys.HitResult;
@@ -104,6 +107,7 @@ import net.dries007.tfc.util.tracker.WorldTracker;
 import net.dries007.tfc.util.tracker.WorldTrackerCapability;
 import net.dries007.tfc.world.NoopClimateSampler;
 import net.dries007.tfc.world.biome.BiomeSourceExtension;
+import net.dries007.tfc.world.biome.TFCBiomeSource;
 import net.dries007.tfc.world.biome.TFCBiomes;
 import net.dries007.tfc.world.chunkdata.ChunkData;
 import net.dries007.tfc.world.chunkdata.ChunkDataCache;
@@ -142,6 +146,8 @@ public final class ForgeEventHandler
         bus.addListener(ForgeEventHandler::onWorldTick);
         bus.addListener(ForgeEventHandler::onExplosionDetonate);
         bus.addListener(ForgeEventHandler::onWorldLoad);
+        bus.addListener(ForgeEventHandler::onWorldSave);
+        bus.addListener(ForgeEventHandler::onWorldUnload);
         bus.addListener(ForgeEventHandler::onCreateNetherPortal);
         bus.addListener(ForgeEventHandler::onFluidPlaceBlock);
         bus.addListener(ForgeEventHandler::onFireStart);
@@ -337,6 +343,10 @@ public final class ForgeEventHandler
                 ChunkDataCache.SERVER.update(pos, data);
                 ChunkDataCache.WATCH_QUEUE.dequeueLoadedChunk(pos, data);
             });
+            if (event.getChunk() instanceof LevelChunk chunk && event.getWorld() instanceof Level level)
+            {
+                level.getCapability(WorldTrackerCapability.CAPABILITY).ifPresent(cap -> cap.getSupportIndex().onChunkLoaded(chunk));
+            }
         }
     }
 
@@ -346,6 +356,10 @@ public final class ForgeEventHandler
         if (!Helpers.isClientSide(event.getWorld()) && !(event.getChunk() instanceof EmptyLevelChunk))
         {
             ChunkDataCache.SERVER.remove(event.getChunk().getPos());
+            if (event.getWorld() instanceof Level level)
+            {
+                level.getCapability(WorldTrackerCapability.CAPABILITY).ifPresent(cap -> cap.getSupportIndex().onChunkUnloaded(event.getChunk().getPos()));
+            }
         }
     }
 
@@ -517,6 +531,28 @@ public final class ForgeEventHandler
                 Climate.updateCachedSettings(level, settings, ex.getClimateSeed()); // Server
                 PacketHandler.send(PacketDistributor.ALL.noArg(), new ClimateSettingsUpdatePacket(settings, ex.getClimateSeed())); // Client
             }
+
+            if (TFCConfig.COMMON.enableWatershedStore.get() && level.getChunkSource().getGenerator().getBiomeSource() instanceof TFCBiomeSource source)
+            {
+                final Path directory = DimensionType.getStorageFolder(level.dimension(), server.getWorldPath(LevelResource.ROOT)).resolve("data").resolve("tfc_watersheds");
+                source.getWatersheds().openStore(directory);
+            }
+        }
+    }
+
+    public static void onWorldSave(WorldEvent.Save event)
+    {
+        if (event.getWorld() instanceof final ServerLevel level && level.getChunkSource().getGenerator().getBiomeSource() instanceof TFCBiomeSource source)
+        {
+            source.getWatersheds().flushStore();
+        }
+    }
+
+    public static void onWorldUnload(WorldEvent.Unload event)
+    {
+        if (event.getWorld() instanceof final ServerLevel level && level.getChunkSource().getGenerator().getBiomeSource() instanceof TFCBiomeSource source)
+        {
+            source.getWatersheds().closeStore();
         }
     }
 
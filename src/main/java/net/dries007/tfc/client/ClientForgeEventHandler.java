@@ -70,6 +70,7 @@ import net.dries007.tfc.util.calendar.Calendars;
 import net.dries007.tfc.util.calendar.ICalendar;
 import net.dries007.tfc.util.climate.Climate;
 import net.dries007.tfc.world.chunkdata.ChunkData;
+import net.dries007.tfc.world.layer.framework.ConcurrentArea;
 
 import static net.minecraft.ChatFormatting.*;
 
@@ -112,6 +113,11 @@ public class ClientForgeEventHandler
                 if (TFCConfig.CLIENT.enableDebug.get())
                 {
                     list.add(String.format("[Debug] Ticks = %d, Calendar = %d, Daytime = %d", Calendars.CLIENT.getTicks(), Calendars.CLIENT.getCalendarTicks(), mc.getCameraEntity().level.getDayTime() % ICalendar.TICKS_IN_DAY));
+                    if (mc.hasSingleplayerServer())
+                    {
+                        // Layer caches are only visible when the server shares this JVM
+                        list.add(String.format("[Debug] Layer Cache: Hits = %d, Misses = %d", ConcurrentArea.getHits(), ConcurrentArea.getMisses()));
+                    }
                 }
 
                 // Always add climate data
@@ -59,6 +59,11 @@ public abstract class AbstractFirepitBlockEntity<C extends IItemHandlerModifiabl
 
     public static void serverTick(Level level, BlockPos pos, BlockState state, AbstractFirepitBlockEntity<?> firepit)
     {
+        if (firepit.isDormant())
+        {
+            return;
+        }
+
         firepit.checkForLastTickSync();
         firepit.checkForCalendarUpdate();
 
@@ -94,6 +99,7 @@ public abstract class AbstractFirepitBlockEntity<C extends IItemHandlerModifiabl
         {
             firepit.cascadeFuelSlots();
         }
+        firepit.updateDormancy();
     }
 
     protected final ContainerData syncableData;
@@ -204,6 +210,7 @@ public abstract class AbstractFirepitBlockEntity<C extends IItemHandlerModifiabl
     public boolean light(BlockState state)
     {
         assert level != null;
+        wake();
         if (consumeFuel())
         {
             level.setBlockAndUpdate(worldPosition, state.setValue(FirepitBlock.LIT, true));
@@ -235,6 +242,13 @@ public abstract class AbstractFirepitBlockEntity<C extends IItemHandlerModifiabl
         needsSlotUpdate = true;
     }
 
+    @Override
+    protected boolean isStable()
+    {
+        // Unlit and cold, with no pending slot or recipe updates. Cooking does nothing once the contents have cooled to the firepit temperature, which happens within a tick.
+        return !getBlockState().getValue(FirepitBlock.LIT) && burnTicks <= 0 && airTicks <= 0 && burnTemperature <= 0 && temperature <= 0 && !needsSlotUpdate && !needsRecipeUpdate;
+    }
+
     @Override
     public int getSlotStackLimit(int slot)
     {
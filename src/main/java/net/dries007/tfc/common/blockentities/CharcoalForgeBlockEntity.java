@@ -67,6 +67,11 @@ public class CharcoalForgeBlockEntity extends TickableInventoryBlockEntity<ItemS
 
     public static void serverTick(Level level, BlockPos pos, BlockState state, CharcoalForgeBlockEntity forge)
     {
+        if (forge.isDormant())
+        {
+            return;
+        }
+
         forge.checkForLastTickSync();
         forge.checkForCalendarUpdate();
 
@@ -145,6 +150,7 @@ public class CharcoalForgeBlockEntity extends TickableInventoryBlockEntity<ItemS
         {
             forge.cascadeFuelSlots();
         }
+        forge.updateDormancy();
     }
 
     protected final ContainerData syncableData;
@@ -173,6 +179,7 @@ public class CharcoalForgeBlockEntity extends TickableInventoryBlockEntity<ItemS
 
     public void onAirIntake(int amount)
     {
+        wake();
         airTicks += amount;
         if (airTicks > MAX_AIR_TICKS)
         {
@@ -223,6 +230,13 @@ public class CharcoalForgeBlockEntity extends TickableInventoryBlockEntity<ItemS
         return syncableData;
     }
 
+    @Override
+    protected boolean isStable()
+    {
+        // Unlit and cold, with no pending slot or recipe updates. Input items are only heated while the forge is hot.
+        return getBlockState().getValue(CharcoalForgeBlock.HEAT) == 0 && burnTicks <= 0 && airTicks <= 0 && burnTemperature <= 0 && temperature <= 0 && !needsSlotUpdate && !needsRecipeUpdate;
+    }
+
     public void onFirstCreation()
     {
         burnTicks = 200;
@@ -299,6 +313,7 @@ public class CharcoalForgeBlockEntity extends TickableInventoryBlockEntity<ItemS
     public boolean light(BlockState state)
     {
         assert level != null;
+        wake();
         if (consumeFuel())
         {
             level.setBlockAndUpdate(worldPosition, state.setValue(CharcoalForgeBlock.HEAT, 2));
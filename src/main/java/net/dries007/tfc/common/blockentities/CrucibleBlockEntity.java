@@ -56,6 +56,11 @@ public class CrucibleBlockEntity extends TickableInventoryBlockEntity<CrucibleBl
 
     public static void serverTick(Level level, BlockPos pos, BlockState state, CrucibleBlockEntity crucible)
     {
+        if (crucible.isDormant())
+        {
+            return;
+        }
+
         crucible.checkForLastTickSync();
         crucible.checkForCalendarUpdate();
 
@@ -150,6 +155,7 @@ public class CrucibleBlockEntity extends TickableInventoryBlockEntity<CrucibleBl
                 crucible.markForSync();
             }
         }
+        crucible.updateDormancy();
     }
 
     private final SidedHandler.Builder<IFluidHandler> sidedFluidInventory;
@@ -225,6 +231,25 @@ public class CrucibleBlockEntity extends TickableInventoryBlockEntity<CrucibleBl
         return 1;
     }
 
+    @Override
+    protected boolean isStable()
+    {
+        // Cold, and not being heated, with nothing in the inputs that could melt, or be drained
+        if (temperature > 0 || targetTemperature > 0 || targetTemperatureStabilityTicks > 0 || lastFillTicks > 0 || needsRecipeUpdate)
+        {
+            return false;
+        }
+        for (int i = SLOT_INPUT_START; i <= SLOT_INPUT_END; i++)
+        {
+            final ItemStack stack = inventory.getStackInSlot(i);
+            if (!stack.isEmpty() && stack.getCapability(HeatCapability.CAPABILITY).map(cap -> cap.getTemperature() > 0).orElse(false))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public long getLastUpdateTick()
     {
@@ -363,6 +388,11 @@ public class CrucibleBlockEntity extends TickableInventoryBlockEntity<CrucibleBl
             final Metal metal = Metal.get(resource.getFluid());
             if (metal != null)
             {
+                if (action.execute())
+                {
+                    // Wake before adding, so any dormant catch-up sees the previous contents
+                    crucible.wake();
+                }
                 return alloy.add(metal, resource.getAmount(), action.simulate());
             }
             return 0;
@@ -372,6 +402,10 @@ public class CrucibleBlockEntity extends TickableInventoryBlockEntity<CrucibleBl
         @Override
         public FluidStack drain(int maxDrain, FluidAction action)
         {
+            if (action.execute())
+            {
+                crucible.wake();
+            }
             if (isMolten())
             {
                 final Metal result = alloy.getResult();
@@ -394,6 +428,8 @@ public class CrucibleBlockEntity extends TickableInventoryBlockEntity<CrucibleBl
         @Override
         public void setTemperature(float temperature)
         {
+            // Wake before heating, so any dormant catch-up does not cool the heat that is about to be applied
+            crucible.wake();
             crucible.targetTemperature = temperature;
             crucible.targetTemperatureStabilityTicks = TARGET_TEMPERATURE_STABILITY_TICKS;
             crucible.markForSync();
@@ -403,6 +439,7 @@ public class CrucibleBlockEntity extends TickableInventoryBlockEntity<CrucibleBl
         public void setTemperatureIfWarmer(float temperature)
         {
             // Override to still cause an update to the stability ticks
+            crucible.wake();
             if (temperature >= crucible.temperature)
             {
                 crucible.temperature = temperature;
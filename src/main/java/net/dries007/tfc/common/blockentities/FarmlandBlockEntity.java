@@ -140,6 +140,6 @@ public class FarmlandBlockEntity extends TFCBlockEntity
     {
         NITROGEN, PHOSPHOROUS, POTASSIUM;
 
-        private static final NutrientType[] VALUES = values();
+        public static final NutrientType[] VALUES = values();
     }
 }
@@ -16,6 +16,9 @@ import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
 
+import net.dries007.tfc.util.calendar.CalendarTickScheduler;
+import net.dries007.tfc.util.calendar.ICalendarTickable;
+
 public abstract class TFCBlockEntity extends BlockEntity
 {
     protected TFCBlockEntity(BlockEntityType<?> type, BlockPos pos, BlockState state)
@@ -71,6 +74,29 @@ public abstract class TFCBlockEntity extends BlockEntity
         super.load(tag);
     }
 
+    /**
+     * Registers calendar tickable block entities with the {@link CalendarTickScheduler}, so they are caught up after calendar jumps.
+     */
+    @Override
+    public void onLoad()
+    {
+        super.onLoad();
+        if (this instanceof ICalendarTickable tickable && level != null && !level.isClientSide())
+        {
+            CalendarTickScheduler.register(tickable);
+        }
+    }
+
+    @Override
+    public void setRemoved()
+    {
+        super.setRemoved();
+        if (this instanceof ICalendarTickable tickable && level != null && !level.isClientSide())
+        {
+            CalendarTickScheduler.unregister(tickable);
+        }
+    }
+
     /**
      * Override to save block entity specific data.
      */
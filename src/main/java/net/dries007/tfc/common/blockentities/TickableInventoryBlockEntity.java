@@ -14,9 +14,25 @@ import net.minecraft.world.level.block.state.BlockState;
 import net.minecraftforge.common.util.INBTSerializable;
 import net.minecraftforge.items.IItemHandlerModifiable;
 
+import net.dries007.tfc.util.calendar.CalendarTickScheduler;
+import net.dries007.tfc.util.calendar.Calendars;
+import net.dries007.tfc.util.calendar.ICalendarTickable;
+
+/**
+ * An inventory which is ticked on the server.
+ * <p>
+ * Devices may go dormant, once they reach a stable state (see {@link #isStable()}), in which their server tick would not change anything, for example a cold, unlit firepit. A dormant device skips its server tick entirely, until it is woken by an inventory change, a sync request (which covers most external changes, such as heat or air being provided), or a calendar jump. Devices which go dormant should:
+ * <ul>
+ *     <li>Return immediately from their server tick if {@link #isDormant()}.</li>
+ *     <li>Call {@link #updateDormancy()} at the end of their server tick.</li>
+ *     <li>Call {@link #wake()} before any other change that would make them unstable, such as being lit.</li>
+ * </ul>
+ */
 public abstract class TickableInventoryBlockEntity<C extends IItemHandlerModifiable & INBTSerializable<CompoundTag>> extends InventoryBlockEntity<C>
 {
     protected boolean needsClientUpdate;
+    private boolean dormant;
+    private int dormantCalendarJumps; // The calendar jump counter when this went dormant
 
     public TickableInventoryBlockEntity(BlockEntityType<?> type, BlockPos pos, BlockState state, InventoryFactory<C> inventory, Component defaultName)
     {
@@ -37,5 +53,88 @@ public abstract class TickableInventoryBlockEntity<C extends IItemHandlerModifia
     public void markForSync()
     {
         needsClientUpdate = true;
+        wake();
+    }
+
+    @Override
+    public void setAndUpdateSlots(int slot)
+    {
+        wake();
+        super.setAndUpdateSlots(slot);
+    }
+
+    /**
+     * @return {@code true} if this device is dormant, and should skip its server tick. If the calendar has jumped since going dormant, this wakes the device instead, and leaves the time spent dormant, including the jump, to be caught up by the {@link CalendarTickScheduler}.
+     */
+    public boolean isDormant()
+    {
+        if (dormant && dormantCalendarJumps != Calendars.SERVER.getJumps())
+        {
+            dormant = false;
+            if (this instanceof ICalendarTickable tickable && level != null && !level.isClientSide() && !isRemoved())
+            {
+                CalendarTickScheduler.register(tickable);
+                final long lastTick = tickable.getLastUpdateTick();
+                if (lastTick != Integer.MIN_VALUE)
+                {
+                    CalendarTickScheduler.schedule(tickable, Calendars.SERVER.getTicks() - 1 - lastTick);
+                }
+            }
+        }
+        return dormant;
+    }
+
+    /**
+     * Wakes this device, if dormant. Any time spent dormant is caught up via {@link ICalendarTickable#onCalendarUpdate(long)}, before anything else changes, so it sees the same (stable) state the device went dormant in.
+     */
+    public void wake()
+    {
+        if (dormant)
+        {
+            dormant = false;
+            if (this instanceof ICalendarTickable tickable && level != null && !level.isClientSide() && !isRemoved())
+            {
+                CalendarTickScheduler.register(tickable);
+
+                // Catch up to the previous tick, as this may be woken before or after its server tick would have run this tick
+                // The next server tick then sees a delta of one tick at most, as if this had never gone dormant
+                final long previousTick = Calendars.SERVER.getTicks() - 1;
+                final long lastTick = tickable.getLastUpdateTick();
+                if (lastTick != Integer.MIN_VALUE && previousTick > lastTick)
+                {
+                    tickable.onCalendarUpdate(previousTick - lastTick);
+                }
+                tickable.setLastUpdateTick(previousTick);
+            }
+        }
+    }
+
+    /**
+     * Puts this device to sleep, if it is stable, has nothing left to sync, and is not waiting on the {@link CalendarTickScheduler}.
+     * While dormant, calendar tickable devices are unregistered from the scheduler, as any jumps are caught up on waking instead.
+     */
+    protected void updateDormancy()
+    {
+        if (!needsClientUpdate && isStable())
+        {
+            if (this instanceof ICalendarTickable tickable)
+            {
+                if (CalendarTickScheduler.isPending(tickable))
+                {
+                    return;
+                }
+                CalendarTickScheduler.unregister(tickable);
+            }
+            dormant = true;
+            dormantCalendarJumps = Calendars.SERVER.getJumps();
+        }
+    }
+
+    /**
+     * @return {@code true} if a server tick would not change anything, other than the passage of time, which is caught up on waking. By default, devices are never stable, and so never go dormant.
+     */
+    protected boolean isStable()
+    {
+        return false;
     }
 }
@@ -7,6 +7,7 @@
 package net.dries007.tfc.common.blocks.crop;
 
 import java.util.Random;
+import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
@@ -20,6 +21,7 @@ import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.levelgen.WorldgenRandom;
 import net.minecraft.world.level.levelgen.XoroshiroRandomSource;
 
+import it.unimi.dsi.fastutil.longs.Long2FloatFunction;
 import net.dries007.tfc.client.particle.TFCParticles;
 import net.dries007.tfc.common.blockentities.CropBlockEntity;
 import net.dries007.tfc.common.blockentities.FarmlandBlockEntity;
@@ -48,55 +50,120 @@ public final class CropHelpers
     public static final float YIELD_LIMIT = 1f;
 
     /**
+     * An upper bound on the number of full steps a crop can survive, from no growth or expiry. One extra step allows for rounding.
+     */
+    public static final int MAX_CATCH_UP_STEPS = Mth.ceil((GROWTH_LIMIT + EXPIRY_LIMIT) / (0.9f * UPDATE_INTERVAL * GROWTH_FACTOR)) + 1;
+
+    /**
+     * Catches up all growth since the crop was last updated, in steps of at most {@link #UPDATE_INTERVAL}.
+     * <p>
+     * Nothing in the level changes between steps, so the hydration, farmland, growth limit, and climate range are read once, and the temperature is sampled once per step boundary, shared by the steps on either side of it. The crop and farmland are only written (and synced) once at the end, rather than every step.
+     * Every step adds at least {@code 0.9 * UPDATE_INTERVAL * GROWTH_FACTOR} to the growth or expiry of the crop, both of which are bounded, so a crop will die within {@link #MAX_CATCH_UP_STEPS} steps, no matter how long it was unloaded for.
+     *
      * @return {@code true} if the crop survived.
      */
     public static boolean growthTick(Level level, BlockPos pos, BlockState state, CropBlockEntity crop)
     {
-        final long firstTick = crop.getLastUpdateTick(), thisTick = Calendars.SERVER.getTicks();
-        long tick = firstTick + CropHelpers.UPDATE_INTERVAL, lastTick = firstTick;
-        for (; tick < thisTick; tick += CropHelpers.UPDATE_INTERVAL)
-        {
-            if (!CropHelpers.growthTickStep(level, pos, state, level.getRandom(), lastTick, tick, crop))
-            {
-                return false;
-            }
-            lastTick = tick;
-        }
-        return lastTick >= thisTick || CropHelpers.growthTickStep(level, pos, state, level.getRandom(), lastTick, thisTick, crop);
+        return growthTick(level, pos, state, level.getRandom(), crop.getLastUpdateTick(), Calendars.SERVER.getTicks(), UPDATE_INTERVAL, crop);
     }
 
+    /**
+     * Performs a single growth step, from {@code fromTick} to {@code toTick}.
+     *
+     * @return {@code true} if the crop survived.
+     */
     public static boolean growthTickStep(Level level, BlockPos pos, BlockState state, Random random, long fromTick, long toTick, CropBlockEntity crop)
     {
+        return growthTick(level, pos, state, random, fromTick, toTick, Long.MAX_VALUE, crop);
+    }
+
+    private static boolean growthTick(Level level, BlockPos pos, BlockState state, Random random, long fromTick, long toTick, long interval, CropBlockEntity crop)
+    {
+        if (fromTick >= toTick)
+        {
+            return true;
+        }
+
         // Calculate invariants
         final ICalendar calendar = Calendars.get(level);
         final BlockPos sourcePos = pos.below();
         final int hydration = FarmlandBlock.getHydration(level, sourcePos);
-        final float startTemperature = Climate.getTemperature(level, pos, calendar, Calendars.SERVER.ticksToCalendarTicks(fromTick));
-        final float endTemperature = Climate.getTemperature(level, pos, calendar, Calendars.SERVER.ticksToCalendarTicks(toTick));
-        final long tickDelta = toTick - fromTick;
+        final FarmlandBlockEntity farmland = level.getBlockEntity(sourcePos, TFCBlockEntities.FARMLAND.get()).orElse(null);
 
         final ICropBlock cropBlock = (ICropBlock) state.getBlock();
         final ClimateRange range = cropBlock.getClimateRange();
-        final boolean growing = checkClimate(range, hydration, startTemperature, endTemperature, false);
-        final boolean healthy = growing || checkClimate(range, hydration, startTemperature, endTemperature, true);
+        final float growthLimit = cropBlock.getGrowthLimit(level, pos, state);
+        final FarmlandBlockEntity.NutrientType primaryNutrient = cropBlock.getPrimaryNutrient();
+
+        final GrowthState growth = new GrowthState(crop, farmland);
+        final Long2FloatFunction temperatureAt = tick -> Climate.getTemperature(level, pos, calendar, Calendars.SERVER.ticksToCalendarTicks(tick));
+        final ClimateCheck climate = (firstTemperature, secondTemperature, allowWiggle) -> checkClimate(range, hydration, firstTemperature, secondTemperature, allowWiggle);
+        if (!catchUp(growth, fromTick, toTick, interval, temperatureAt, climate, growthLimit, primaryNutrient, random))
+        {
+            // Lenient here - instead of assuming it expired at the start of the duration, we assume at the end. Including growth during this period.
+            growth.saveNutrients(farmland);
+            cropBlock.die(level, pos, state, growth.growth >= 1);
+            return false;
+        }
+
+        growth.saveNutrients(farmland);
+        crop.setGrowth(growth.growth);
+        crop.setYield(growth.yield);
+        crop.setExpiry(growth.expiry);
+        crop.setLastUpdateTick(calendar.getTicks());
+        return true;
+    }
+
+    /**
+     * Advances the state from {@code fromTick} to {@code toTick}, in steps of at most {@code interval}. The temperature is sampled once at each step boundary, and shared by the steps on either side of it.
+     *
+     * @return {@code true} if the crop survived. If not, the state includes growth during the step in which the crop died.
+     */
+    static boolean catchUp(GrowthState state, long fromTick, long toTick, long interval, Long2FloatFunction temperatureAt, ClimateCheck climate, float growthLimit, FarmlandBlockEntity.NutrientType primaryNutrient, Random random)
+    {
+        long lastTick = fromTick;
+        float lastTemperature = temperatureAt.get(fromTick);
+        while (lastTick < toTick)
+        {
+            final long tick = toTick - lastTick > interval ? lastTick + interval : toTick;
+            final float temperature = temperatureAt.get(tick);
+
+            final boolean growing = climate.check(lastTemperature, temperature, false);
+            final boolean healthy = growing || climate.check(lastTemperature, temperature, true);
+            if (!step(state, growing, healthy, tick - lastTick, growthLimit, primaryNutrient, random))
+            {
+                return false;
+            }
+
+            lastTick = tick;
+            lastTemperature = temperature;
+        }
+        return true;
+    }
 
+    /**
+     * Advances the state by a single growth step.
+     *
+     * @param growing If the climate allowed the crop to grow over the step.
+     * @param healthy If the climate allowed the crop to survive over the step.
+     * @return {@code true} if the crop survived. The state is updated either way, including growth during the step in which the crop died.
+     */
+    static boolean step(GrowthState state, boolean growing, boolean healthy, long tickDelta, float growthLimit, FarmlandBlockEntity.NutrientType primaryNutrient, Random random)
+    {
         // Nutrients are consumed first, since they are independent of growth or health.
         // As long as the crop exists it consumes nutrients.
-        final FarmlandBlockEntity farmland = level.getBlockEntity(sourcePos, TFCBlockEntities.FARMLAND.get()).orElse(null);
-        final FarmlandBlockEntity.NutrientType primaryNutrient = cropBlock.getPrimaryNutrient();
         float nutrientsAvailable = 0, nutrientsRequired = NUTRIENT_CONSUMPTION * tickDelta, nutrientsConsumed = 0;
-        if (farmland != null)
+        if (state.hasFarmland)
         {
-            nutrientsAvailable = farmland.getNutrient(primaryNutrient);
-            nutrientsConsumed = farmland.consumeNutrientAndResupplyOthers(primaryNutrient, nutrientsRequired);
+            nutrientsAvailable = state.nutrients[primaryNutrient.ordinal()];
+            nutrientsConsumed = state.consumeNutrientAndResupplyOthers(primaryNutrient, nutrientsRequired);
         }
 
         // Total growth is based on the ticks and the nutrients consumed. It is then allocated to actual growth or expiry based on other factors.
         float totalGrowthDelta = Helpers.uniform(random, 0.9f, 1.1f) * tickDelta * GROWTH_FACTOR + nutrientsConsumed * NUTRIENT_GROWTH_FACTOR;
-        final float initialGrowth = crop.getGrowth();
-        float growth = initialGrowth, expiry = crop.getExpiry(), actualYield = crop.getYield();
+        final float initialGrowth = state.growth;
+        float growth = initialGrowth, expiry = state.expiry;
 
-        final float growthLimit = cropBlock.getGrowthLimit(level, pos, state);
         if (totalGrowthDelta > 0 && growing && growth < growthLimit)
         {
             // Allocate to growth
@@ -126,22 +193,12 @@ public final class CropHelpers
             nutrientSatisfaction = Math.min(1, (totalGrowthDelta / growthDelta) * (nutrientsAvailable / nutrientsRequired));
         }
 
-        actualYield += growthDelta * Helpers.lerp(nutrientSatisfaction, YIELD_MIN, YIELD_LIMIT);
+        state.yield += growthDelta * Helpers.lerp(nutrientSatisfaction, YIELD_MIN, YIELD_LIMIT);
+        state.growth = growth;
+        state.expiry = expiry;
 
         // Check if the crop should've expired.
-        if (expiry >= EXPIRY_LIMIT || !healthy)
-        {
-            // Lenient here - instead of assuming it expired at the start of the duration, we assume at the end. Including growth during this period.
-            cropBlock.die(level, pos, state, growth >= 1);
-            return false;
-        }
-
-        crop.setGrowth(growth);
-        crop.setYield(actualYield);
-        crop.setExpiry(expiry);
-        crop.setLastUpdateTick(calendar.getTicks());
-
-        return true;
+        return expiry < EXPIRY_LIMIT && healthy;
     }
 
     private static boolean checkClimate(ClimateRange range, int hydration, float firstTemperature, float secondTemperature, boolean allowWiggle)
@@ -184,4 +241,77 @@ public final class CropHelpers
             level.sendParticles(TFCParticles.POTASSIUM.get(), pos.getX() + level.random.nextFloat(), pos.getY() + level.random.nextFloat() / 5D, pos.getZ() + level.random.nextFloat(), 0, 0D, 0D, 0D, 1D);
         }
     }
+
+    @FunctionalInterface
+    interface ClimateCheck
+    {
+        /**
+         * @return {@code true} if the climate is suitable for the crop at both the start and end of a step.
+         */
+        boolean check(float firstTemperature, float secondTemperature, boolean allowWiggle);
+    }
+
+    /**
+     * The growth of a crop, and the nutrients of the farmland below it, as they are advanced through growth steps without writing to either block entity.
+     */
+    static final class GrowthState
+    {
+        final boolean hasFarmland;
+        final float[] nutrients;
+        float growth, expiry, yield;
+
+        GrowthState(CropBlockEntity crop, @Nullable FarmlandBlockEntity farmland)
+        {
+            this(crop.getGrowth(), crop.getExpiry(), crop.getYield(), farmland == null ? null : readNutrients(farmland));
+        }
+
+        GrowthState(float growth, float expiry, float yield, @Nullable float[] nutrients)
+        {
+            this.growth = growth;
+            this.expiry = expiry;
+            this.yield = yield;
+            this.hasFarmland = nutrients != null;
+            this.nutrients = nutrients != null ? nutrients : new float[FarmlandBlockEntity.NutrientType.VALUES.length];
+        }
+
+        /**
+         * Identical to {@link FarmlandBlockEntity#consumeNutrientAndResupplyOthers(FarmlandBlockEntity.NutrientType, float)}
+         */
+        float consumeNutrientAndResupplyOthers(FarmlandBlockEntity.NutrientType type, float amount)
+        {
+            final float startValue = nutrients[type.ordinal()];
+            final float consumed = Math.min(startValue, amount);
+
+            nutrients[type.ordinal()] = Mth.clamp(startValue - consumed, 0, 1);
+            for (FarmlandBlockEntity.NutrientType other : FarmlandBlockEntity.NutrientType.VALUES)
+            {
+                if (other != type)
+                {
+                    nutrients[other.ordinal()] = Mth.clamp(nutrients[other.ordinal()] + consumed * (1 / 6f), 0, 1);
+                }
+            }
+            return consumed;
+        }
+
+        private static float[] readNutrients(FarmlandBlockEntity farmland)
+        {
+            final float[] nutrients = new float[FarmlandBlockEntity.NutrientType.VALUES.length];
+            for (FarmlandBlockEntity.NutrientType type : FarmlandBlockEntity.NutrientType.VALUES)
+            {
+                nutrients[type.ordinal()] = farmland.getNutrient(type);
+            }
+            return nutrients;
+        }
+
+        void saveNutrients(@Nullable FarmlandBlockEntity farmland)
+        {
+            if (farmland != null)
+            {
+                for (FarmlandBlockEntity.NutrientType type : FarmlandBlockEntity.NutrientType.VALUES)
+                {
+                    farmland.setNutrient(type, nutrients[type.ordinal()]);
+                }
+            }
+        }
+    }
 }
@@ -9,7 +9,6 @@ package net.dries007.tfc.common.capabilities.food;
 import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.resources.ResourceLocation;
-import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.capabilities.CapabilityManager;
@@ -22,26 +21,19 @@ import net.dries007.tfc.util.DataManager;
 import net.dries007.tfc.util.Helpers;
 import net.dries007.tfc.util.calendar.Calendars;
 import net.dries007.tfc.util.calendar.ICalendar;
-import net.dries007.tfc.util.collections.IndirectHashCollection;
+import net.dries007.tfc.util.collections.ItemIndexedCollection;
 
 public final class FoodCapability
 {
     public static final Capability<IFood> CAPABILITY = CapabilityManager.get(new CapabilityToken<>() {});
     public static final ResourceLocation KEY = Helpers.identifier("food");
-    public static final IndirectHashCollection<Item, FoodDefinition> CACHE = new IndirectHashCollection<>(FoodDefinition::getValidItems);
+    public static final ItemIndexedCollection<FoodDefinition> CACHE = new ItemIndexedCollection<>(FoodDefinition::getValidItems, FoodDefinition::isItemOnly);
     public static final DataManager<FoodDefinition> MANAGER = new DataManager<>("food_items", "food", FoodDefinition::new, FoodCapability::reload, FoodDefinition::new, FoodDefinition::encode, DataManagerSyncPacket.TFoodDefinition::new);
 
     @Nullable
     public static FoodDefinition get(ItemStack stack)
     {
-        for (FoodDefinition def : CACHE.getAll(stack.getItem()))
-        {
-            if (def.matches(stack))
-            {
-                return def;
-            }
-        }
-        return null;
+        return CACHE.getFirst(stack, FoodDefinition::matches);
     }
 
     /**
@@ -40,33 +40,13 @@ public class FoodDefinition extends ItemDefinition
     {
         super(id, Ingredient.fromNetwork(buffer));
 
-        final int hunger = buffer.readVarInt();
-        final float saturation = buffer.readFloat();
-        final float water = buffer.readFloat();
-        final float decayModifier = buffer.readFloat();
-
-        final float[] nutrition = new float[Nutrient.TOTAL];
-        for (Nutrient nutrient : Nutrient.VALUES)
-        {
-            nutrition[nutrient.ordinal()] = buffer.readFloat();
-        }
-
-        this.data = new FoodRecord(hunger, water, saturation, nutrition, decayModifier);
+        this.data = new FoodRecord(buffer);
     }
 
     public void encode(FriendlyByteBuf buffer)
     {
         ingredient.toNetwork(buffer);
-
-        buffer.writeVarInt(data.getHunger());
-        buffer.writeFloat(data.getSaturation());
-        buffer.writeFloat(data.getWater());
-        buffer.writeFloat(data.getDecayModifier());
-
-        for (Nutrient nutrient : Nutrient.VALUES)
-        {
-            buffer.writeFloat(data.getNutrient(nutrient));
-        }
+        data.encode(buffer);
     }
 
     public FoodRecord getData()
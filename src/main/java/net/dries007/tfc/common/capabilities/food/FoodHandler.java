@@ -17,6 +17,8 @@ import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.StringTag;
 import net.minecraft.nbt.Tag;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.capabilities.ICapabilitySerializable;
 import net.minecraftforge.common.util.LazyOptional;
@@ -41,6 +43,12 @@ public class FoodHandler implements ICapabilitySerializable<CompoundTag>, IFood,
     public static final long NEVER_DECAY_DATE = Long.MAX_VALUE;
     public static final long UNKNOWN_CREATION_DATE = -1;
 
+    private static final byte FLAG_CREATION_DATE = 1;
+    private static final byte FLAG_ROTTEN = 1 << 1;
+    private static final byte FLAG_UNKNOWN_CREATION_DATE = 1 << 2;
+    private static final byte FLAG_DYNAMIC_DATA = 1 << 3;
+    private static final byte FLAG_TRAITS = 1 << 4;
+
     // Stacks created at certain times during loading, we infer to be non-decaying ones.
     private static final AtomicBoolean NON_DECAYING = new AtomicBoolean(true);
 
@@ -189,6 +197,79 @@ public class FoodHandler implements ICapabilitySerializable<CompoundTag>, IFood,
         creationDate = nbt.contains("creationDate") ? nbt.getLong("creationDate") : UNKNOWN_CREATION_DATE;
     }
 
+    @Override
+    public void writeNetworkData(ItemStack stack, FriendlyByteBuf buffer)
+    {
+        // Special creation dates are encoded as flags, otherwise the creation date follows as a var long
+        final long creationDate = getCreationDate();
+        final byte flags = (byte) ((creationDate == ROTTEN_DATE ? FLAG_ROTTEN : creationDate == UNKNOWN_CREATION_DATE ? FLAG_UNKNOWN_CREATION_DATE : FLAG_CREATION_DATE)
+            | (isDynamic() ? FLAG_DYNAMIC_DATA : 0)
+            | (foodTraits.isEmpty() ? 0 : FLAG_TRAITS));
+
+        buffer.writeByte(flags);
+        if ((flags & FLAG_CREATION_DATE) != 0)
+        {
+            buffer.writeVarLong(creationDate);
+        }
+        if ((flags & FLAG_DYNAMIC_DATA) != 0)
+        {
+            data.encode(buffer);
+        }
+        if ((flags & FLAG_TRAITS) != 0)
+        {
+            // Traits are written by name, as they have no stable numeric id between client and server
+            buffer.writeVarInt(foodTraits.size());
+            for (FoodTrait trait : foodTraits)
+            {
+                buffer.writeUtf(trait.getName());
+            }
+        }
+    }
+
+    @Override
+    public void readNetworkData(ItemStack stack, FriendlyByteBuf buffer)
+    {
+        final byte flags = buffer.readByte();
+        if ((flags & FLAG_ROTTEN) != 0)
+        {
+            creationDate = ROTTEN_DATE;
+        }
+        else if ((flags & FLAG_CREATION_DATE) != 0)
+        {
+            creationDate = buffer.readVarLong();
+        }
+        else
+        {
+            creationDate = UNKNOWN_CREATION_DATE;
+        }
+        if ((flags & FLAG_DYNAMIC_DATA) != 0)
+        {
+            data = new FoodRecord(buffer);
+        }
+        foodTraits.clear();
+        if ((flags & FLAG_TRAITS) != 0)
+        {
+            final int size = buffer.readVarInt();
+            for (int i = 0; i < size; i++)
+            {
+                final FoodTrait trait = FoodTrait.getTrait(buffer.readUtf());
+                if (trait != null)
+                {
+                    foodTraits.add(trait);
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean isNetworkEquivalent(ItemStack stack, ItemStack otherStack, ISyncable other)
+    {
+        return other instanceof FoodHandler food
+            && getCreationDate() == food.getCreationDate()
+            && foodTraits.equals(food.foodTraits)
+            && (!isDynamic() || data.equals(food.data));
+    }
+
     /**
      * This marks if the food data should be serialized. For normal food items, it isn't, because all values are provided on construction via CapabilityFood. Only mark this if food data will change per item stack
      */
@@ -6,9 +6,11 @@
 
 package net.dries007.tfc.common.capabilities.food;
 
+import java.util.Arrays;
 import javax.annotation.concurrent.Immutable;
 
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.FriendlyByteBuf;
 
 @Immutable
 public class FoodRecord
@@ -47,6 +49,19 @@ public class FoodRecord
         nutrients[Nutrient.DAIRY.ordinal()] = nbt.getFloat("dairy");
     }
 
+    public FoodRecord(FriendlyByteBuf buffer)
+    {
+        hunger = buffer.readVarInt();
+        saturation = buffer.readFloat();
+        water = buffer.readFloat();
+        decayModifier = buffer.readFloat();
+        nutrients = new float[Nutrient.TOTAL];
+        for (Nutrient nutrient : Nutrient.VALUES)
+        {
+            nutrients[nutrient.ordinal()] = buffer.readFloat();
+        }
+    }
+
     public float getNutrient(Nutrient nutrient)
     {
         return nutrients[nutrient.ordinal()];
@@ -67,6 +82,18 @@ public class FoodRecord
         return nbt;
     }
 
+    public void encode(FriendlyByteBuf buffer)
+    {
+        buffer.writeVarInt(hunger);
+        buffer.writeFloat(saturation);
+        buffer.writeFloat(water);
+        buffer.writeFloat(decayModifier);
+        for (Nutrient nutrient : Nutrient.VALUES)
+        {
+            buffer.writeFloat(nutrients[nutrient.ordinal()]);
+        }
+    }
+
     public int getHunger()
     {
         return hunger;
@@ -91,4 +118,16 @@ public class FoodRecord
     {
         return nutrients[i];
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        return o instanceof FoodRecord other && hunger == other.hunger && saturation == other.saturation && water == other.water && decayModifier == other.decayModifier && Arrays.equals(nutrients, other.nutrients);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return 31 * hunger + Arrays.hashCode(nutrients);
+    }
 }
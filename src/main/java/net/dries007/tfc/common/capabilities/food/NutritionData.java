@@ -7,7 +7,6 @@
 package net.dries007.tfc.common.capabilities.food;
 
 import java.util.Arrays;
-import java.util.LinkedList;
 
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
@@ -21,30 +20,49 @@ import net.dries007.tfc.config.TFCConfig;
  * This acts as a FIFO queue for the last N foods eaten.
  * It has capability to manage the total hunger and averages over that value
  *
+ * Records are kept in a ring buffer of primitive arrays, along with the running sum of (nutrient * hunger) of every record, so adding a record does not need to iterate the others.
+ * Only as many records are kept as are needed to fill the hunger window, where the oldest record may only partially count towards it. Records with no hunger have no effect on nutrition, so are not kept at all.
+ *
  * This only executes logic on server side, on client side it simply sets the lastAverageNutrients
  */
 public class NutritionData implements INBTSerializable<CompoundTag>
 {
-    private final LinkedList<FoodRecord> records;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int RECORD_SIZE = 1 + Nutrient.TOTAL; // Size of a serialized record: hunger, then each nutrient
+
     private final float defaultNutritionValue, defaultDairyNutritionValue;
+    private final int hungerWindow;
     private final float[] nutrients;
+    private final double[] nutrientSums; // Sum of nutrient * hunger, over all records
     private float averageNutrients;
-    private int hungerWindow;
+
+    // Ring buffer of records, from oldest (at head) to newest
+    private int[] recordHunger;
+    private float[] recordNutrients; // Nutrient.TOTAL per record
+    private int head, size;
+    private int totalHunger;
 
     public NutritionData(float defaultNutritionValue, float defaultDairyNutritionValue)
     {
-        this.records = new LinkedList<>();
+        this(defaultNutritionValue, defaultDairyNutritionValue, TFCConfig.SERVER.nutritionRotationHungerWindow.get());
+    }
+
+    NutritionData(float defaultNutritionValue, float defaultDairyNutritionValue, int hungerWindow)
+    {
         this.defaultNutritionValue = defaultNutritionValue;
         this.defaultDairyNutritionValue = defaultDairyNutritionValue;
-        this.nutrients = new float[5];
-        this.hungerWindow = 0;
+        this.hungerWindow = hungerWindow;
+        this.nutrients = new float[Nutrient.TOTAL];
+        this.nutrientSums = new double[Nutrient.TOTAL];
+        this.recordHunger = new int[INITIAL_CAPACITY];
+        this.recordNutrients = new float[INITIAL_CAPACITY * Nutrient.TOTAL];
 
         calculateNutrition();
     }
 
     public void reset()
     {
-        this.records.clear();
+        clear();
         calculateNutrition();
     }
 
@@ -77,72 +95,136 @@ public class NutritionData implements INBTSerializable<CompoundTag>
 
     public void addNutrients(FoodRecord data)
     {
-        records.addFirst(data);
+        add(data.getHunger(), data::getNutrient);
         calculateNutrition();
     }
 
+    /**
+     * Records are stored as a flat array of ints, {@link #RECORD_SIZE} per record, from oldest to newest. Nutrients are stored as their float bits.
+     */
     @Override
     public CompoundTag serializeNBT()
     {
-        CompoundTag nbt = new CompoundTag();
-        ListTag recordsNbt = new ListTag();
-        for (FoodRecord data : records)
+        final int[] packed = new int[size * RECORD_SIZE];
+        for (int i = 0; i < size; i++)
         {
-            recordsNbt.add(data.write());
+            final int index = (head + i) % recordHunger.length;
+            packed[i * RECORD_SIZE] = recordHunger[index];
+            for (int j = 0; j < Nutrient.TOTAL; j++)
+            {
+                packed[i * RECORD_SIZE + 1 + j] = Float.floatToIntBits(recordNutrients[index * Nutrient.TOTAL + j]);
+            }
         }
-        nbt.put("records", recordsNbt);
+
+        final CompoundTag nbt = new CompoundTag();
+        nbt.putIntArray("packed", packed);
         return nbt;
     }
 
     @Override
     public void deserializeNBT(CompoundTag nbt)
     {
-        records.clear();
-        ListTag recordsNbt = nbt.getList("records", Tag.TAG_COMPOUND);
-        for (int i = 0; i < recordsNbt.size(); i++)
+        clear();
+        if (nbt.contains("packed", Tag.TAG_INT_ARRAY))
+        {
+            final int[] packed = nbt.getIntArray("packed");
+            for (int i = 0; i + RECORD_SIZE <= packed.length; i += RECORD_SIZE)
+            {
+                final int offset = i + 1;
+                add(packed[i], j -> Float.intBitsToFloat(packed[offset + j]));
+            }
+        }
+        else
         {
-            records.add(new FoodRecord(recordsNbt.getCompound(i)));
+            // Previously, records were saved as a list of compounds, from newest to oldest
+            final ListTag recordsNbt = nbt.getList("records", Tag.TAG_COMPOUND);
+            for (int i = recordsNbt.size() - 1; i >= 0; i--)
+            {
+                final FoodRecord record = new FoodRecord(recordsNbt.getCompound(i));
+                add(record.getHunger(), record::getNutrient);
+            }
         }
         calculateNutrition();
     }
 
-    private void calculateNutrition()
+    private void clear()
     {
-        // Reset
-        Arrays.fill(this.nutrients, 0);
-        int runningHungerTotal = 0;
+        head = size = totalHunger = 0;
+        Arrays.fill(nutrientSums, 0);
+    }
+
+    /**
+     * Adds a new record, and then removes the oldest records, until only the oldest record would overshoot the hunger window.
+     */
+    private void add(int hunger, IntToFloatFunction nutrient)
+    {
+        if (hunger <= 0)
+        {
+            return;
+        }
+
+        if (size == recordHunger.length)
+        {
+            grow();
+        }
 
-        // Reload from config
-        hungerWindow = TFCConfig.SERVER.nutritionRotationHungerWindow.get();
-        for (int i = 0; i < records.size(); i++)
+        final int index = (head + size) % recordHunger.length;
+        recordHunger[index] = hunger;
+        for (int j = 0; j < Nutrient.TOTAL; j++)
         {
-            FoodRecord record = records.get(i);
-            int nextHunger = record.getHunger() + runningHungerTotal;
-            if (nextHunger < this.hungerWindow)
+            final float value = nutrient.apply(j);
+            recordNutrients[index * Nutrient.TOTAL + j] = value;
+            nutrientSums[j] += (double) value * hunger;
+        }
+        totalHunger += hunger;
+        size++;
+
+        while (totalHunger - recordHunger[head] >= hungerWindow)
+        {
+            for (int j = 0; j < Nutrient.TOTAL; j++)
             {
-                // Add weighted nutrition, keep moving
-                updateAllNutrients(nutrients, j -> nutrients[j] + record.getNutrient(j) * record.getHunger());
-                runningHungerTotal = nextHunger;
+                nutrientSums[j] -= (double) recordNutrients[head * Nutrient.TOTAL + j] * recordHunger[head];
             }
-            else
-            {
-                // Calculate overshoot, weight appropriately, and exit
-                float actualHunger = hungerWindow - runningHungerTotal;
-                updateAllNutrients(nutrients, j -> nutrients[j] + record.getNutrient(j) * actualHunger);
+            totalHunger -= recordHunger[head];
+            head = (head + 1) % recordHunger.length;
+            size--;
+        }
+    }
 
-                // Remove any excess elements, this has the side effect of exiting the loop
-                while (records.size() > i + 1)
-                {
-                    records.remove(i + 1);
-                }
+    private void grow()
+    {
+        final int capacity = recordHunger.length;
+        final int[] hunger = new int[capacity * 2];
+        final float[] nutrients = new float[capacity * 2 * Nutrient.TOTAL];
+        for (int i = 0; i < size; i++)
+        {
+            final int index = (head + i) % capacity;
+            hunger[i] = recordHunger[index];
+            System.arraycopy(recordNutrients, index * Nutrient.TOTAL, nutrients, i * Nutrient.TOTAL, Nutrient.TOTAL);
+        }
+        recordHunger = hunger;
+        recordNutrients = nutrients;
+        head = 0;
+    }
+
+    private void calculateNutrition()
+    {
+        // If the records overshoot the hunger window, only part of the oldest record counts towards it
+        final int overshoot = Math.max(0, totalHunger - hungerWindow);
+        for (int j = 0; j < Nutrient.TOTAL; j++)
+        {
+            double sum = nutrientSums[j];
+            if (overshoot > 0)
+            {
+                sum -= (double) recordNutrients[head * Nutrient.TOTAL + j] * overshoot;
             }
+            nutrients[j] = (float) (sum / hungerWindow);
         }
 
         // Average over hunger window, using default value if beyond the hunger window
-        updateAllNutrients(nutrients, j -> nutrients[j] / hungerWindow);
-        if (runningHungerTotal < hungerWindow)
+        if (totalHunger < hungerWindow)
         {
-            float defaultModifier = 1 - (float) runningHungerTotal / hungerWindow;
+            float defaultModifier = 1 - (float) totalHunger / hungerWindow;
             for (Nutrient nutrient : Nutrient.VALUES)
             {
                 if (nutrient == Nutrient.DAIRY)
@@ -155,7 +237,10 @@ public class NutritionData implements INBTSerializable<CompoundTag>
                 }
             }
         }
-        updateAllNutrients(nutrients, j -> Math.min(1, nutrients[j])); // Cap all nutrient averages at 1
+        for (int j = 0; j < Nutrient.TOTAL; j++)
+        {
+            nutrients[j] = Math.min(1, nutrients[j]); // Cap all nutrient averages at 1
+        }
         updateAverageNutrients(); // Also calculate overall average
     }
 
@@ -169,18 +254,9 @@ public class NutritionData implements INBTSerializable<CompoundTag>
         averageNutrients /= Nutrient.TOTAL;
     }
 
-    private void updateAllNutrients(float[] array, IntToFloatFunction operator)
-    {
-        // Arrays.setAll doesn't have a float version >:(
-        for (int i = 0; i < array.length; i++)
-        {
-            array[i] = operator.apply(i);
-        }
-    }
-
     @FunctionalInterface
     interface IntToFloatFunction
     {
         float apply(int i);
     }
-}
\ No newline at end of file
+}
@@ -7,6 +7,7 @@
 package net.dries007.tfc.common.capabilities.food;
 
 import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
 
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.level.ServerPlayer;
@@ -60,6 +61,36 @@ public class TFCFoodData extends FoodData
     public static final float EXHAUSTION_MULTIPLIER = 0.4f; // Multiplier for all sources of exhaustion. Vanilla sources get reduced, while passive exhaustion factors in this multiplier.
     public static final float PASSIVE_EXHAUSTION_PER_TICK = MAX_HUNGER * EXHAUSTION_PER_HUNGER / (2.5f * ICalendar.TICKS_IN_DAY * EXHAUSTION_MULTIPLIER); // Passive exhaustion will deplete your food bar once every 2.5 days. Food bar holds ~5 "meals", this requires two per day
 
+    // Client sync. Changes smaller than these thresholds are not sent until they accumulate, and no more than one update is sent per interval, unless forced by eating or drinking
+    public static final float THIRST_SYNC_THRESHOLD = 0.5f;
+    public static final float NUTRIENT_SYNC_THRESHOLD = 0.005f;
+    public static final int MIN_SYNC_INTERVAL_TICKS = 10;
+
+    private static final LongAdder SYNC_PACKETS_SENT = new LongAdder();
+    private static final LongAdder SYNC_PACKETS_SUPPRESSED = new LongAdder();
+
+    /**
+     * @return The total number of food data update packets sent to all players.
+     */
+    public static long getSyncPacketsSent()
+    {
+        return SYNC_PACKETS_SENT.sum();
+    }
+
+    /**
+     * @return The total number of ticks, across all players, where a food data update packet was not sent as nothing had changed enough.
+     */
+    public static long getSyncPacketsSuppressed()
+    {
+        return SYNC_PACKETS_SUPPRESSED.sum();
+    }
+
+    public static void resetSyncStats()
+    {
+        SYNC_PACKETS_SENT.reset();
+        SYNC_PACKETS_SUPPRESSED.reset();
+    }
+
     public static void replaceFoodStats(Player player)
     {
         // Only replace the server player's stats if they aren't already
@@ -71,6 +102,10 @@ public class TFCFoodData extends FoodData
             ((PlayerAccessor) player).accessor$setFoodData(newStats);
             player.getCapability(PlayerDataCapability.CAPABILITY).ifPresent(cap -> cap.writeTo(newStats));
         }
+        else
+        {
+            ((TFCFoodData) foodStats).requestSync();
+        }
         // Send the update regardless so the client can perform the same logic
         if (player instanceof ServerPlayer serverPlayer)
         {
@@ -84,12 +119,21 @@ public class TFCFoodData extends FoodData
     private long lastDrinkTick;
     private float thirst;
 
+    // Last values sent to the client, see sync()
+    private final float[] syncedNutrients;
+    private float syncedThirst;
+    private int lastSyncTick;
+    private boolean forceSync;
+    private long syncPacketsSent, syncPacketsSuppressed;
+
     public TFCFoodData(Player sourcePlayer, FoodData delegate)
     {
         this.sourcePlayer = sourcePlayer;
         this.delegate = delegate;
         this.nutritionData = new NutritionData(0.5f, 0.0f);
         this.thirst = MAX_THIRST;
+        this.syncedNutrients = new float[Nutrient.TOTAL];
+        this.forceSync = true;
     }
 
     @Override
@@ -201,10 +245,28 @@ public class TFCFoodData extends FoodData
         // Since this is only called server side, and vanilla has a custom packet for this stuff, we need our own
         if (player instanceof ServerPlayer serverPlayer)
         {
-            PacketHandler.send(PacketDistributor.PLAYER.with(() -> serverPlayer), new FoodDataUpdatePacket(nutritionData.getNutrients(), thirst));
+            sync(serverPlayer);
         }
     }
 
+    /**
+     * Forces the next tick to send an update to the client, regardless of how much has changed.
+     */
+    public void requestSync()
+    {
+        forceSync = true;
+    }
+
+    public long getSyncPacketsSent()
+    {
+        return syncPacketsSent;
+    }
+
+    public long getSyncPacketsSuppressed()
+    {
+        return syncPacketsSuppressed;
+    }
+
     @Override
     public void readAdditionalSaveData(CompoundTag vanillaNbt)
     {
@@ -285,6 +347,7 @@ public class TFCFoodData extends FoodData
 
         // In order to get the exact saturation we want, apply this scaling factor here
         delegate.eat(data.getHunger(), data.getSaturation() / (2f * data.getHunger()));
+        requestSync();
     }
 
     public CompoundTag serializeToPlayerData()
@@ -303,6 +366,7 @@ public class TFCFoodData extends FoodData
         thirst = nbt.getFloat("thirst");
         lastDrinkTick = nbt.getLong("lastDrinkTick");
         nutritionData.deserializeNBT(nbt.getCompound("nutrients"));
+        requestSync();
     }
 
     /**
@@ -338,4 +402,47 @@ public class TFCFoodData extends FoodData
     {
         return nutritionData;
     }
+
+    /**
+     * Sends the current nutrients and thirst to the client, if they have changed by more than a threshold, and at most once per {@link #MIN_SYNC_INTERVAL_TICKS}, or if a sync was requested.
+     */
+    private void sync(ServerPlayer player)
+    {
+        if (forceSync || (player.tickCount - lastSyncTick >= MIN_SYNC_INTERVAL_TICKS && hasChangedSinceSync()))
+        {
+            final float[] nutrients = nutritionData.getNutrients();
+            PacketHandler.send(PacketDistributor.PLAYER.with(() -> player), new FoodDataUpdatePacket(nutrients, thirst));
+
+            System.arraycopy(nutrients, 0, syncedNutrients, 0, Nutrient.TOTAL);
+            syncedThirst = thirst;
+            lastSyncTick = player.tickCount;
+            forceSync = false;
+
+            syncPacketsSent++;
+            SYNC_PACKETS_SENT.increment();
+        }
+        else
+        {
+            syncPacketsSuppressed++;
+            SYNC_PACKETS_SUPPRESSED.increment();
+        }
+    }
+
+    private boolean hasChangedSinceSync()
+    {
+        // Reaching either limit is always sent exactly, so a full or empty bar is displayed as such
+        if (Math.abs(thirst - syncedThirst) >= THIRST_SYNC_THRESHOLD || (thirst != syncedThirst && (thirst == 0 || thirst == MAX_THIRST)))
+        {
+            return true;
+        }
+        final float[] nutrients = nutritionData.getNutrients();
+        for (int i = 0; i < Nutrient.TOTAL; i++)
+        {
+            if (Math.abs(nutrients[i] - syncedNutrients[i]) >= NUTRIENT_SYNC_THRESHOLD)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
 }
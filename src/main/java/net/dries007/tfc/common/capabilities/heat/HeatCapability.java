@@ -9,7 +9,6 @@ package net.dries007.tfc.common.capabilities.heat;
 import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.resources.ResourceLocation;
-import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.capabilities.CapabilityManager;
@@ -20,7 +19,7 @@ import net.dries007.tfc.config.TFCConfig;
 import net.dries007.tfc.network.DataManagerSyncPacket;
 import net.dries007.tfc.util.DataManager;
 import net.dries007.tfc.util.Fuel;
-import net.dries007.tfc.util.collections.IndirectHashCollection;
+import net.dries007.tfc.util.collections.ItemIndexedCollection;
 
 import static net.dries007.tfc.TerraFirmaCraft.MOD_ID;
 
@@ -34,20 +33,13 @@ public final class HeatCapability
     public static final Capability<IHeatBlock> BLOCK_CAPABILITY = CapabilityManager.get(new CapabilityToken<>() {});
     public static final ResourceLocation BLOCK_KEY = new ResourceLocation(MOD_ID, "block_heat");
 
-    public static final IndirectHashCollection<Item, HeatDefinition> CACHE = new IndirectHashCollection<>(HeatDefinition::getValidItems);
+    public static final ItemIndexedCollection<HeatDefinition> CACHE = new ItemIndexedCollection<>(HeatDefinition::getValidItems, HeatDefinition::isItemOnly);
     public static final DataManager<HeatDefinition> MANAGER = new DataManager<>("item_heats", "item heat", HeatDefinition::new, HeatCapability::reload, HeatDefinition::new, HeatDefinition::encode, DataManagerSyncPacket.THeatDefinition::new);
 
     @Nullable
     public static HeatDefinition get(ItemStack stack)
     {
-        for (HeatDefinition def : CACHE.getAll(stack.getItem()))
-        {
-            if (def.matches(stack))
-            {
-                return def;
-            }
-        }
-        return null;
+        return CACHE.getFirst(stack, HeatDefinition::matches);
     }
 
     public static float adjustTempTowards(float temp, float target)
@@ -11,6 +11,8 @@ import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.capabilities.ICapabilitySerializable;
 import net.minecraftforge.common.util.LazyOptional;
@@ -132,6 +134,49 @@ public class HeatHandler implements ICapabilitySerializable<CompoundTag>, IHeat,
         lastUpdateTick = nbt.getLong("ticks");
     }
 
+    @Override
+    public void writeNetworkData(ItemStack stack, FriendlyByteBuf buffer)
+    {
+        // Cold items, which are the vast majority, only need a single byte
+        if (getTemperature() <= 0)
+        {
+            buffer.writeBoolean(false);
+        }
+        else
+        {
+            buffer.writeBoolean(true);
+            buffer.writeFloat(temperature);
+            buffer.writeVarLong(lastUpdateTick);
+        }
+    }
+
+    @Override
+    public void readNetworkData(ItemStack stack, FriendlyByteBuf buffer)
+    {
+        if (buffer.readBoolean())
+        {
+            temperature = buffer.readFloat();
+            lastUpdateTick = buffer.readVarLong();
+        }
+        else
+        {
+            temperature = 0;
+            lastUpdateTick = 0;
+        }
+    }
+
+    @Override
+    public boolean isNetworkEquivalent(ItemStack stack, ItemStack otherStack, ISyncable other)
+    {
+        if (other instanceof HeatHandler heat)
+        {
+            // Compare the same values that would be synced. The temperature decaying over time does not need a resync, as the client computes it from the last update tick
+            final boolean hot = getTemperature() > 0, otherHot = heat.getTemperature() > 0;
+            return hot == otherHot && (!hot || (temperature == heat.temperature && lastUpdateTick == heat.lastUpdateTick));
+        }
+        return false;
+    }
+
     /**
      * Sets the current heat capacity, for implementations that might change this based on an internal state
      */
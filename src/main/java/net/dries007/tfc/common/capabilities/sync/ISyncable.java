@@ -6,6 +6,7 @@
 
 package net.dries007.tfc.common.capabilities.sync;
 
+import java.util.Objects;
 import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.nbt.CompoundTag;
@@ -28,6 +29,9 @@ import net.minecraftforge.common.util.INBTSerializable;
  *
  * Finally, there is the issue of the creative inventory, which syncs C -> S. Forge has actually patched the call sites s.t. we can know when the creative inventory is trying to sync.
  *
+ * As this data is written for every item stack sent over the network, implementations should override {@link #writeNetworkData(ItemStack, FriendlyByteBuf)} with a compact binary encoding, rather than relying on the network tag.
+ * In addition, containers only resync a stack when its capability state has changed, as determined by {@link #isNetworkEquivalent(ItemStack, ItemStack, ISyncable)}.
+ *
  * @see FriendlyByteBuf#writeItem(ItemStack)
  * @see FriendlyByteBuf#readItem()
  */
@@ -38,6 +42,34 @@ public interface ISyncable
 
     void readNetworkTag(ItemStack stack, CompoundTag tag);
 
+    /**
+     * Writes the network state of this capability. By default, this writes the network tag.
+     */
+    default void writeNetworkData(ItemStack stack, FriendlyByteBuf buffer)
+    {
+        buffer.writeNbt(writeNetworkTag(stack));
+    }
+
+    /**
+     * Reads the network state of this capability, as written by {@link #writeNetworkData(ItemStack, FriendlyByteBuf)}.
+     */
+    default void readNetworkData(ItemStack stack, FriendlyByteBuf buffer)
+    {
+        final CompoundTag tag = buffer.readNbt();
+        if (tag != null)
+        {
+            readNetworkTag(stack, tag);
+        }
+    }
+
+    /**
+     * @return {@code true} if this capability would sync the same state as {@code other}, meaning the stack does not need to be resent. By default, this compares network tags.
+     */
+    default boolean isNetworkEquivalent(ItemStack stack, ItemStack otherStack, ISyncable other)
+    {
+        return Objects.equals(writeNetworkTag(stack), other.writeNetworkTag(otherStack));
+    }
+
     /**
      * For serializable capabilities that should write their entire state to nbt.
      */
@@ -6,13 +6,16 @@
 
 package net.dries007.tfc.common.capabilities.sync;
 
-import net.minecraft.nbt.CompoundTag;
+import org.jetbrains.annotations.Nullable;
+
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.capabilities.CapabilityManager;
 import net.minecraftforge.common.capabilities.CapabilityToken;
 
+import io.netty.buffer.Unpooled;
+
 public final class SyncableCapability
 {
     public static final Capability<ISyncable> CAPABILITY = CapabilityManager.get(new CapabilityToken<>() {});
@@ -22,20 +25,60 @@ public final class SyncableCapability
         return stack.getCapability(CAPABILITY).isPresent();
     }
 
+    /**
+     * @return {@code true} if both stacks would sync the same capability state. Only called for stacks which are otherwise equal.
+     */
+    public static boolean hasSameNetworkState(ItemStack current, ItemStack previous)
+    {
+        final ISyncable currentSyncable = current.getCapability(CAPABILITY).resolve().orElse(null);
+        if (currentSyncable == null)
+        {
+            return true;
+        }
+        final ISyncable previousSyncable = previous.getCapability(CAPABILITY).resolve().orElse(null);
+        return previousSyncable != null && currentSyncable.isNetworkEquivalent(current, previous, previousSyncable);
+    }
+
     public static void writeNetworkTag(ItemStack stack, FriendlyByteBuf buffer)
     {
-        buffer.writeNbt(stack.getCapability(CAPABILITY)
-            .resolve()
-            .map(c -> c.writeNetworkTag(stack))
-            .orElse(null));
+        writeNetworkData(stack.getCapability(CAPABILITY).resolve().orElse(null), stack, buffer);
     }
 
     public static void readNetworkTag(ItemStack stack, FriendlyByteBuf buffer)
     {
-        final CompoundTag tag = buffer.readNbt();
-        if (tag != null)
+        readNetworkData(stack.getCapability(CAPABILITY).resolve().orElse(null), stack, buffer);
+    }
+
+    /**
+     * Writes the capability data prefixed by its length, so it can always be skipped by the reader.
+     */
+    static void writeNetworkData(@Nullable ISyncable syncable, ItemStack stack, FriendlyByteBuf buffer)
+    {
+        buffer.writeBoolean(syncable != null);
+        if (syncable != null)
+        {
+            final FriendlyByteBuf data = new FriendlyByteBuf(Unpooled.buffer());
+            syncable.writeNetworkData(stack, data);
+            buffer.writeVarInt(data.readableBytes());
+            buffer.writeBytes(data);
+            data.release();
+        }
+    }
+
+    /**
+     * Reads capability data written by {@link #writeNetworkData(ISyncable, ItemStack, FriendlyByteBuf)}.
+     * Capabilities attached from datapack definitions (such as heat, or food) may be missing on the reading side, if definitions are not yet synced, or differ. In that case, the data is skipped, so the rest of the packet is still read correctly.
+     */
+    static void readNetworkData(@Nullable ISyncable syncable, ItemStack stack, FriendlyByteBuf buffer)
+    {
+        if (buffer.readBoolean())
         {
-            stack.getCapability(CAPABILITY).ifPresent(c -> c.readNetworkTag(stack, tag));
+            final int length = buffer.readVarInt();
+            final FriendlyByteBuf data = new FriendlyByteBuf(buffer.readSlice(length));
+            if (syncable != null)
+            {
+                syncable.readNetworkData(stack, data);
+            }
         }
     }
 }
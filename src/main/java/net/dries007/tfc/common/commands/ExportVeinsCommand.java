@@ -0,0 +1,80 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.common.commands;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import net.minecraft.Util;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.commands.arguments.coordinates.ColumnPosArgument;
+import net.minecraft.network.chat.TextComponent;
+import net.minecraft.network.chat.TranslatableComponent;
+import net.minecraft.server.level.ColumnPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.storage.LevelResource;
+import net.minecraftforge.server.command.EnumArgument;
+
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import net.dries007.tfc.world.feature.vein.VeinExport;
+import net.dries007.tfc.world.feature.vein.VeinQuery;
+
+/**
+ * Exports every vein in an area to a file under {@code tfc_vein_exports} in the world directory, without generating any chunks. See {@link VeinQuery}.
+ */
+public final class ExportVeinsCommand
+{
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final String STARTING = "tfc.commands.exportveins.starting";
+    private static final String DONE = "tfc.commands.exportveins.done";
+    private static final String FAILED = "tfc.commands.exportveins.failed";
+
+    public static LiteralArgumentBuilder<CommandSourceStack> create()
+    {
+        return Commands.literal("exportveins")
+            .requires(source -> source.hasPermission(2))
+            .then(Commands.argument("from", ColumnPosArgument.columnPos())
+                .then(Commands.argument("to", ColumnPosArgument.columnPos())
+                    .executes(cmd -> exportVeins(cmd.getSource(), ColumnPosArgument.getColumnPos(cmd, "from"), ColumnPosArgument.getColumnPos(cmd, "to"), VeinExport.Format.CSV))
+                    .then(Commands.argument("format", EnumArgument.enumArgument(VeinExport.Format.class))
+                        .executes(cmd -> exportVeins(cmd.getSource(), ColumnPosArgument.getColumnPos(cmd, "from"), ColumnPosArgument.getColumnPos(cmd, "to"), cmd.getArgument("format", VeinExport.Format.class)))
+                    )
+                )
+            );
+    }
+
+    private static int exportVeins(CommandSourceStack source, ColumnPos from, ColumnPos to, VeinExport.Format format)
+    {
+        final ServerLevel level = source.getLevel();
+        final int minX = Math.min(from.x, to.x), maxX = Math.max(from.x, to.x);
+        final int minZ = Math.min(from.z, to.z), maxZ = Math.max(from.z, to.z);
+        final String name = String.format("%s_%d_%d_%d_%d.%s", level.dimension().location().getPath(), minX, minZ, maxX, maxZ, format.getExtension());
+        final Path path = source.getServer().getWorldPath(LevelResource.ROOT).resolve("tfc_vein_exports").resolve(name);
+        final VeinQuery query = new VeinQuery(level, LocateVeinCommand.getVeins(), Util.backgroundExecutor());
+
+        // The query runs in parallel on the background executor, while this waits for, and writes, the results in order
+        source.sendSuccess(new TranslatableComponent(STARTING, name), true);
+        CompletableFuture.runAsync(() -> {
+            try
+            {
+                final long found = VeinExport.export(query, minX, minZ, maxX, maxZ, path, format);
+                source.getServer().execute(() -> source.sendSuccess(new TranslatableComponent(DONE, found, name), true));
+            }
+            catch (Exception e)
+            {
+                LOGGER.error("Unable to export veins to {}", path, e);
+                source.getServer().execute(() -> source.sendFailure(new TranslatableComponent(FAILED, new TextComponent(String.valueOf(e.getMessage())))));
+            }
+        }, Util.ioPool());
+        return Command.SINGLE_SUCCESS;
+    }
+}
@@ -9,7 +9,6 @@ package net.dries007.tfc.common.commands;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Map;
-import java.util.Random;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.jetbrains.annotations.Nullable;
@@ -92,7 +91,6 @@ public class LocateVeinCommand
         final ChunkPos pos = new ChunkPos(sourcePos);
         final ConfiguredFeature<?, ? extends VeinFeature<?, ?>> vein = LocateVeinCommand.getVeins().get(veinName);
         final ArrayList<? extends Vein> veins = new ArrayList<>();
-        final Random random = new Random();
         final BiomeSource source = world.getChunkSource().getGenerator().getBiomeSource();
         final Climate.Sampler sampler = world.getChunkSource().getGenerator().climateSampler();
         final BiomeManager biomeManager = world.getBiomeManager().withDifferentSource((x, y, z) -> source.getNoiseBiome(x, y, z, sampler));
@@ -111,7 +109,7 @@ public class LocateVeinCommand
                         continue;
                     }
 
-                    ((VeinFeature) vein.feature()).getVeinsAtChunk(world, generationContext, pos.x + dx, pos.z + dz, veins, (VeinConfig) vein.config(), random, biomeQuery);
+                    ((VeinFeature) vein.feature()).getVeinsAtChunk(world, generationContext, pos.x + dx, pos.z + dz, veins, (VeinConfig) vein.config(), biomeQuery);
                     if (!veins.isEmpty())
                     {
                         final BlockPos veinPos = veins.get(0).getPos();
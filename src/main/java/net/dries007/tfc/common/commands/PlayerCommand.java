@@ -171,6 +171,7 @@ public final class PlayerCommand
                 water += stats.getThirst();
             }
             stats.setThirst(water);
+            stats.requestSync();
         }
         return Command.SINGLE_SUCCESS;
     }
@@ -0,0 +1,116 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.common.commands;
+
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.commands.arguments.EntityArgument;
+import net.minecraft.network.chat.TranslatableComponent;
+import net.minecraft.server.level.ServerPlayer;
+
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import net.dries007.tfc.common.capabilities.food.TFCFoodData;
+import net.dries007.tfc.util.calendar.CalendarTickScheduler;
+import net.dries007.tfc.util.tracker.IWorldTracker;
+import net.dries007.tfc.util.tracker.WorldTrackerCapability;
+import net.dries007.tfc.world.layer.framework.ConcurrentArea;
+
+public final class StatsCommand
+{
+    private static final String LAYERS = "tfc.commands.stats.layers";
+    private static final String RESET = "tfc.commands.stats.reset";
+    private static final String COLLAPSES = "tfc.commands.stats.collapses";
+    private static final String LANDSLIDES = "tfc.commands.stats.landslides";
+    private static final String FOOD_SYNC = "tfc.commands.stats.food_sync";
+    private static final String FOOD_SYNC_PLAYER = "tfc.commands.stats.food_sync_player";
+    private static final String CALENDAR = "tfc.commands.stats.calendar";
+
+    public static LiteralArgumentBuilder<CommandSourceStack> create()
+    {
+        return Commands.literal("stats")
+            .requires(source -> source.hasPermission(2))
+            .then(Commands.literal("layers")
+                .executes(cmd -> queryLayers(cmd.getSource()))
+                .then(Commands.literal("reset")
+                    .executes(cmd -> resetLayers(cmd.getSource()))
+                )
+            )
+            .then(Commands.literal("collapses")
+                .executes(cmd -> queryCollapses(cmd.getSource()))
+            )
+            .then(Commands.literal("food")
+                .executes(cmd -> queryFoodSync(cmd.getSource()))
+                .then(Commands.literal("reset")
+                    .executes(cmd -> resetFoodSync(cmd.getSource()))
+                )
+                .then(Commands.argument("target", EntityArgument.player())
+                    .executes(cmd -> queryFoodSync(cmd.getSource(), EntityArgument.getPlayer(cmd, "target")))
+                )
+            )
+            .then(Commands.literal("calendar")
+                .executes(cmd -> queryCalendar(cmd.getSource()))
+            );
+    }
+
+    private static int queryLayers(CommandSourceStack source)
+    {
+        final long hits = ConcurrentArea.getHits(), misses = ConcurrentArea.getMisses();
+        source.sendSuccess(new TranslatableComponent(LAYERS, hits, misses, percent(hits, hits + misses)), false);
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static int resetLayers(CommandSourceStack source)
+    {
+        ConcurrentArea.resetStats();
+        source.sendSuccess(new TranslatableComponent(RESET), true);
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static int queryCollapses(CommandSourceStack source)
+    {
+        final IWorldTracker.CollapseStats stats = source.getLevel().getCapability(WorldTrackerCapability.CAPABILITY).map(IWorldTracker::getCollapseStats).orElse(IWorldTracker.CollapseStats.EMPTY);
+        source.sendSuccess(new TranslatableComponent(COLLAPSES, stats.collapseBlocksQueued(), stats.collapseBlocksProcessed(), stats.collapseBlocksDeferred()), false);
+        source.sendSuccess(new TranslatableComponent(LANDSLIDES, stats.landslidesQueued(), stats.landslidesProcessed(), stats.landslidesDeferred()), false);
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static int queryFoodSync(CommandSourceStack source)
+    {
+        final long sent = TFCFoodData.getSyncPacketsSent(), suppressed = TFCFoodData.getSyncPacketsSuppressed();
+        source.sendSuccess(new TranslatableComponent(FOOD_SYNC, sent, suppressed, percent(suppressed, sent + suppressed)), false);
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static int queryFoodSync(CommandSourceStack source, ServerPlayer player)
+    {
+        if (player.getFoodData() instanceof TFCFoodData data)
+        {
+            final long sent = data.getSyncPacketsSent(), suppressed = data.getSyncPacketsSuppressed();
+            source.sendSuccess(new TranslatableComponent(FOOD_SYNC_PLAYER, player.getDisplayName(), sent, suppressed, percent(suppressed, sent + suppressed)), false);
+        }
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static int resetFoodSync(CommandSourceStack source)
+    {
+        TFCFoodData.resetSyncStats();
+        source.sendSuccess(new TranslatableComponent(RESET), true);
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static int queryCalendar(CommandSourceStack source)
+    {
+        source.sendSuccess(new TranslatableComponent(CALENDAR, CalendarTickScheduler.getRegistered(), CalendarTickScheduler.getPending(), CalendarTickScheduler.getLastProcessed(), CalendarTickScheduler.getLastDeferred()), false);
+        return Command.SINGLE_SUCCESS;
+    }
+
+    static String percent(long part, long total)
+    {
+        return String.format("%.1f", total == 0 ? 0 : 100.0 * part / total);
+    }
+}
@@ -39,8 +39,10 @@ public final class TFCCommands
             .then(PlayerCommand.create())
             .then(TreeCommand.create())
             .then(LocateVeinCommand.create())
+            .then(ExportVeinsCommand.create())
             .then(CountBlockCommand.create())
             .then(TFCLocateCommand.create())
+            .then(StatsCommand.create())
         );
 
         // For command modifications / replacements, we register directly
@@ -27,11 +27,11 @@ import net.minecraftforge.fluids.FluidStack;
 import net.dries007.tfc.common.capabilities.heat.HeatCapability;
 import net.dries007.tfc.common.recipes.inventory.ItemStackInventory;
 import net.dries007.tfc.util.JsonHelpers;
-import net.dries007.tfc.util.collections.IndirectHashCollection;
+import net.dries007.tfc.util.collections.ItemIndexedCollection;
 
 public class HeatingRecipe implements ISimpleRecipe<ItemStackInventory>
 {
-    public static final IndirectHashCollection<Item, HeatingRecipe> CACHE = new IndirectHashCollection<>(HeatingRecipe::getValidItems);
+    public static final ItemIndexedCollection<HeatingRecipe> CACHE = new ItemIndexedCollection<>(HeatingRecipe::getValidItems, recipe -> ItemIndexedCollection.isItemOnly(recipe.getIngredient()));
 
     @Nullable
     public static HeatingRecipe getRecipe(ItemStack stack)
@@ -42,14 +42,7 @@ public class HeatingRecipe implements ISimpleRecipe<ItemStackInventory>
     @Nullable
     public static HeatingRecipe getRecipe(ItemStackInventory wrapper)
     {
-        for (HeatingRecipe recipe : CACHE.getAll(wrapper.getStack().getItem()))
-        {
-            if (recipe.matches(wrapper, null))
-            {
-                return recipe;
-            }
-        }
-        return null;
+        return CACHE.getFirst(wrapper.getStack(), (recipe, stack) -> recipe.matches(wrapper, null));
     }
 
     private final ResourceLocation id;
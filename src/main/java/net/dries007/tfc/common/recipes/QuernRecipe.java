@@ -8,7 +8,6 @@ package net.dries007.tfc.common.recipes;
 
 import org.jetbrains.annotations.Nullable;
 
-import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.RecipeSerializer;
 import net.minecraft.world.item.crafting.RecipeType;
@@ -17,23 +16,16 @@ import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.level.Level;
 
 import net.dries007.tfc.common.recipes.inventory.ItemStackInventory;
-import net.dries007.tfc.util.collections.IndirectHashCollection;
+import net.dries007.tfc.util.collections.ItemIndexedCollection;
 
 public class QuernRecipe extends SimpleItemRecipe
 {
-    public static final IndirectHashCollection<Item, QuernRecipe> CACHE = new IndirectHashCollection<>(QuernRecipe::getValidItems);
+    public static final ItemIndexedCollection<QuernRecipe> CACHE = new ItemIndexedCollection<>(QuernRecipe::getValidItems, recipe -> ItemIndexedCollection.isItemOnly(recipe.getIngredient()));
 
     @Nullable
     public static QuernRecipe getRecipe(Level world, ItemStackInventory wrapper)
     {
-        for (QuernRecipe recipe : CACHE.getAll(wrapper.getStack().getItem()))
-        {
-            if (recipe.matches(wrapper, world))
-            {
-                return recipe;
-            }
-        }
-        return null;
+        return CACHE.getFirst(wrapper.getStack(), (recipe, stack) -> recipe.matches(wrapper, world));
     }
 
     public QuernRecipe(ResourceLocation id, Ingredient ingredient, ItemStack result)
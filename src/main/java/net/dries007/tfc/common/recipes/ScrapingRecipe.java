@@ -8,7 +8,6 @@ package net.dries007.tfc.common.recipes;
 
 import org.jetbrains.annotations.Nullable;
 
-import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.RecipeSerializer;
 import net.minecraft.world.item.crafting.RecipeType;
@@ -17,23 +16,16 @@ import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.level.Level;
 
 import net.dries007.tfc.common.recipes.inventory.ItemStackInventory;
-import net.dries007.tfc.util.collections.IndirectHashCollection;
+import net.dries007.tfc.util.collections.ItemIndexedCollection;
 
 public class ScrapingRecipe extends SimpleItemRecipe
 {
-    public static final IndirectHashCollection<Item, ScrapingRecipe> CACHE = new IndirectHashCollection<>(ScrapingRecipe::getValidItems);
+    public static final ItemIndexedCollection<ScrapingRecipe> CACHE = new ItemIndexedCollection<>(ScrapingRecipe::getValidItems, recipe -> ItemIndexedCollection.isItemOnly(recipe.getIngredient()));
 
     @Nullable
     public static ScrapingRecipe getRecipe(Level world, ItemStackInventory wrapper)
     {
-        for (ScrapingRecipe recipe : CACHE.getAll(wrapper.getStack().getItem()))
-        {
-            if (recipe.matches(wrapper, world))
-            {
-                return recipe;
-            }
-        }
-        return null;
+        return CACHE.getFirst(wrapper.getStack(), (recipe, stack) -> recipe.matches(wrapper, world));
     }
 
     public ScrapingRecipe(ResourceLocation id, Ingredient ingredient, ItemStack result)
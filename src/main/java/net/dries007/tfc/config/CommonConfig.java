@@ -22,6 +22,10 @@ public class CommonConfig
     // General
     public final ForgeConfigSpec.IntValue defaultMonthLength;
     public final ForgeConfigSpec.BooleanValue setTFCWorldTypeAsDefault;
+    public final ForgeConfigSpec.IntValue chunkDataCacheSize;
+    public final ForgeConfigSpec.IntValue noiseSamplingBands;
+    public final ForgeConfigSpec.BooleanValue enableWatershedStore;
+    public final ForgeConfigSpec.IntValue biomeSearchTimeLimit;
 
     CommonConfig(ForgeConfigSpec.Builder innerBuilder)
     {
@@ -39,6 +43,27 @@ public class CommonConfig
             "3. This DOES NOT guarantee that the world generation will be TFC, if another mod sets the default another way"
         ).define("setTFCWorldTypeAsDefault", true);
 
+        chunkDataCacheSize = builder.apply("chunkDataCacheSize").comment(
+            "The maximum number of chunks which will have their chunk data cached, per logical side.",
+            "Chunks beyond this limit will still function, but chunk data lookups in them will be slower."
+        ).defineInRange("chunkDataCacheSize", 1 << 16, 1024, Integer.MAX_VALUE);
+
+        noiseSamplingBands = builder.apply("noiseSamplingBands").comment(
+            "The number of vertical bands the cave noise of each chunk is split into during terrain generation. Each band is sampled in parallel on the background executor.",
+            "A value of 1 samples all noise on the thread generating the chunk. Higher values may reduce the latency of generating a single chunk, on servers with idle cores.",
+            "The generated terrain is identical regardless of this value."
+        ).defineInRange("noiseSamplingBands", 1, 1, 64);
+
+        enableWatershedStore = builder.apply("enableWatershedStore").comment(
+            "If true, generated rivers are saved under each dimension's data/tfc_watersheds directory, so they do not need to be generated again after a restart.",
+            "Saved rivers are only used with the same world seed and version of TFC they were generated with."
+        ).define("enableWatershedStore", false);
+
+        biomeSearchTimeLimit = builder.apply("biomeSearchTimeLimit").comment(
+            "The maximum time, in milliseconds, which searching for a biome (with /locate biome, or when finding a spawn position) may take. Biomes are searched in parallel on the world generation executor, without generating any chunks.",
+            "If the limit is reached, the search stops and returns the best result found so far, which may be none."
+        ).defineInRange("biomeSearchTimeLimit", 10_000, 100, Integer.MAX_VALUE);
+
         innerBuilder.pop();
     }
 }
\ No newline at end of file
@@ -27,6 +27,7 @@ public class ServerConfig
     public final ForgeConfigSpec.BooleanValue enableForcedTFCGameRules;
     public final ForgeConfigSpec.BooleanValue enableFireArrowSpreading;
     public final ForgeConfigSpec.DoubleValue fireStarterChance;
+    public final ForgeConfigSpec.IntValue calendarCatchUpPerTick;
     // Blocks - Farmland
     public final ForgeConfigSpec.BooleanValue enableFarmlandCreation;
     // Blocks - Grass Path
@@ -96,6 +97,8 @@ public class ServerConfig
     public final ForgeConfigSpec.DoubleValue collapseExplosionPropagateChance;
     public final ForgeConfigSpec.IntValue collapseMinRadius;
     public final ForgeConfigSpec.IntValue collapseRadiusVariance;
+    public final ForgeConfigSpec.IntValue collapseBlocksPerTick;
+    public final ForgeConfigSpec.IntValue landslidesPerTick;
     // Mechanics - Food / Nutrition
     public final ForgeConfigSpec.BooleanValue peacefulDifficultyPassiveRegeneration;
     public final ForgeConfigSpec.DoubleValue passiveExhaustionModifier;
@@ -124,6 +127,7 @@ public class ServerConfig
         ).define("enableForcedTFCGameRules", true);
         enableFireArrowSpreading = builder.apply("enableFireArrowSpreading").comment("Enable fire arrows and fireballs to spread fire and light blocks.").define("enableFireArrowSpreading", true);
         fireStarterChance = builder.apply("fireStarterChance").comment("Base probability for a firestarter to start a fire. May change based on circumstances").defineInRange("fireStarterChance", 0.5, 0, 1);
+        calendarCatchUpPerTick = builder.apply("calendarCatchUpPerTick").comment("The maximum number of block entities (such as firepits, or crops) which catch up with the calendar per tick, after a time skip or being loaded. Large catch-ups will be spread over multiple ticks.").defineInRange("calendarCatchUpPerTick", 128, 1, Integer.MAX_VALUE);
 
         innerBuilder.pop().push("blocks").push("farmland");
 
@@ -229,6 +233,8 @@ public class ServerConfig
         collapseExplosionPropagateChance = builder.apply("collapseExplosionPropagateChance").comment("Chance for a block to fall from an explosion triggered collapse. Higher = mor likely.").defineInRange("collapseExplosionPropagateChance", 0.3, 0, 1);
         collapseMinRadius = builder.apply("collapseMinRadius").comment("Minimum radius for a collapse").defineInRange("collapseMinRadius", 3, 1, 32);
         collapseRadiusVariance = builder.apply("collapseRadiusVariance").comment("Variance of the radius of a collapse. Total size is in [minRadius, minRadius + radiusVariance]").defineInRange("collapseRadiusVariance", 16, 1, 32);
+        collapseBlocksPerTick = builder.apply("collapseBlocksPerTick").comment("The maximum number of blocks checked for collapsing per tick, per dimension. Large collapses will be spread over multiple ticks.").defineInRange("collapseBlocksPerTick", 512, 1, Integer.MAX_VALUE);
+        landslidesPerTick = builder.apply("landslidesPerTick").comment("The maximum number of landslides checked per tick, per dimension. Large chains of landslides will be spread over multiple ticks.").defineInRange("landslidesPerTick", 256, 1, Integer.MAX_VALUE);
 
         innerBuilder.pop().push("player");
 
@@ -0,0 +1,45 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.mixin;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+
+import net.dries007.tfc.util.Support;
+import net.dries007.tfc.util.tracker.SupportIndex;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Keeps the {@link SupportIndex} up to date with every block change, including those which don't notify neighbors, such as {@code /setblock} or structures.
+ */
+@Mixin(LevelChunk.class)
+public abstract class LevelChunkMixin
+{
+    @Shadow @Final Level level;
+
+    @Inject(method = "setBlockState", at = @At("RETURN"))
+    private void updateSupportIndex(BlockPos pos, BlockState state, boolean isMoving, CallbackInfoReturnable<BlockState> cir)
+    {
+        // A null return means nothing changed. Only changes to or from a support need to reach the index.
+        final BlockState previousState = cir.getReturnValue();
+        if (previousState != null && !level.isClientSide() && (Support.get(state) != null || Support.get(previousState) != null))
+        {
+            final SupportIndex index = SupportIndex.get(level);
+            if (index != null)
+            {
+                index.onBlockChanged(pos, state);
+            }
+        }
+    }
+}
@@ -11,6 +11,7 @@ import net.minecraftforge.network.NetworkEvent;
 
 import net.dries007.tfc.util.calendar.Calendar;
 import net.dries007.tfc.util.calendar.Calendars;
+import net.dries007.tfc.util.climate.Climate;
 
 public class CalendarUpdatePacket
 {
@@ -34,6 +35,9 @@ public class CalendarUpdatePacket
 
     void handle(NetworkEvent.Context context)
     {
-        context.enqueueWork(() -> Calendars.CLIENT.reset(instance));
+        context.enqueueWork(() -> {
+            Calendars.CLIENT.reset(instance);
+            Climate.onCalendarChanged();
+        });
     }
 }
\ No newline at end of file
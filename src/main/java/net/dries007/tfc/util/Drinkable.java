@@ -155,6 +155,7 @@ public class Drinkable extends FluidDefinition
         if (thirst > 0 && player.getFoodData() instanceof TFCFoodData foodData)
         {
             foodData.addThirst(thirst);
+            foodData.requestSync();
         }
 
         if (intoxication > 0)
@@ -12,29 +12,21 @@ import com.google.gson.JsonObject;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.GsonHelper;
-import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.Ingredient;
 
 import net.dries007.tfc.network.DataManagerSyncPacket;
-import net.dries007.tfc.util.collections.IndirectHashCollection;
+import net.dries007.tfc.util.collections.ItemIndexedCollection;
 
 public final class Fuel extends ItemDefinition
 {
     public static final DataManager<Fuel> MANAGER = new DataManager<>("fuels", "fuel", Fuel::new, Fuel::reload, Fuel::new, Fuel::encode, DataManagerSyncPacket.TFuel::new);
-    public static final IndirectHashCollection<Item, Fuel> CACHE = new IndirectHashCollection<>(Fuel::getValidItems);
+    public static final ItemIndexedCollection<Fuel> CACHE = new ItemIndexedCollection<>(Fuel::getValidItems, Fuel::isItemOnly);
 
     @Nullable
     public static Fuel get(ItemStack stack)
     {
-        for (Fuel def : CACHE.getAll(stack.getItem()))
-        {
-            if (def.matches(stack))
-            {
-                return def;
-            }
-        }
-        return null;
+        return CACHE.getFirst(stack, Fuel::matches);
     }
 
     private static void reload()
@@ -16,6 +16,8 @@ import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.Ingredient;
 
+import net.dries007.tfc.util.collections.ItemIndexedCollection;
+
 public class ItemDefinition
 {
     protected final ResourceLocation id;
@@ -42,6 +44,14 @@ public class ItemDefinition
         return ingredient.test(stack);
     }
 
+    /**
+     * @return {@code true} if {@link #matches(ItemStack)} depends only on the item of the stack.
+     */
+    public boolean isItemOnly()
+    {
+        return ItemIndexedCollection.isItemOnly(ingredient);
+    }
+
     public Collection<Item> getValidItems()
     {
         return Arrays.stream(ingredient.getItems()).map(ItemStack::getItem).collect(Collectors.toSet());
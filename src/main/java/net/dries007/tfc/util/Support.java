@@ -16,12 +16,14 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.GsonHelper;
 import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
 
 import net.dries007.tfc.common.recipes.ingredients.BlockIngredient;
 import net.dries007.tfc.common.recipes.ingredients.BlockIngredients;
 import net.dries007.tfc.util.collections.IndirectHashCollection;
+import net.dries007.tfc.util.tracker.SupportIndex;
 
 public final class Support
 {
@@ -35,8 +37,49 @@ public final class Support
 
     /**
      * Finds all unsupported positions in a large area. It's more efficient than checking each block individually and calling {@link Support#isSupported(BlockGetter, BlockPos)}
+     * Where possible, this uses the {@link SupportIndex} to only visit nearby supports, rather than scanning every block within the maximum support range.
      */
     public static Set<BlockPos> findUnsupportedPositions(BlockGetter worldIn, BlockPos from, BlockPos to)
+    {
+        final SupportIndex index = SupportIndex.get(worldIn);
+        if (index != null)
+        {
+            return findUnsupportedPositions(index, ((Level) worldIn)::getChunk, from, to);
+        }
+        return scanUnsupportedPositions(worldIn, from, to);
+    }
+
+    public static boolean isSupported(BlockGetter world, BlockPos pos)
+    {
+        final SupportIndex index = SupportIndex.get(world);
+        if (index != null)
+        {
+            final boolean[] supported = {false};
+            index.forEachSupport((Level) world, pos.getX() - RANGE.horizontal(), pos.getY() - RANGE.down(), pos.getZ() - RANGE.horizontal(), pos.getX() + RANGE.horizontal(), pos.getY() + RANGE.up(), pos.getZ() + RANGE.horizontal(), (supportPos, support) -> {
+                if (support.canSupport(supportPos, pos))
+                {
+                    supported[0] = true;
+                }
+            });
+            return supported[0];
+        }
+
+        for (BlockPos supportPos : getMaximumSupportedAreaAround(pos, pos))
+        {
+            final BlockState supportState = world.getBlockState(supportPos);
+            final Support support = get(supportState);
+            if (support != null && support.canSupport(supportPos, pos))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds all unsupported positions by checking every block within the maximum support range. Used where there is no {@link SupportIndex}.
+     */
+    private static Set<BlockPos> scanUnsupportedPositions(BlockGetter worldIn, BlockPos from, BlockPos to)
     {
         Set<BlockPos> listSupported = new HashSet<>();
         Set<BlockPos> listUnsupported = new HashSet<>();
@@ -69,18 +112,49 @@ public final class Support
         return listUnsupported;
     }
 
-    public static boolean isSupported(BlockGetter world, BlockPos pos)
+    /**
+     * Finds all unsupported positions using only the supports in the index, so the cost scales with the number of nearby supports, rather than the volume.
+     */
+    static Set<BlockPos> findUnsupportedPositions(SupportIndex index, SupportIndex.ChunkGetter chunkGetter, BlockPos from, BlockPos to)
     {
-        for (BlockPos supportPos : getMaximumSupportedAreaAround(pos, pos))
+        final int minX = Math.min(from.getX(), to.getX()), maxX = Math.max(from.getX(), to.getX());
+        final int minY = Math.min(from.getY(), to.getY()), maxY = Math.max(from.getY(), to.getY());
+        final int minZ = Math.min(from.getZ(), to.getZ()), maxZ = Math.max(from.getZ(), to.getZ());
+        final int sizeX = maxX - minX + 1, sizeY = maxY - minY + 1, sizeZ = maxZ - minZ + 1;
+
+        // Mark the intersection of each nearby support's area with the target box
+        final boolean[] supported = new boolean[sizeX * sizeY * sizeZ];
+        index.forEachSupport(chunkGetter, minX - RANGE.horizontal(), minY - RANGE.down(), minZ - RANGE.horizontal(), maxX + RANGE.horizontal(), maxY + RANGE.up(), maxZ + RANGE.horizontal(), (supportPos, support) -> {
+            final int x0 = Math.max(minX, supportPos.getX() - support.supportHorizontal), x1 = Math.min(maxX, supportPos.getX() + support.supportHorizontal);
+            final int y0 = Math.max(minY, supportPos.getY() - support.supportDown), y1 = Math.min(maxY, supportPos.getY() + support.supportUp);
+            final int z0 = Math.max(minZ, supportPos.getZ() - support.supportHorizontal), z1 = Math.min(maxZ, supportPos.getZ() + support.supportHorizontal);
+            for (int x = x0; x <= x1; x++)
+            {
+                for (int y = y0; y <= y1; y++)
+                {
+                    for (int z = z0; z <= z1; z++)
+                    {
+                        supported[(x - minX) + sizeX * ((y - minY) + sizeY * (z - minZ))] = true;
+                    }
+                }
+            }
+        });
+
+        final Set<BlockPos> unsupported = new HashSet<>();
+        for (int x = 0; x < sizeX; x++)
         {
-            final BlockState supportState = world.getBlockState(supportPos);
-            final Support support = get(supportState);
-            if (support != null && support.canSupport(supportPos, pos))
+            for (int y = 0; y < sizeY; y++)
             {
-                return true;
+                for (int z = 0; z < sizeZ; z++)
+                {
+                    if (!supported[x + sizeX * (y + sizeY * z)])
+                    {
+                        unsupported.add(new BlockPos(minX + x, minY + y, minZ + z));
+                    }
+                }
             }
         }
-        return false;
+        return unsupported;
     }
 
     public static Iterable<BlockPos> getMaximumSupportedAreaAround(BlockPos minPoint, BlockPos maxPoint)
@@ -115,6 +189,7 @@ public final class Support
         }
 
         RANGE = new SupportRange(up, down, horizontal);
+        SupportIndex.invalidateAll();
     }
 
     private final ResourceLocation id;
@@ -20,6 +20,7 @@ import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.event.entity.player.PlayerWakeUpEvent;
 import net.minecraftforge.event.server.ServerStartingEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
 import net.minecraftforge.eventbus.api.IEventBus;
 
 import net.dries007.tfc.common.capabilities.food.TFCFoodData;
@@ -39,6 +40,7 @@ public class CalendarEventHandler
         final IEventBus bus = MinecraftForge.EVENT_BUS;
 
         bus.addListener(CalendarEventHandler::onServerStart);
+        bus.addListener(CalendarEventHandler::onServerStopped);
         bus.addListener(CalendarEventHandler::onServerTick);
         bus.addListener(CalendarEventHandler::onOverworldTick);
         bus.addListener(CalendarEventHandler::onPlayerWakeUp);
@@ -48,9 +50,16 @@ public class CalendarEventHandler
 
     public static void onServerStart(ServerStartingEvent event)
     {
+        CalendarTickScheduler.clear();
         Calendars.SERVER.onServerStart(event.getServer());
     }
 
+    public static void onServerStopped(ServerStoppedEvent event)
+    {
+        // Don't hold on to the block entities of the last world
+        CalendarTickScheduler.clear();
+    }
+
     /**
      * Called from LOGICAL SERVER
      * Responsible for primary time tracking for player time
@@ -64,6 +73,10 @@ public class CalendarEventHandler
         {
             Calendars.SERVER.onServerTick();
         }
+        else
+        {
+            CalendarTickScheduler.onServerTick();
+        }
     }
 
     public static void onOverworldTick(TickEvent.WorldTickEvent event)
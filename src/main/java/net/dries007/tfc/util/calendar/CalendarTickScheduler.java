@@ -0,0 +1,142 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.util.calendar;
+
+import net.minecraft.world.level.block.entity.BlockEntity;
+
+import it.unimi.dsi.fastutil.objects.Reference2LongLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.dries007.tfc.config.TFCConfig;
+
+/**
+ * Schedules the calendar catch-up ({@link ICalendarTickable#onCalendarUpdate(long)}) of all loaded {@link ICalendarTickable} block entities, on the logical server.
+ * <p>
+ * Block entities are registered here when loaded, and a calendar jump (such as {@code /time}) is broadcast once, to all of them, rather than every block entity catching up in the same tick. Catch-up is then processed in the order it was scheduled, up to a per-tick budget, with the rest deferred to following ticks.
+ * Any other gaps a block entity notices, such as after being loaded, or when its chunk stopped ticking, are scheduled the same way, by {@link ICalendarTickable#checkForCalendarUpdate()}.
+ * <p>
+ * While a block entity is pending, it keeps ticking as normal, but its last update tick is left alone. Once processed, it is caught up by exactly the ticks it missed, and its last update tick is set to the current tick.
+ * Dormant devices (see {@link net.dries007.tfc.common.blockentities.TickableInventoryBlockEntity}) are unregistered while dormant, and schedule their own catch-up on waking.
+ */
+public final class CalendarTickScheduler
+{
+    private static final ReferenceOpenHashSet<ICalendarTickable> REGISTERED = new ReferenceOpenHashSet<>();
+    private static final Reference2LongLinkedOpenHashMap<ICalendarTickable> PENDING = new Reference2LongLinkedOpenHashMap<>();
+
+    private static int lastProcessed, lastDeferred;
+
+    public static void register(ICalendarTickable entity)
+    {
+        REGISTERED.add(entity);
+    }
+
+    public static void unregister(ICalendarTickable entity)
+    {
+        REGISTERED.remove(entity);
+        PENDING.removeLong(entity);
+    }
+
+    /**
+     * Schedules {@code ticks} of catch-up for a single block entity, in addition to any already pending.
+     */
+    public static void schedule(ICalendarTickable entity, long ticks)
+    {
+        if (ticks > 0)
+        {
+            PENDING.addTo(entity, ticks);
+        }
+    }
+
+    /**
+     * @return {@code true} if the block entity has catch-up pending. Its last update tick should be left alone until it is processed.
+     */
+    public static boolean isPending(ICalendarTickable entity)
+    {
+        return PENDING.containsKey(entity);
+    }
+
+    /**
+     * Removes any pending catch-up for a block entity, for when it will catch up on its own, from its last update tick.
+     */
+    public static void cancel(ICalendarTickable entity)
+    {
+        PENDING.removeLong(entity);
+    }
+
+    /**
+     * Broadcasts a jump in player ticks to all registered block entities.
+     */
+    public static void onCalendarJump(long ticks)
+    {
+        if (ticks > 0)
+        {
+            for (ICalendarTickable entity : REGISTERED)
+            {
+                PENDING.addTo(entity, ticks);
+            }
+        }
+    }
+
+    public static int getPending()
+    {
+        return PENDING.size();
+    }
+
+    public static int getRegistered()
+    {
+        return REGISTERED.size();
+    }
+
+    /**
+     * @return The number of block entities caught up in the last tick.
+     */
+    public static int getLastProcessed()
+    {
+        return lastProcessed;
+    }
+
+    /**
+     * @return The number of block entities which were pending, but did not fit in the budget of the last tick.
+     */
+    public static int getLastDeferred()
+    {
+        return lastDeferred;
+    }
+
+    /**
+     * Catches up pending block entities, in the order they were scheduled, up to the per-tick budget.
+     */
+    static void onServerTick()
+    {
+        final int budget = TFCConfig.SERVER.calendarCatchUpPerTick.get();
+        final long thisTick = Calendars.SERVER.getTicks();
+        int processed = 0;
+        while (processed < budget && !PENDING.isEmpty())
+        {
+            final ICalendarTickable entity = PENDING.firstKey();
+            final long ticks = PENDING.removeFirstLong();
+            final BlockEntity blockEntity = (BlockEntity) entity;
+            // Block entities which have never checked for a calendar update (such as the top half of a double crop) have nothing to catch up on
+            if (!blockEntity.isRemoved() && blockEntity.getLevel() != null && entity.getLastUpdateTick() != Integer.MIN_VALUE)
+            {
+                entity.onCalendarUpdate(ticks);
+                entity.setLastUpdateTick(thisTick);
+                processed++;
+            }
+        }
+        lastProcessed = processed;
+        lastDeferred = PENDING.size();
+    }
+
+    static void clear()
+    {
+        REGISTERED.clear();
+        PENDING.clear();
+        lastProcessed = lastDeferred = 0;
+    }
+
+    private CalendarTickScheduler() {}
+}
@@ -15,7 +15,9 @@ import net.minecraft.world.level.block.entity.BlockEntity;
 public interface ICalendarTickable
 {
     /**
-     * Here we check every tick for a calendar discrepancy. This only checks for differences in player time, and calls {@link ICalendarTickable#onCalendarUpdate(long playerTickDelta)} as necessary
+     * Here we check every tick for a calendar discrepancy. This only checks for differences in player time, and schedules a call to {@link ICalendarTickable#onCalendarUpdate(long playerTickDelta)} with the {@link CalendarTickScheduler} as necessary
+     * Calendar jumps are broadcast by the scheduler directly, so this only needs to catch other gaps, such as after being loaded.
+     * Only forward gaps are deferred to the scheduler. If the calendar did not advance, or went backwards, {@link ICalendarTickable#onCalendarUpdate(long playerTickDelta)} is called immediately, with a zero or negative delta.
      *
      * Implementations MUST call {@code checkForCalendarUpdate()} in their {@code serverTick} method.
      */
@@ -29,7 +31,16 @@ public interface ICalendarTickable
             final long tickDelta = thisTick - lastTick;
             if (lastTick != Integer.MIN_VALUE && tickDelta != 1)
             {
-                onCalendarUpdate(tickDelta - 1);
+                if (CalendarTickScheduler.isPending(this))
+                {
+                    return; // The scheduler will update the last tick once caught up
+                }
+                if (tickDelta > 1)
+                {
+                    CalendarTickScheduler.schedule(this, tickDelta - 1);
+                    return;
+                }
+                onCalendarUpdate(tickDelta - 1); // The calendar did not advance, or went backwards, which is cheap to handle immediately
             }
             setLastUpdateTick(thisTick);
         }
@@ -17,6 +17,7 @@ import net.dries007.tfc.mixin.accessor.GameRulesTypeAccessor;
 import net.dries007.tfc.network.CalendarUpdatePacket;
 import net.dries007.tfc.network.PacketHandler;
 import net.dries007.tfc.util.ReentrantRunnable;
+import net.dries007.tfc.util.climate.Climate;
 
 public class ServerCalendar extends Calendar
 {
@@ -32,6 +33,15 @@ public class ServerCalendar extends Calendar
     }
 
     private int syncCounter;
+    private int jumps;
+
+    /**
+     * @return A counter which is incremented every time the calendar jumps (by a command, sleeping, or changing the month length), rather than advancing one tick at a time.
+     */
+    public int getJumps()
+    {
+        return jumps;
+    }
 
     /**
      * This runs a sequence of code, but first will set the calendar and player time by an offset
@@ -69,6 +79,7 @@ public class ServerCalendar extends Calendar
 
         calendarTicks = calendarTimeToSetTo;
         playerTicks += timeJump;
+        CalendarTickScheduler.onCalendarJump(timeJump);
 
         // Update the actual world times
         for (ServerLevel world : getServer().getAllLevels())
@@ -77,6 +88,8 @@ public class ServerCalendar extends Calendar
             world.setDayTime(currentDayTime + timeJump);
         }
 
+        jumps++;
+        Climate.onCalendarChanged();
         sendUpdatePacket();
     }
 
@@ -97,7 +110,10 @@ public class ServerCalendar extends Calendar
 
         calendarTicks += worldTimeJump;
         playerTicks += worldTimeJump;
+        CalendarTickScheduler.onCalendarJump(worldTimeJump);
 
+        jumps++;
+        Climate.onCalendarChanged();
         return worldTimeJump;
     }
 
@@ -114,6 +130,8 @@ public class ServerCalendar extends Calendar
         this.daysInMonth = newMonthLength;
         this.calendarTicks = (baseMonths * daysInMonth + newDayOfMonth) * ICalendar.TICKS_IN_DAY + baseDayTime;
 
+        jumps++;
+        Climate.onCalendarChanged();
         sendUpdatePacket();
     }
 
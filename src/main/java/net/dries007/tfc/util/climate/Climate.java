@@ -190,6 +190,15 @@ public final class Climate
         model(level).updateCachedTemperatureSettings(settings, climateSeed);
     }
 
+    /**
+     * Notify all climate models of a calendar jump.
+     */
+    public static synchronized void onCalendarChanged()
+    {
+        DIMENSIONS.values().forEach(ClimateModel::onCalendarChanged);
+        DEFAULT.onCalendarChanged();
+    }
+
     private static ClimateModel model(Level level)
     {
         return DIMENSIONS.getOrDefault(level.dimension(), DEFAULT);
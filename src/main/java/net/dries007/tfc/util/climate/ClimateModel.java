@@ -68,4 +68,9 @@ public interface ClimateModel
      * Provides a {@link ClimateSettings} to models that may use them, when a world loads (or earlier).
      */
     default void updateCachedTemperatureSettings(ClimateSettings settings, long climateSeed) {}
+
+    /**
+     * Called when the calendar jumps, i.e. is set by a command, sleeping, a change in month length, or a client sync. Models which cache time dependent values should drop them.
+     */
+    default void onCalendarChanged() {}
 }
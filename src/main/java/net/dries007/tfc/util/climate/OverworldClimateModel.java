@@ -22,6 +22,8 @@ import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.SnowyDirtBlock;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.ImposterProtoChunk;
+import net.minecraft.world.level.chunk.ProtoChunk;
 import net.minecraft.world.level.levelgen.Heightmap;
 
 import net.dries007.tfc.common.blocks.IcePileBlock;
@@ -106,18 +108,24 @@ public class OverworldClimateModel implements WorldGenClimateModel
     private Noise2D snowPatchNoise = (x, z) -> 0;
     private Noise2D icePatchNoise = (x, z) -> 0;
 
+    // The time dependent terms of temperature, which are shared by all queries within a tick
+    // Two are kept, as in single player, both the client and server calendar will query this model, usually at different times
+    @Nullable private volatile CalendarTerms lastTerms, previousTerms;
+
     @Override
     public float getTemperature(@Nullable LevelReader level, BlockPos pos, ChunkData data, long calendarTicks, int daysInMonth)
     {
-        // Month temperature
-        final Month currentMonth = ICalendar.getMonthOfYear(calendarTicks, daysInMonth);
-        final float delta = ICalendar.getFractionOfMonth(calendarTicks, daysInMonth);
-        final float monthFactor = Mth.lerp(delta, currentMonth.getTemperatureModifier(), currentMonth.next().getTemperatureModifier());
+        final CalendarTerms terms = getCalendarTerms(calendarTicks, daysInMonth);
+        final float monthTemperature = calculateMonthlyTemperature(pos.getZ(), terms.monthFactor);
 
-        final float monthTemperature = calculateMonthlyTemperature(pos.getZ(), monthFactor);
-        final float dailyTemperature = calculateDailyTemperature(calendarTicks);
+        return adjustTemperatureByElevation(pos.getY(), data.getAverageTemp(pos), monthTemperature, terms.dailyTemperature);
+    }
 
-        return adjustTemperatureByElevation(pos.getY(), data.getAverageTemp(pos), monthTemperature, dailyTemperature);
+    @Override
+    public void onCalendarChanged()
+    {
+        // Terms are keyed by the exact calendar time, so they can't be stale, but there's no point keeping them around after a time jump
+        lastTerms = previousTerms = null;
     }
 
     @Override
@@ -191,27 +199,45 @@ public class OverworldClimateModel implements WorldGenClimateModel
         final BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
         final BlockState snowState = Blocks.SNOW.defaultBlockState();
 
-        for (int x = chunkPos.getMinBlockX(); x <= chunkPos.getMaxBlockX(); x++)
+        // If this is the chunk being generated, simple block changes (those without block entities, or updates) can be written directly into the chunk.
+        // Otherwise, i.e. when updating an already loaded chunk via an imposter, they need to go through the level, in order to be synced to clients.
+        final boolean writeToChunk = chunk instanceof ProtoChunk && !(chunk instanceof ImposterProtoChunk);
+
+        // First, sample noise and temperature for all columns at once
+        final int[] surfaceHeights = new int[16 * 16];
+        for (int localZ = 0; localZ < 16; localZ++)
+        {
+            for (int localX = 0; localX < 16; localX++)
+            {
+                // Match the level's height query, which is one above the chunk's heightmap
+                surfaceHeights[localX + 16 * localZ] = chunk.getHeight(Heightmap.Types.MOTION_BLOCKING, localX, localZ) + 1;
+            }
+        }
+        final ChunkColumns columns = sampleColumns(chunkPos, chunkData, surfaceHeights, Calendars.SERVER);
+
+        // Then, apply changes column by column
+        for (int localZ = 0; localZ < 16; localZ++)
         {
-            for (int z = chunkPos.getMinBlockZ(); z <= chunkPos.getMaxBlockZ(); z++)
+            for (int localX = 0; localX < 16; localX++)
             {
-                mutablePos.set(x, level.getHeight(Heightmap.Types.MOTION_BLOCKING, x, z), z);
+                final int index = localX + 16 * localZ;
+                final int x = chunkPos.getMinBlockX() + localX, z = chunkPos.getMinBlockZ() + localZ;
+                mutablePos.set(x, surfaceHeights[index], z);
 
-                final float noise = snowPatchNoise.noise(x, z);
-                final float temperature = OverworldClimateModel.getTemperature(mutablePos, chunkData, Calendars.SERVER);
+                final float temperature = columns.temperatures[index];
                 final float snowTemperatureModifier = Mth.clampedMap(temperature, -10f, 2f, -1, 1);
 
                 // Handle snow
-                BlockState stateAt = level.getBlockState(mutablePos);
-                if (snowTemperatureModifier + noise < 0)
+                BlockState stateAt = chunk.getBlockState(mutablePos);
+                if (snowTemperatureModifier + columns.snowNoise[index] < 0)
                 {
                     // Snow
                     if (stateAt.isAir() && snowState.canSurvive(level, mutablePos))
                     {
                         // Place snow
-                        level.setBlock(mutablePos, Blocks.SNOW.defaultBlockState(), 2);
+                        setBlock(level, chunk, writeToChunk, mutablePos, snowState);
                         mutablePos.move(Direction.DOWN);
-                        level.setBlock(mutablePos, Helpers.setProperty(level.getBlockState(mutablePos), SnowyDirtBlock.SNOWY, true), 2);
+                        setBlock(level, chunk, writeToChunk, mutablePos, Helpers.setProperty(chunk.getBlockState(mutablePos), SnowyDirtBlock.SNOWY, true));
                         mutablePos.move(Direction.UP);
                     }
                     else if (SnowPileBlock.canPlaceSnowPile(level, mutablePos, stateAt))
@@ -232,17 +258,17 @@ public class OverworldClimateModel implements WorldGenClimateModel
 
                 // Handle ice
                 mutablePos.move(Direction.DOWN);
-                stateAt = level.getBlockState(mutablePos);
+                stateAt = chunk.getBlockState(mutablePos);
 
                 if (EnvironmentHelpers.isWater(stateAt) || EnvironmentHelpers.isIce(stateAt))
                 {
                     final float temperatureModifier, waterDepthModifier;
-                    final float threshold = icePatchNoise.noise(x * 0.2f, z * 0.2f) + Mth.clamp(temperature * 0.1f, -0.2f, 0.2f);
+                    final float threshold = columns.iceNoise[index] + Mth.clamp(temperature * 0.1f, -0.2f, 0.2f);
 
                     if (Helpers.isBlock(stateAt, Blocks.ICE) || Helpers.isBlock(stateAt, Blocks.WATER))
                     {
                         // Fresh water areas don't freeze over in deep water
-                        final int waterDepth = mutablePos.getY() - level.getHeight(Heightmap.Types.OCEAN_FLOOR_WG, x, z);
+                        final int waterDepth = mutablePos.getY() - (chunk.getHeight(Heightmap.Types.OCEAN_FLOOR_WG, localX, localZ) + 1);
                         waterDepthModifier = Mth.clampedMap(waterDepth, 0, 5, 0, 1);
 
                         // And have a fairly conservative freezing threshold
@@ -261,7 +287,7 @@ public class OverworldClimateModel implements WorldGenClimateModel
                         // Sea Ice, Ice, or Ice Pile
                         if (Helpers.isBlock(stateAt, TFCBlocks.SALT_WATER.get()))
                         {
-                            level.setBlock(mutablePos, TFCBlocks.SEA_ICE.get().defaultBlockState(), 2);
+                            setBlock(level, chunk, writeToChunk, mutablePos, TFCBlocks.SEA_ICE.get().defaultBlockState());
                         }
                         else // Fresh water
                         {
@@ -295,7 +321,72 @@ public class OverworldClimateModel implements WorldGenClimateModel
             this.climateSeed = OptionalLong.of(climateSeed);
             this.snowPatchNoise = new OpenSimplex2D(climateSeed + 72397489123L).octaves(2).spread(0.3f).scaled(-1, 1);
             this.icePatchNoise = new OpenSimplex2D(climateSeed + 192639412341L).octaves(3).spread(0.6f);
+            this.lastTerms = this.previousTerms = null; // Daily temperature depends on the climate seed
+        }
+    }
+
+    /**
+     * Samples the snow and ice noise, and the temperature at the given surface heights, for every column in a chunk.
+     * The calendar dependent terms, and the monthly temperature for each row of the chunk, are only computed once.
+     *
+     * @param surfaceHeights The y level of each column, indexed by {@code x + 16 * z}, where temperature is sampled.
+     */
+    ChunkColumns sampleColumns(ChunkPos chunkPos, ChunkData chunkData, int[] surfaceHeights, ICalendar calendar)
+    {
+        final float[] temperatures = new float[16 * 16];
+        final float[] snowNoise = new float[16 * 16];
+        final float[] iceNoise = new float[16 * 16];
+
+        final CalendarTerms terms = getCalendarTerms(calendar.getCalendarTicks(), calendar.getCalendarDaysInMonth());
+        for (int localZ = 0; localZ < 16; localZ++)
+        {
+            final int z = chunkPos.getMinBlockZ() + localZ;
+            final float monthTemperature = calculateMonthlyTemperature(z, terms.monthFactor);
+            for (int localX = 0; localX < 16; localX++)
+            {
+                final int x = chunkPos.getMinBlockX() + localX, index = localX + 16 * localZ;
+                temperatures[index] = adjustTemperatureByElevation(surfaceHeights[index], chunkData.getAverageTemp(x, z), monthTemperature, terms.dailyTemperature);
+                snowNoise[index] = snowPatchNoise.noise(x, z);
+                iceNoise[index] = icePatchNoise.noise(x * 0.2f, z * 0.2f);
+            }
+        }
+        return new ChunkColumns(temperatures, snowNoise, iceNoise);
+    }
+
+    private void setBlock(WorldGenLevel level, ChunkAccess chunk, boolean writeToChunk, BlockPos pos, BlockState state)
+    {
+        if (writeToChunk)
+        {
+            chunk.setBlockState(pos, state, false);
+        }
+        else
+        {
+            level.setBlock(pos, state, 2);
+        }
+    }
+
+    private CalendarTerms getCalendarTerms(long calendarTicks, int daysInMonth)
+    {
+        final CalendarTerms last = lastTerms;
+        if (last != null && last.matches(calendarTicks, daysInMonth))
+        {
+            return last;
+        }
+        final CalendarTerms previous = previousTerms;
+        if (previous != null && previous.matches(calendarTicks, daysInMonth))
+        {
+            return previous;
         }
+
+        // Month temperature
+        final Month currentMonth = ICalendar.getMonthOfYear(calendarTicks, daysInMonth);
+        final float delta = ICalendar.getFractionOfMonth(calendarTicks, daysInMonth);
+        final float monthFactor = Mth.lerp(delta, currentMonth.getTemperatureModifier(), currentMonth.next().getTemperatureModifier());
+
+        final CalendarTerms terms = new CalendarTerms(calendarTicks, daysInMonth, monthFactor, calculateDailyTemperature(calendarTicks));
+        previousTerms = last;
+        lastTerms = terms;
+        return terms;
     }
 
     /**
@@ -366,4 +457,14 @@ public class OverworldClimateModel implements WorldGenClimateModel
         seed = LinearCongruentialGenerator.next(seed, salt);
         return new Random(seed);
     }
+
+    record ChunkColumns(float[] temperatures, float[] snowNoise, float[] iceNoise) {}
+
+    record CalendarTerms(long calendarTicks, int daysInMonth, float monthFactor, float dailyTemperature)
+    {
+        boolean matches(long calendarTicks, int daysInMonth)
+        {
+            return this.calendarTicks == calendarTicks && this.daysInMonth == daysInMonth;
+        }
+    }
 }
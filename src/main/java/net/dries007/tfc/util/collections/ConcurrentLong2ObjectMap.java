@@ -0,0 +1,300 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.util.collections;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.util.Mth;
+
+import it.unimi.dsi.fastutil.HashCommon;
+
+/**
+ * An open addressed, {@code long} keyed map, with linear probing, which is safe for any number of concurrent readers.
+ * <ul>
+ *     <li>Reads are optimistic, and take no lock in the common case. They are validated against a {@link StampedLock}, and retried under a read lock if a write happened concurrently.</li>
+ *     <li>Writes are exclusive, and serialized with each other.</li>
+ *     <li>The map is bounded by a maximum size. Once full, new keys are rejected (but existing keys can still be updated). The bound is supplied lazily so it may come from a config value.</li>
+ * </ul>
+ * Null values are not permitted, as they are used to mark empty slots.
+ */
+public class ConcurrentLong2ObjectMap<V>
+{
+    private static final int MIN_CAPACITY = 16;
+
+    private final StampedLock lock = new StampedLock();
+    private final Supplier<Integer> maxSize;
+
+    private Table<V> table;
+    private int size;
+
+    public ConcurrentLong2ObjectMap(Supplier<Integer> maxSize)
+    {
+        this.maxSize = maxSize;
+        this.table = new Table<>(MIN_CAPACITY);
+    }
+
+    @Nullable
+    public V get(long key)
+    {
+        final long stamp = lock.tryOptimisticRead();
+        if (stamp != 0)
+        {
+            // The result may be garbage if a write happened in between, but the lookup is always bounded, and is discarded if the stamp is invalid
+            final V value = table.get(key);
+            if (lock.validate(stamp))
+            {
+                return value;
+            }
+        }
+
+        final long readStamp = lock.readLock();
+        try
+        {
+            return table.get(key);
+        }
+        finally
+        {
+            lock.unlockRead(readStamp);
+        }
+    }
+
+    /**
+     * @return {@code true} if the value was inserted, or {@code false} if the key was not present, and the map was already at capacity.
+     */
+    public boolean put(long key, V value)
+    {
+        final long stamp = lock.writeLock();
+        try
+        {
+            return putInternal(key, value);
+        }
+        finally
+        {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * If the map is at capacity, the new value is still returned, but is not stored.
+     */
+    public V computeIfAbsent(long key, LongFunction<V> mappingFunction)
+    {
+        final V existing = get(key);
+        if (existing != null)
+        {
+            return existing;
+        }
+
+        final long stamp = lock.writeLock();
+        try
+        {
+            V value = table.get(key);
+            if (value == null)
+            {
+                value = mappingFunction.apply(key);
+                putInternal(key, value);
+            }
+            return value;
+        }
+        finally
+        {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Nullable
+    public V remove(long key)
+    {
+        final long stamp = lock.writeLock();
+        try
+        {
+            final V value = table.remove(key);
+            if (value != null)
+            {
+                size--;
+            }
+            return value;
+        }
+        finally
+        {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void clear()
+    {
+        final long stamp = lock.writeLock();
+        try
+        {
+            table = new Table<>(MIN_CAPACITY);
+            size = 0;
+        }
+        finally
+        {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    private boolean putInternal(long key, V value)
+    {
+        if (table.replace(key, value))
+        {
+            return true;
+        }
+        if (size >= maxSize.get())
+        {
+            return false;
+        }
+        if (2 * (size + 1) > table.values.length)
+        {
+            // Maintain a load factor of at most 0.5, to keep probe sequences short
+            final Table<V> newTable = new Table<>(table.values.length << 1);
+            table.forEach(newTable::insert);
+            table = newTable;
+        }
+        table.insert(key, value);
+        size++;
+        return true;
+    }
+
+    static final class Table<V>
+    {
+        final long[] keys;
+        final V[] values;
+        final int mask;
+
+        @SuppressWarnings("unchecked")
+        Table(int capacity)
+        {
+            capacity = Mth.smallestEncompassingPowerOfTwo(capacity);
+            this.keys = new long[capacity];
+            this.values = (V[]) new Object[capacity];
+            this.mask = capacity - 1;
+        }
+
+        @Nullable
+        V get(long key)
+        {
+            int index = index(key);
+            for (int probes = 0; probes <= mask; probes++)
+            {
+                final V value = values[index];
+                if (value == null)
+                {
+                    return null;
+                }
+                if (keys[index] == key)
+                {
+                    return value;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        boolean replace(long key, V value)
+        {
+            int index = index(key);
+            while (values[index] != null)
+            {
+                if (keys[index] == key)
+                {
+                    values[index] = value;
+                    return true;
+                }
+                index = (index + 1) & mask;
+            }
+            return false;
+        }
+
+        void insert(long key, V value)
+        {
+            int index = index(key);
+            while (values[index] != null)
+            {
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            values[index] = value;
+        }
+
+        @Nullable
+        V remove(long key)
+        {
+            int index = index(key);
+            while (values[index] != null)
+            {
+                if (keys[index] == key)
+                {
+                    final V value = values[index];
+                    shiftKeys(index);
+                    return value;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        void forEach(Consumer<V> consumer)
+        {
+            for (int i = 0; i <= mask; i++)
+            {
+                if (values[i] != null)
+                {
+                    consumer.accept(keys[i], values[i]);
+                }
+            }
+        }
+
+        /**
+         * Backwards shift deletion, which avoids the need for tombstones in a linear probing table.
+         */
+        private void shiftKeys(int index)
+        {
+            while (true)
+            {
+                final int last = index;
+                index = (index + 1) & mask;
+                while (true)
+                {
+                    if (values[index] == null)
+                    {
+                        values[last] = null;
+                        return;
+                    }
+                    final int slot = index(keys[index]);
+                    if (last <= index ? (last >= slot || slot > index) : (last >= slot && slot > index))
+                    {
+                        break;
+                    }
+                    index = (index + 1) & mask;
+                }
+                keys[last] = keys[index];
+                values[last] = values[index];
+            }
+        }
+
+        private int index(long key)
+        {
+            return (int) HashCommon.mix(key) & mask;
+        }
+    }
+
+    @FunctionalInterface
+    interface Consumer<V>
+    {
+        void accept(long key, V value);
+    }
+}
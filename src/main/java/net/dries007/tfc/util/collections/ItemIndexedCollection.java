@@ -0,0 +1,121 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.util.collections;
+
+import java.util.*;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.core.Registry;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+
+/**
+ * A specialization of {@link IndirectHashCollection} for items, which on reload is compiled into a flat array indexed by the item's registry id.
+ * In addition, each candidate is marked if it only depends on the item (and not the count, tag, or capabilities) of a stack. For those candidates, as the item is already known to match, the per-stack {@code matches} check can be skipped entirely.
+ * <p>
+ * This is used for lookups which happen on every item stack capability attach, i.e. every stack copy and network decode.
+ */
+public class ItemIndexedCollection<R> extends IndirectHashCollection<Item, R>
+{
+    /**
+     * @return {@code true} if the ingredient is a plain vanilla ingredient, whose test depends only on the item of a stack.
+     */
+    public static boolean isItemOnly(Ingredient ingredient)
+    {
+        return ingredient.getClass() == Ingredient.class;
+    }
+
+    private static final Entry EMPTY = new Entry(new Object[0], new boolean[0]);
+
+    private final Function<R, Iterable<? extends Item>> keyExtractor;
+    private final Predicate<R> itemOnly;
+    private Entry[] entries;
+
+    public ItemIndexedCollection(Function<R, Iterable<? extends Item>> keyExtractor, Predicate<R> itemOnly)
+    {
+        super(keyExtractor);
+        this.keyExtractor = keyExtractor;
+        this.itemOnly = itemOnly;
+        this.entries = new Entry[0];
+    }
+
+    @Override
+    public void reload(Collection<R> results)
+    {
+        // The indirect map in the parent is not populated, as all queries go through the compiled entries
+        final Map<Item, List<R>> byItem = new IdentityHashMap<>();
+        int maxId = -1;
+        for (R result : results)
+        {
+            for (Item item : keyExtractor.apply(result))
+            {
+                byItem.computeIfAbsent(item, key -> new ArrayList<>()).add(result);
+                maxId = Math.max(maxId, Registry.ITEM.getId(item));
+            }
+        }
+
+        final Entry[] newEntries = new Entry[maxId + 1];
+        byItem.forEach((item, candidates) -> {
+            final Object[] values = candidates.toArray();
+            final boolean[] flags = new boolean[values.length];
+            for (int i = 0; i < values.length; i++)
+            {
+                flags[i] = itemOnly.test(candidates.get(i));
+            }
+            newEntries[Registry.ITEM.getId(item)] = new Entry(values, flags);
+        });
+        entries = newEntries;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Collection<R> getAll(Item key)
+    {
+        return (List<R>) (List<?>) Arrays.asList(entry(key).values);
+    }
+
+    /**
+     * @return The first candidate, in order of insertion, for the stack's item which matches the stack, or {@code null} if none do.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public R getFirst(ItemStack stack, BiPredicate<R, ItemStack> matcher)
+    {
+        final Entry entry = entry(stack.getItem());
+        final boolean canSkipMatch = !stack.isEmpty();
+        for (int i = 0; i < entry.values.length; i++)
+        {
+            final R candidate = (R) entry.values[i];
+            if ((canSkipMatch && entry.itemOnly[i]) || matcher.test(candidate, stack))
+            {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private Entry entry(Item item)
+    {
+        final Entry[] entries = this.entries;
+        final int id = Registry.ITEM.getId(item);
+        if (id >= 0 && id < entries.length)
+        {
+            final Entry entry = entries[id];
+            if (entry != null)
+            {
+                return entry;
+            }
+        }
+        return EMPTY;
+    }
+
+    private record Entry(Object[] values, boolean[] itemOnly) {}
+}
@@ -6,25 +6,44 @@
 
 package net.dries007.tfc.util.tracker;
 
-import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.core.BlockPos;
 import net.minecraftforge.common.util.INBTSerializable;
 
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+
+/**
+ * A collapse in progress. Each step checks all {@code nextPositions}, and positions which collapse mark the position above them for the following step.
+ * A step may be split over several ticks, in which case {@code cursor} is the index of the next position to check.
+ * Positions are stored as {@link BlockPos#asLong()}.
+ */
 public class Collapse implements INBTSerializable<CompoundTag>
 {
     BlockPos centerPos;
-    List<BlockPos> nextPositions;
+    LongList nextPositions;
+    LongSet updatedPositions;
+    int cursor;
     double radiusSquared;
+    long dueTick;
 
     public Collapse(BlockPos centerPos, List<BlockPos> nextPositions, double radiusSquared)
     {
         this.centerPos = centerPos;
-        this.nextPositions = nextPositions;
+        this.nextPositions = new LongArrayList(nextPositions.size());
+        this.updatedPositions = new LongOpenHashSet();
+        this.cursor = 0;
         this.radiusSquared = radiusSquared;
+        this.dueTick = 0;
+
+        for (BlockPos pos : nextPositions)
+        {
+            this.nextPositions.add(pos.asLong());
+        }
     }
 
     public Collapse(CompoundTag nbt)
@@ -32,12 +51,21 @@ public class Collapse implements INBTSerializable<CompoundTag>
         deserializeNBT(nbt);
     }
 
+    /**
+     * @return The number of positions remaining to be checked in the current step.
+     */
+    int remaining()
+    {
+        return nextPositions.size() - cursor;
+    }
+
     @Override
     public CompoundTag serializeNBT()
     {
         CompoundTag nbt = new CompoundTag();
         nbt.putLong("centerPos", centerPos.asLong());
-        nbt.putLongArray("nextPositions", nextPositions.stream().mapToLong(BlockPos::asLong).toArray());
+        nbt.putLongArray("nextPositions", nextPositions.subList(cursor, nextPositions.size()).toLongArray());
+        nbt.putLongArray("updatedPositions", updatedPositions.toLongArray());
         nbt.putDouble("radiusSquared", radiusSquared);
         return nbt;
     }
@@ -46,7 +74,10 @@ public class Collapse implements INBTSerializable<CompoundTag>
     public void deserializeNBT(CompoundTag nbt)
     {
         centerPos = BlockPos.of(nbt.getLong("centerPos"));
-        nextPositions = Arrays.stream(nbt.getLongArray("nextPositions")).mapToObj(BlockPos::of).collect(Collectors.toList());
+        nextPositions = new LongArrayList(nbt.getLongArray("nextPositions"));
+        updatedPositions = new LongOpenHashSet(nbt.getLongArray("updatedPositions"));
+        cursor = 0;
         radiusSquared = nbt.getDouble("radiusSquared");
+        dueTick = 0; // Resume immediately
     }
-}
\ No newline at end of file
+}
@@ -38,5 +38,27 @@ public interface IWorldTracker
      */
     void addCollapsePositions(BlockPos centerPos, Collection<BlockPos> positions);
 
+    /**
+     * @return The index of support blocks in this world.
+     */
+    SupportIndex getSupportIndex();
+
+    /**
+     * @return Statistics about collapses and landslides, as of the most recent tick.
+     */
+    CollapseStats getCollapseStats();
+
     void tick(Level world);
+
+    /**
+     * Collapses and landslides are processed under a per-tick budget. Any work which is due, but did not fit in the budget, is deferred to the following tick.
+     *
+     * @param collapseBlocksQueued    The number of collapse positions waiting to be checked.
+     * @param collapseBlocksProcessed The number of collapse positions checked in the last tick.
+     * @param collapseBlocksDeferred  The number of collapse positions which were due, but deferred, in the last tick.
+     */
+    record CollapseStats(int collapseBlocksQueued, int collapseBlocksProcessed, int collapseBlocksDeferred, int landslidesQueued, int landslidesProcessed, int landslidesDeferred)
+    {
+        public static final CollapseStats EMPTY = new CollapseStats(0, 0, 0, 0, 0, 0);
+    }
 }
\ No newline at end of file
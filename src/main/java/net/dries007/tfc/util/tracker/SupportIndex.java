@@ -0,0 +1,191 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.util.tracker;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.dries007.tfc.util.Support;
+
+/**
+ * An index of the positions of all {@link Support} blocks, per chunk, so support queries don't need to scan every block within the maximum support range.
+ * <ul>
+ *     <li>Each chunk is indexed when it is loaded, by scanning only the sections which may contain a support block. A chunk which is queried before it is indexed (such as after a reload of supports) is loaded, as a block lookup would, and indexed then.</li>
+ *     <li>The index is updated on every block change in an indexed chunk (see {@link net.dries007.tfc.mixin.LevelChunkMixin}), and dropped on chunk unload. It is not saved, as it can be cheaply rebuilt.</li>
+ *     <li>On a reload of supports, every index is invalidated.</li>
+ * </ul>
+ * As every block change passes through the chunk, the index is authoritative: queries only visit the indexed supports, and never read the level.
+ */
+public class SupportIndex
+{
+    private static int reloadCount = 0;
+
+    /**
+     * Called when support definitions are reloaded, which invalidates all existing indexes.
+     */
+    public static void invalidateAll()
+    {
+        reloadCount++;
+    }
+
+    @Nullable
+    public static SupportIndex get(BlockGetter level)
+    {
+        if (level instanceof Level realLevel && !realLevel.isClientSide())
+        {
+            return realLevel.getCapability(WorldTrackerCapability.CAPABILITY).map(IWorldTracker::getSupportIndex).orElse(null);
+        }
+        return null;
+    }
+
+    private final Long2ObjectMap<Long2ObjectMap<Support>> chunks = new Long2ObjectOpenHashMap<>();
+    private int lastReloadCount = reloadCount;
+
+    /**
+     * Updates the index for a single block change. Has no effect if the chunk is not yet indexed.
+     */
+    public void onBlockChanged(BlockPos pos, BlockState state)
+    {
+        final Long2ObjectMap<Support> chunk = chunks.get(ChunkPos.asLong(SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getZ())));
+        if (chunk != null)
+        {
+            final Support support = Support.get(state);
+            if (support != null)
+            {
+                chunk.put(pos.asLong(), support);
+            }
+            else
+            {
+                chunk.remove(pos.asLong());
+            }
+        }
+    }
+
+    public void onChunkUnloaded(ChunkPos pos)
+    {
+        chunks.remove(pos.toLong());
+    }
+
+    /**
+     * Indexes a chunk, replacing any existing entries for it.
+     */
+    public void onChunkLoaded(ChunkAccess chunk)
+    {
+        final ChunkPos pos = chunk.getPos();
+        chunks.put(pos.toLong(), indexChunk(chunk));
+    }
+
+    /**
+     * Visits every support block within the given (inclusive) box.
+     */
+    public void forEachSupport(Level level, int minX, int minY, int minZ, int maxX, int maxY, int maxZ, SupportConsumer consumer)
+    {
+        forEachSupport(level::getChunk, minX, minY, minZ, maxX, maxY, maxZ, consumer);
+    }
+
+    /**
+     * Visits every support block within the given (inclusive) box.
+     *
+     * @param chunkGetter Used to load any chunk in the box which is not yet indexed.
+     */
+    public void forEachSupport(ChunkGetter chunkGetter, int minX, int minY, int minZ, int maxX, int maxY, int maxZ, SupportConsumer consumer)
+    {
+        if (lastReloadCount != reloadCount)
+        {
+            chunks.clear();
+            lastReloadCount = reloadCount;
+        }
+
+        final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+        for (int chunkX = SectionPos.blockToSectionCoord(minX); chunkX <= SectionPos.blockToSectionCoord(maxX); chunkX++)
+        {
+            for (int chunkZ = SectionPos.blockToSectionCoord(minZ); chunkZ <= SectionPos.blockToSectionCoord(maxZ); chunkZ++)
+            {
+                final long key = ChunkPos.asLong(chunkX, chunkZ);
+                Long2ObjectMap<Support> chunk = chunks.get(key);
+                if (chunk == null)
+                {
+                    chunk = indexChunk(chunkGetter.getChunk(chunkX, chunkZ));
+                    chunks.put(key, chunk);
+                }
+                if (chunk.isEmpty())
+                {
+                    continue;
+                }
+
+                for (Long2ObjectMap.Entry<Support> entry : Long2ObjectMaps.fastIterable(chunk))
+                {
+                    final long pos = entry.getLongKey();
+                    final int x = BlockPos.getX(pos), y = BlockPos.getY(pos), z = BlockPos.getZ(pos);
+                    if (x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ)
+                    {
+                        cursor.set(x, y, z);
+                        consumer.accept(cursor, entry.getValue());
+                    }
+                }
+            }
+        }
+    }
+
+    private Long2ObjectMap<Support> indexChunk(ChunkAccess chunk)
+    {
+        final Long2ObjectMap<Support> index = new Long2ObjectOpenHashMap<>();
+        final ChunkPos pos = chunk.getPos();
+        final LevelChunkSection[] sections = chunk.getSections();
+        for (int i = 0; i < sections.length; i++)
+        {
+            final LevelChunkSection section = sections[i];
+            if (section.hasOnlyAir() || !section.maybeHas(state -> Support.get(state) != null))
+            {
+                continue;
+            }
+
+            final int minY = SectionPos.sectionToBlockCoord(chunk.getSectionYFromSectionIndex(i));
+            for (int y = 0; y < 16; y++)
+            {
+                for (int z = 0; z < 16; z++)
+                {
+                    for (int x = 0; x < 16; x++)
+                    {
+                        final Support support = Support.get(section.getBlockState(x, y, z));
+                        if (support != null)
+                        {
+                            index.put(BlockPos.asLong(pos.getMinBlockX() + x, minY + y, pos.getMinBlockZ() + z), support);
+                        }
+                    }
+                }
+            }
+        }
+        return index;
+    }
+
+    @FunctionalInterface
+    public interface ChunkGetter
+    {
+        ChunkAccess getChunk(int chunkX, int chunkZ);
+    }
+
+    @FunctionalInterface
+    public interface SupportConsumer
+    {
+        /**
+         * @param pos The position of the support. This is mutable, and must be copied if it is retained.
+         */
+        void accept(BlockPos pos, Support support);
+    }
+}
@@ -9,20 +9,26 @@ package net.dries007.tfc.util.tracker;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.core.BlockPos;
 
-public class TickEntry
+/**
+ * A position which is due to be processed at a specific game tick.
+ */
+public class TickEntry implements Comparable<TickEntry>
 {
     private final BlockPos pos;
-    private int ticks;
+    private final long dueTick;
 
-    public TickEntry(CompoundTag nbt)
+    /**
+     * Positions are saved with their remaining delay, rather than an absolute tick.
+     */
+    public TickEntry(CompoundTag nbt, long currentTick)
     {
-        this(BlockPos.of(nbt.getLong("pos")), nbt.getInt("ticks"));
+        this(BlockPos.of(nbt.getLong("pos")), currentTick + nbt.getInt("ticks"));
     }
 
-    public TickEntry(BlockPos pos, int ticks)
+    public TickEntry(BlockPos pos, long dueTick)
     {
         this.pos = pos;
-        this.ticks = ticks;
+        this.dueTick = dueTick;
     }
 
     public BlockPos getPos()
@@ -30,17 +36,22 @@ public class TickEntry
         return pos;
     }
 
-    public boolean tick()
+    public long getDueTick()
+    {
+        return dueTick;
+    }
+
+    @Override
+    public int compareTo(TickEntry other)
     {
-        this.ticks--;
-        return this.ticks == 0;
+        return Long.compare(dueTick, other.dueTick);
     }
 
-    public CompoundTag serializeNBT()
+    public CompoundTag serializeNBT(long currentTick)
     {
         CompoundTag nbt = new CompoundTag();
         nbt.putLong("pos", pos.asLong());
-        nbt.putInt("ticks", ticks);
+        nbt.putInt("ticks", (int) Math.max(0, dueTick - currentTick));
         return nbt;
     }
 }
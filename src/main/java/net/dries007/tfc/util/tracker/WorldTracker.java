@@ -40,22 +40,34 @@ public class WorldTracker implements IWorldTracker, ICapabilitySerializable<Comp
     private final Random random = new Random();
 
     private final LazyOptional<IWorldTracker> capability;
-    private final BufferedList<TickEntry> landslideTicks;
+    private final PriorityQueue<TickEntry> landslideTicks;
+    private final ArrayDeque<TickEntry> dueLandslides; // Landslides which are due, in order, but did not yet fit in the budget
     private final BufferedList<BlockPos> isolatedPositions;
-    private final List<Collapse> collapsesInProgress;
+    private final PriorityQueue<Collapse> collapsesInProgress;
+    private final ArrayDeque<Collapse> dueCollapses; // Collapses with a step which is due, in order, but did not yet fit in the budget
+    private final SupportIndex supportIndex;
+
+    private long currentTick;
+    private int collapseBlocksQueued, dueCollapseBlocks; // Running totals of remaining positions, in all collapses, and in due collapses
+    private CollapseStats collapseStats;
 
     public WorldTracker()
     {
         this.capability = LazyOptional.of(() -> this);
-        this.landslideTicks = new BufferedList<>();
+        this.landslideTicks = new PriorityQueue<>();
+        this.dueLandslides = new ArrayDeque<>();
         this.isolatedPositions = new BufferedList<>();
-        this.collapsesInProgress = new ArrayList<>();
+        this.collapsesInProgress = new PriorityQueue<>(Comparator.comparingLong(collapse -> collapse.dueTick));
+        this.dueCollapses = new ArrayDeque<>();
+        this.supportIndex = new SupportIndex();
+        this.currentTick = 0;
+        this.collapseStats = CollapseStats.EMPTY;
     }
 
     @Override
     public void addLandslidePos(BlockPos pos)
     {
-        landslideTicks.add(new TickEntry(pos, 2));
+        landslideTicks.add(new TickEntry(pos, currentTick + 2));
     }
 
     @Override
@@ -67,7 +79,9 @@ public class WorldTracker implements IWorldTracker, ICapabilitySerializable<Comp
     @Override
     public void addCollapseData(Collapse collapse)
     {
+        collapse.dueTick = currentTick + nextCollapseStepDelay();
         collapsesInProgress.add(collapse);
+        collapseBlocksQueued += collapse.remaining();
     }
 
     @Override
@@ -90,51 +104,27 @@ public class WorldTracker implements IWorldTracker, ICapabilitySerializable<Comp
         addCollapseData(new Collapse(centerPos, collapsePositions, maxRadiusSquared));
     }
 
+    @Override
+    public SupportIndex getSupportIndex()
+    {
+        return supportIndex;
+    }
+
+    @Override
+    public CollapseStats getCollapseStats()
+    {
+        return collapseStats;
+    }
+
     public void tick(Level level)
     {
         if (!level.isClientSide())
         {
-            if (!collapsesInProgress.isEmpty() && random.nextInt(10) == 0)
-            {
-                for (Collapse collapse : collapsesInProgress)
-                {
-                    Set<BlockPos> updatedPositions = new HashSet<>();
-                    for (BlockPos posAt : collapse.nextPositions)
-                    {
-                        // Check the current position for collapsing
-                        BlockState stateAt = level.getBlockState(posAt);
-                        if (Helpers.isBlock(stateAt, TFCTags.Blocks.CAN_COLLAPSE) && TFCFallingBlockEntity.canFallThrough(level, posAt.below()) && posAt.distSqr(collapse.centerPos) < collapse.radiusSquared && random.nextFloat() < TFCConfig.SERVER.collapsePropagateChance.get())
-                        {
-                            if (CollapseRecipe.collapseBlock(level, posAt, stateAt))
-                            {
-                                // This column has started to collapse. Mark the next block above as unstable for the "follow up"
-                                updatedPositions.add(posAt.above());
-                            }
-                        }
-                    }
-                    collapse.nextPositions.clear();
-                    if (!updatedPositions.isEmpty())
-                    {
-                        level.playSound(null, collapse.centerPos, TFCSounds.ROCK_SLIDE_SHORT.get(), SoundSource.BLOCKS, 0.6f, 1.0f);
-                        collapse.nextPositions.addAll(updatedPositions);
-                        collapse.radiusSquared *= 0.8; // lower radius each successive time
-                    }
-                }
-                collapsesInProgress.removeIf(collapse -> collapse.nextPositions.isEmpty());
-            }
+            currentTick = level.getGameTime();
 
-            landslideTicks.flush();
-            Iterator<TickEntry> tickIterator = landslideTicks.listIterator();
-            while (tickIterator.hasNext())
-            {
-                TickEntry entry = tickIterator.next();
-                if (entry.tick())
-                {
-                    final BlockState currentState = level.getBlockState(entry.getPos());
-                    LandslideRecipe.tryLandslide(level, entry.getPos(), currentState);
-                    tickIterator.remove();
-                }
-            }
+            final int collapseBlocks = tickCollapses(level);
+            final int landslides = tickLandslides(level);
+            collapseStats = new CollapseStats(collapseBlocksQueued, collapseBlocks, dueCollapseBlocks, landslideTicks.size() + dueLandslides.size(), landslides, dueLandslides.size());
 
             isolatedPositions.flush();
             Iterator<BlockPos> isolatedIterator = isolatedPositions.listIterator();
@@ -151,17 +141,110 @@ public class WorldTracker implements IWorldTracker, ICapabilitySerializable<Comp
         }
     }
 
+    /**
+     * Checks collapse positions which are due, up to the per-tick budget. A step which runs out of budget is resumed on the following tick, before any other collapses.
+     * Collapses are moved to {@code dueCollapses} once due, so the positions waiting on the budget can be counted as they are moved, rather than by walking the queue every tick.
+     *
+     * @return The number of collapse positions checked this tick.
+     */
+    private int tickCollapses(Level level)
+    {
+        while (!collapsesInProgress.isEmpty() && collapsesInProgress.peek().dueTick <= currentTick)
+        {
+            final Collapse collapse = collapsesInProgress.poll();
+            dueCollapses.add(collapse);
+            dueCollapseBlocks += collapse.remaining();
+        }
+
+        final int budget = TFCConfig.SERVER.collapseBlocksPerTick.get();
+        int processed = 0;
+        while (processed < budget && !dueCollapses.isEmpty())
+        {
+            final Collapse collapse = dueCollapses.peek();
+            while (processed < budget && collapse.cursor < collapse.nextPositions.size())
+            {
+                // Check the current position for collapsing
+                final long packedPos = collapse.nextPositions.getLong(collapse.cursor++);
+                final BlockPos posAt = BlockPos.of(packedPos);
+                final BlockState stateAt = level.getBlockState(posAt);
+                processed++;
+                if (Helpers.isBlock(stateAt, TFCTags.Blocks.CAN_COLLAPSE) && TFCFallingBlockEntity.canFallThrough(level, posAt.below()) && posAt.distSqr(collapse.centerPos) < collapse.radiusSquared && random.nextFloat() < TFCConfig.SERVER.collapsePropagateChance.get())
+                {
+                    if (CollapseRecipe.collapseBlock(level, posAt, stateAt))
+                    {
+                        // This column has started to collapse. Mark the next block above as unstable for the "follow up"
+                        collapse.updatedPositions.add(BlockPos.offset(packedPos, Direction.UP));
+                    }
+                }
+            }
+
+            // Otherwise, out of budget, so the rest of this step stays at the front of the due collapses for the next tick
+            if (collapse.remaining() == 0)
+            {
+                dueCollapses.poll();
+                collapse.nextPositions.clear();
+                collapse.cursor = 0;
+                if (!collapse.updatedPositions.isEmpty())
+                {
+                    level.playSound(null, collapse.centerPos, TFCSounds.ROCK_SLIDE_SHORT.get(), SoundSource.BLOCKS, 0.6f, 1.0f);
+                    collapse.nextPositions.addAll(collapse.updatedPositions);
+                    collapse.updatedPositions.clear();
+                    collapse.radiusSquared *= 0.8; // lower radius each successive time
+                    collapse.dueTick = currentTick + nextCollapseStepDelay();
+                    collapsesInProgress.add(collapse);
+                    collapseBlocksQueued += collapse.remaining();
+                }
+            }
+        }
+        collapseBlocksQueued -= processed;
+        dueCollapseBlocks -= processed;
+        return processed;
+    }
+
+    /**
+     * @return The number of landslides attempted this tick.
+     */
+    private int tickLandslides(Level level)
+    {
+        while (!landslideTicks.isEmpty() && landslideTicks.peek().getDueTick() <= currentTick)
+        {
+            dueLandslides.add(landslideTicks.poll());
+        }
+
+        final int budget = TFCConfig.SERVER.landslidesPerTick.get();
+        int processed = 0;
+        while (processed < budget && !dueLandslides.isEmpty())
+        {
+            final TickEntry entry = dueLandslides.poll();
+            final BlockState currentState = level.getBlockState(entry.getPos());
+            LandslideRecipe.tryLandslide(level, entry.getPos(), currentState);
+            processed++;
+        }
+        return processed;
+    }
+
+    /**
+     * Collapses advance one step roughly every 10 ticks, on average.
+     */
+    private int nextCollapseStepDelay()
+    {
+        return 1 + random.nextInt(19);
+    }
+
     @Override
     public CompoundTag serializeNBT()
     {
-        landslideTicks.flush();
         isolatedPositions.flush();
 
         CompoundTag nbt = new CompoundTag();
         ListTag landslideNbt = new ListTag();
+        for (TickEntry entry : dueLandslides)
+        {
+            landslideNbt.add(entry.serializeNBT(currentTick));
+        }
         for (TickEntry entry : landslideTicks)
         {
-            landslideNbt.add(entry.serializeNBT());
+            landslideNbt.add(entry.serializeNBT(currentTick));
         }
         nbt.put("landslideTicks", landslideNbt);
 
@@ -169,6 +252,10 @@ public class WorldTracker implements IWorldTracker, ICapabilitySerializable<Comp
         nbt.put("isolatedPositions", isolatedNbt);
 
         ListTag collapseNbt = new ListTag();
+        for (Collapse collapse : dueCollapses)
+        {
+            collapseNbt.add(collapse.serializeNBT());
+        }
         for (Collapse collapse : collapsesInProgress)
         {
             collapseNbt.add(collapse.serializeNBT());
@@ -183,13 +270,16 @@ public class WorldTracker implements IWorldTracker, ICapabilitySerializable<Comp
         if (nbt != null)
         {
             landslideTicks.clear();
+            dueLandslides.clear();
             collapsesInProgress.clear();
+            dueCollapses.clear();
             isolatedPositions.clear();
+            collapseBlocksQueued = dueCollapseBlocks = 0;
 
             ListTag landslideNbt = nbt.getList("landslideTicks", Tag.TAG_COMPOUND);
             for (int i = 0; i < landslideNbt.size(); i++)
             {
-                landslideTicks.add(new TickEntry(landslideNbt.getCompound(i)));
+                landslideTicks.add(new TickEntry(landslideNbt.getCompound(i), currentTick));
             }
 
             long[] isolatedNbt = nbt.getLongArray("isolatedPositions");
@@ -198,7 +288,9 @@ public class WorldTracker implements IWorldTracker, ICapabilitySerializable<Comp
             ListTag collapseNbt = nbt.getList("collapsesInProgress", Tag.TAG_COMPOUND);
             for (int i = 0; i < collapseNbt.size(); i++)
             {
-                collapsesInProgress.add(new Collapse(collapseNbt.getCompound(i)));
+                final Collapse collapse = new Collapse(collapseNbt.getCompound(i));
+                collapsesInProgress.add(collapse);
+                collapseBlocksQueued += collapse.remaining();
             }
         }
     }
@@ -21,6 +21,7 @@ public interface BiomeNoiseSampler
         return new BiomeNoiseSampler()
         {
             private float height;
+            private float[] heights = new float[0];
 
             @Override
             public void setColumn(int x, int z)
@@ -28,6 +29,19 @@ public interface BiomeNoiseSampler
                 height = heightNoise.noise(x, z);
             }
 
+            @Override
+            public void fillColumns(int x0, int z0, int width, int height, int step)
+            {
+                heights = BiomeNoiseSampler.ensureCapacity(heights, width * height);
+                heightNoise.fill(heights, x0, z0, width, height, step);
+            }
+
+            @Override
+            public void selectColumn(int x, int z, int index)
+            {
+                height = heights[index];
+            }
+
             @Override
             public double height()
             {
@@ -47,6 +61,7 @@ public interface BiomeNoiseSampler
         return new BiomeNoiseSampler()
         {
             private float height, carvingHeight, carvingCenter;
+            private float[] heights = new float[0], carvingHeights = new float[0], carvingCenters = new float[0];
 
             @Override
             public void setColumn(int x, int z)
@@ -56,6 +71,26 @@ public interface BiomeNoiseSampler
                 carvingCenter = carvingCenterNoise.noise(x, z);
             }
 
+            @Override
+            public void fillColumns(int x0, int z0, int width, int height, int step)
+            {
+                final int size = width * height;
+                heights = BiomeNoiseSampler.ensureCapacity(heights, size);
+                carvingHeights = BiomeNoiseSampler.ensureCapacity(carvingHeights, size);
+                carvingCenters = BiomeNoiseSampler.ensureCapacity(carvingCenters, size);
+                heightNoise.fill(heights, x0, z0, width, height, step);
+                carvingHeightNoise.fill(carvingHeights, x0, z0, width, height, step);
+                carvingCenterNoise.fill(carvingCenters, x0, z0, width, height, step);
+            }
+
+            @Override
+            public void selectColumn(int x, int z, int index)
+            {
+                height = heights[index];
+                carvingHeight = carvingHeights[index];
+                carvingCenter = carvingCenters[index];
+            }
+
             @Override
             public double height()
             {
@@ -71,8 +106,34 @@ public interface BiomeNoiseSampler
         };
     }
 
+    /**
+     * Samplers are created for each chunk (see {@code TFCChunkGenerator#createBiomeSamplersForChunk}), so buffers grown by this are only reused between the grids filled for a single chunk, not between chunks.
+     *
+     * @return {@code buffer}, if it has at least {@code size} elements, otherwise a new buffer of that size.
+     */
+    static float[] ensureCapacity(float[] buffer, int size)
+    {
+        return buffer.length >= size ? buffer : new float[size];
+    }
+
     void setColumn(int x, int z);
 
+    /**
+     * Samples a grid of columns at once, which is much faster than sampling each column individually. The grid is the same as used by {@link Noise2D#fill(float[], int, int, int, int, int)}.
+     * Afterwards, {@link #selectColumn(int, int, int)} may be used to select any column within the grid.
+     */
+    default void fillColumns(int x0, int z0, int width, int height, int step) {}
+
+    /**
+     * Equivalent to {@link #setColumn(int, int)}, for a column within the grid passed to the last call to {@link #fillColumns(int, int, int, int, int)}.
+     *
+     * @param index The index of the column within the grid, {@code dx + width * dz}.
+     */
+    default void selectColumn(int x, int z, int index)
+    {
+        setColumn(x, z);
+    }
+
     double height();
 
     /**
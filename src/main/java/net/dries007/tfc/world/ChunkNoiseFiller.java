@@ -6,10 +6,10 @@
 
 package net.dries007.tfc.world;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import net.minecraft.Util;
 import net.minecraft.core.BlockPos;
@@ -25,8 +25,8 @@ import net.minecraft.world.level.levelgen.Heightmap;
 import net.minecraft.world.level.material.FluidState;
 import net.minecraft.world.level.material.Fluids;
 
-import it.unimi.dsi.fastutil.objects.Object2DoubleMap;
-import it.unimi.dsi.fastutil.objects.Object2DoubleOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceSet;
 import net.dries007.tfc.common.fluids.RiverWaterFluid;
 import net.dries007.tfc.common.fluids.TFCFluids;
 import net.dries007.tfc.world.biome.BiomeVariants;
@@ -60,6 +60,13 @@ public class ChunkNoiseFiller
 
     public static final int EXTERIOR_POINTS_COUNT = EXTERIOR_POINTS.length >> 1;
 
+    // Channels of the noise interpolator
+    private static final int NOISE_CAVES = 0;
+    private static final int NOODLE_TOGGLE = 1;
+    private static final int NOODLE_THICKNESS = 2;
+    private static final int NOODLE_RIDGE_A = 3;
+    private static final int NOODLE_RIDGE_B = 4;
+
     // Initialized from the chunk
     private final LevelAccessor level;
     private final ProtoChunk chunk;
@@ -76,26 +83,18 @@ public class ChunkNoiseFiller
 
     // Noise interpolation
     private final ChunkNoiseSamplingSettings settings;
-    private final List<TrilinearInterpolator> interpolators;
-
-    // Noise Caves
-    private final TrilinearInterpolator noiseCaves;
-
-    // Noodle Caves
-    private final TrilinearInterpolator noodleToggle;
-    private final TrilinearInterpolator noodleThickness;
-    private final TrilinearInterpolator noodleRidgeA;
-    private final TrilinearInterpolator noodleRidgeB;
+    private final TrilinearInterpolator interpolator; // Noise and noodle caves, with the noodle thickness and ridges dependent on the noodle toggle
 
     // Aquifer + Noise -> BlockState
     private final TFCAquifer aquifer;
     private final ChunkBaseBlockSource baseBlockSource;
 
     private final Map<BiomeVariants, BiomeNoiseSampler> biomeNoiseSamplers; // Biome -> Noise Samplers
-    private final Object2DoubleMap<BiomeNoiseSampler> columnBiomeNoiseSamplers; // Per column weighted map of biome noises samplers
+    private final WeightMap<BiomeNoiseSampler> columnBiomeNoiseSamplers; // Per column weighted map of biome noises samplers
+    private final ReferenceSet<BiomeNoiseSampler> filledBiomeNoiseSamplers; // Samplers which have been filled for every column in the chunk
 
-    private final Object2DoubleMap<Biome>[] sampledBiomeWeights; // 7x7 array of biome weights, at quart pos resolution
-    private final Object2DoubleMap<Biome> biomeWeights1; // Local biome weights, for individual column adjustment
+    private final WeightMap<Biome>[] sampledBiomeWeights; // 7x7 array of biome weights, at quart pos resolution
+    private final WeightMap<Biome> biomeWeights1; // Local biome weights, for individual column adjustment
 
     private final int[] surfaceHeight; // 16x16, block pos resolution
     private final Biome[] localBiomes; // 16x16, block pos resolution
@@ -106,7 +105,7 @@ public class ChunkNoiseFiller
     private double cellDeltaX, cellDeltaZ; // Delta within a noise cell
     private int lastCellZ; // Last cell Z, needed due to a quick in noise interpolator
 
-    public ChunkNoiseFiller(LevelAccessor level, ProtoChunk chunk, Object2DoubleMap<Biome>[] sampledBiomeWeights, RiverSource riverSource, Map<BiomeVariants, BiomeNoiseSampler> biomeNoiseSamplers, NoiseSampler sampler, ChunkBaseBlockSource baseBlockSource, ChunkNoiseSamplingSettings settings, int seaLevel)
+    public ChunkNoiseFiller(LevelAccessor level, ProtoChunk chunk, WeightMap<Biome>[] sampledBiomeWeights, RiverSource riverSource, Map<BiomeVariants, BiomeNoiseSampler> biomeNoiseSamplers, NoiseSampler sampler, ChunkBaseBlockSource baseBlockSource, ChunkNoiseSamplingSettings settings, int seaLevel)
     {
         this.level = level;
         this.chunk = chunk;
@@ -124,25 +123,23 @@ public class ChunkNoiseFiller
         this.flows = buildFlowMap();
 
         this.settings = settings;
-        this.interpolators = new ArrayList<>();
+        this.interpolator = new TrilinearInterpolator(settings, new TrilinearInterpolator.Source[] {
+            sampler.noiseCaves,
+            sampler.noodleToggle,
+            sampler.noodleThickness,
+            sampler.noodleRidgeA,
+            sampler.noodleRidgeB
+        }, NOODLE_TOGGLE, 3);
         this.baseBlockSource = baseBlockSource;
 
-        // Noise Caves
-        this.noiseCaves = addInterpolator(sampler.noiseCaves);
-
-        // Noodle Caves
-        this.noodleToggle = addInterpolator(sampler.noodleToggle);
-        this.noodleThickness = addInterpolator(sampler.noodleThickness);
-        this.noodleRidgeA = addInterpolator(sampler.noodleRidgeA);
-        this.noodleRidgeB = addInterpolator(sampler.noodleRidgeB);
-
         // Aquifer
         this.aquifer = new TFCAquifer(chunk.getPos(), settings, baseBlockSource, seaLevel, sampler.positionalRandomFactory, sampler.barrierNoise);
 
         this.biomeNoiseSamplers = biomeNoiseSamplers;
-        this.columnBiomeNoiseSamplers = new Object2DoubleOpenHashMap<>();
+        this.columnBiomeNoiseSamplers = new WeightMap<>();
+        this.filledBiomeNoiseSamplers = new ReferenceOpenHashSet<>();
         this.sampledBiomeWeights = sampledBiomeWeights;
-        this.biomeWeights1 = new Object2DoubleOpenHashMap<>();
+        this.biomeWeights1 = new WeightMap<>();
 
         this.surfaceHeight = new int[16 * 16];
         this.localBiomes = new Biome[16 * 16];
@@ -170,18 +167,36 @@ public class ChunkNoiseFiller
         final double[] sampledHeight = new double[11 * 11];
         final int[] aquiferSurfaceHeights = aquifer.getSurfaceHeights();
 
+        // First, find the biome at each point, and sample each biome's noise over the whole grid at once
+        final BiomeVariants[] sampledVariants = new BiomeVariants[11 * 11];
+        final ReferenceSet<BiomeNoiseSampler> samplers = new ReferenceOpenHashSet<>();
+        for (int x = 0; x < 11; x++)
+        {
+            for (int z = 0; z < 11; z++)
+            {
+                final Biome biome = biomeSampler.get(chunkMinX - 32 + (x << 3), chunkMinZ - 32 + (z << 3));
+                final BiomeVariants variants = TFCBiomes.getExtensionOrThrow(level, biome).variants();
+
+                sampledVariants[x + 11 * z] = variants;
+                samplers.add(biomeNoiseSamplers.get(variants));
+            }
+        }
+        for (BiomeNoiseSampler sampler : samplers)
+        {
+            sampler.fillColumns(chunkMinX - 32, chunkMinZ - 32, 11, 11, 8);
+        }
+
         for (int x = 0; x < 11; x++)
         {
             for (int z = 0; z < 11; z++)
             {
                 final int actualX = chunkMinX - 32 + (x << 3);
                 final int actualZ = chunkMinZ - 32 + (z << 3);
-                final Biome biome = biomeSampler.get(actualX, actualZ);
-                final BiomeVariants variants = TFCBiomes.getExtensionOrThrow(level, biome).variants();
+                final BiomeVariants variants = sampledVariants[x + 11 * z];
 
                 final BiomeNoiseSampler sampler = biomeNoiseSamplers.get(variants);
 
-                sampler.setColumn(actualX, actualZ);
+                sampler.selectColumn(actualX, actualZ, x + 11 * z);
 
                 double aquiferSurfaceHeight = variants.getAquiferSurfaceHeight(sampler.height());
                 if (aquiferSurfaceHeight > seaLevel)
@@ -239,11 +254,32 @@ public class ChunkNoiseFiller
         return localBiomes;
     }
 
+    /**
+     * Samples every noise interpolator for the entire chunk ahead of {@link #fillFromNoise()}, split into vertical bands of cells, each of which is run on the provided executor. This must be able to run tasks concurrently for the bands to run in parallel.
+     * Each band samples a disjoint range of every slice, and each sample is identical to one the column sweep would take, so the chunk is filled identically to sampling serially.
+     */
+    public CompletableFuture<Void> sampleInterpolatorsAsync(Executor executor, int bands)
+    {
+        interpolator.allocateSlices();
+
+        final int cellCountY = settings.cellCountY() + 1;
+        final int actualBands = Math.min(bands, cellCountY);
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[actualBands];
+        for (int band = 0; band < actualBands; band++)
+        {
+            final int minCellY = band * cellCountY / actualBands;
+            final int maxCellY = (band + 1) * cellCountY / actualBands;
+            futures[band] = CompletableFuture.runAsync(() -> interpolator.fillSlices(minCellY, maxCellY), executor);
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
     /**
      * Fills the entire chunk
      */
     public void fillFromNoise()
     {
+        fillBiomeNoiseSamplers();
         initializeForFirstCellX();
         final BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
         for (int cellX = 0; cellX < settings.cellCountXZ(); cellX++)
@@ -275,6 +311,30 @@ public class ChunkNoiseFiller
         }
     }
 
+    /**
+     * Samples every biome noise sampler that may contribute to any column within the chunk, for all columns at once.
+     * Any biome with weight in a column is present in one of the surrounding quart positions, which are the inner 5x5 of the sampled biome weights.
+     */
+    private void fillBiomeNoiseSamplers()
+    {
+        filledBiomeNoiseSamplers.clear();
+        for (int x = 1; x <= 5; x++)
+        {
+            for (int z = 1; z <= 5; z++)
+            {
+                final WeightMap<Biome> weights = sampledBiomeWeights[x + 7 * z];
+                for (int i = 0; i < weights.size(); i++)
+                {
+                    final BiomeNoiseSampler sampler = biomeNoiseSamplers.get(TFCBiomes.getExtensionOrThrow(level, weights.key(i)).variants());
+                    if (filledBiomeNoiseSamplers.add(sampler))
+                    {
+                        sampler.fillColumns(chunkMinX, chunkMinZ, 16, 16, 1);
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * Builds a 6x6, 4x4 resolution slope map for a chunk
      * This is enough to do basic linear interpolation for every point within the chunk.
@@ -527,10 +587,10 @@ public class ChunkNoiseFiller
         final double lerpZ = (localZ - ((localZ >> 2) << 2)) * (1 / 4d);
 
         biomeWeights1.clear();
-        TFCChunkGenerator.sampleBiomesCornerContribution(biomeWeights1, sampledBiomeWeights[index4X + index4Z * 7], (1 - lerpX) * (1 - lerpZ));
-        TFCChunkGenerator.sampleBiomesCornerContribution(biomeWeights1, sampledBiomeWeights[(index4X + 1) + index4Z * 7], lerpX * (1 - lerpZ));
-        TFCChunkGenerator.sampleBiomesCornerContribution(biomeWeights1, sampledBiomeWeights[index4X + (index4Z + 1) * 7], (1 - lerpX) * lerpZ);
-        TFCChunkGenerator.sampleBiomesCornerContribution(biomeWeights1, sampledBiomeWeights[(index4X + 1) + (index4Z + 1) * 7], lerpX * lerpZ);
+        biomeWeights1.addScaled(sampledBiomeWeights[index4X + index4Z * 7], (1 - lerpX) * (1 - lerpZ));
+        biomeWeights1.addScaled(sampledBiomeWeights[(index4X + 1) + index4Z * 7], lerpX * (1 - lerpZ));
+        biomeWeights1.addScaled(sampledBiomeWeights[index4X + (index4Z + 1) * 7], (1 - lerpX) * lerpZ);
+        biomeWeights1.addScaled(sampledBiomeWeights[(index4X + 1) + (index4Z + 1) * 7], lerpX * lerpZ);
     }
 
     /**
@@ -539,7 +599,7 @@ public class ChunkNoiseFiller
      * @param updateArrays If the local biome and height arrays should be updated, if we are sampling within the chunk
      * @return The maximum height at this location
      */
-    private double sampleColumnHeightAndBiome(Object2DoubleMap<Biome> biomeWeights, boolean updateArrays)
+    private double sampleColumnHeightAndBiome(WeightMap<Biome> biomeWeights, boolean updateArrays)
     {
         columnBiomeNoiseSamplers.clear();
 
@@ -552,21 +612,25 @@ public class ChunkNoiseFiller
         Biome oceanicBiomeAt = null;
         double oceanicWeight = 0, maxOceanicWeight = 0; // Partition on ocean/non-ocean or water type.
 
-        for (Object2DoubleMap.Entry<Biome> entry : biomeWeights.object2DoubleEntrySet())
+        for (int i = 0; i < biomeWeights.size(); i++)
         {
-            final double weight = entry.getDoubleValue();
-            final BiomeVariants variants = TFCBiomes.getExtensionOrThrow(level, entry.getKey()).variants();
+            final Biome biome = biomeWeights.key(i);
+            final double weight = biomeWeights.weight(i);
+            final BiomeVariants variants = TFCBiomes.getExtensionOrThrow(level, biome).variants();
             final BiomeNoiseSampler sampler = biomeNoiseSamplers.get(variants);
 
-            if (columnBiomeNoiseSamplers.containsKey(sampler))
-            {
-                columnBiomeNoiseSamplers.mergeDouble(sampler, weight, Double::sum);
-            }
-            else
+            if (columnBiomeNoiseSamplers.indexOf(sampler) == -1)
             {
-                sampler.setColumn(blockX, blockZ);
-                columnBiomeNoiseSamplers.put(sampler, weight);
+                if (updateArrays && filledBiomeNoiseSamplers.contains(sampler))
+                {
+                    sampler.selectColumn(blockX, blockZ, localX + 16 * localZ);
+                }
+                else
+                {
+                    sampler.setColumn(blockX, blockZ);
+                }
             }
+            columnBiomeNoiseSamplers.add(sampler, weight);
 
             double height = weight * sampler.height();
             totalHeight += height;
@@ -578,7 +642,7 @@ public class ChunkNoiseFiller
                 riverWeight += weight;
                 if (maxRiverWeight < weight)
                 {
-                    riverBiomeAt = entry.getKey();
+                    riverBiomeAt = biome;
                     maxRiverWeight = weight;
                 }
             }
@@ -588,13 +652,13 @@ public class ChunkNoiseFiller
                 shoreWeight += weight;
                 if (maxShoreWeight < weight)
                 {
-                    shoreBiomeAt = entry.getKey();
+                    shoreBiomeAt = biome;
                     maxShoreWeight = weight;
                 }
             }
             else if (maxNormalWeight < weight)
             {
-                normalBiomeAt = entry.getKey();
+                normalBiomeAt = biome;
                 maxNormalWeight = weight;
             }
 
@@ -604,7 +668,7 @@ public class ChunkNoiseFiller
                 oceanicWeight += weight;
                 if (maxOceanicWeight < weight)
                 {
-                    oceanicBiomeAt = entry.getKey();
+                    oceanicBiomeAt = biome;
                     maxOceanicWeight = weight;
                 }
             }
@@ -680,11 +744,10 @@ public class ChunkNoiseFiller
     private double calculateNoiseAtHeight(int y, double heightNoiseValue)
     {
         double noise = 0;
-        for (Object2DoubleMap.Entry<BiomeNoiseSampler> entry : columnBiomeNoiseSamplers.object2DoubleEntrySet())
+        for (int i = 0; i < columnBiomeNoiseSamplers.size(); i++)
         {
             // Positive values = air
-            final BiomeNoiseSampler sampler = entry.getKey();
-            noise += sampler.noise(y) * entry.getDoubleValue();
+            noise += columnBiomeNoiseSamplers.key(i).noise(y) * columnBiomeNoiseSamplers.weight(i);
         }
 
         noise = BiomeNoiseSampler.AIR_THRESHOLD - noise; // Positive noise = solid
@@ -704,17 +767,17 @@ public class ChunkNoiseFiller
     public BlockState calculateBlockStateAtNoise(int x, int y, int z, double terrainNoise)
     {
         double terrainAndCaveNoise = terrainNoise;
-        if (noodleToggle.sample() >= 0)
+        if (interpolator.sample(NOODLE_TOGGLE) >= 0)
         {
-            final double thickness = Mth.clampedMap(noodleThickness.sample(), -1, 1, 0.05, 0.1);
-            final double ridgeA = Math.abs(1.5 * noodleRidgeA.sample()) - thickness;
-            final double ridgeB = Math.abs(1.5 * noodleRidgeB.sample()) - thickness;
+            final double thickness = Mth.clampedMap(interpolator.sample(NOODLE_THICKNESS), -1, 1, 0.05, 0.1);
+            final double ridgeA = Math.abs(1.5 * interpolator.sample(NOODLE_RIDGE_A)) - thickness;
+            final double ridgeB = Math.abs(1.5 * interpolator.sample(NOODLE_RIDGE_B)) - thickness;
             final double ridge = Math.max(ridgeA, ridgeB);
 
             terrainAndCaveNoise = Math.min(terrainAndCaveNoise, ridge);
         }
 
-        terrainAndCaveNoise = Math.min(terrainAndCaveNoise, noiseCaves.sample());
+        terrainAndCaveNoise = Math.min(terrainAndCaveNoise, interpolator.sample(NOISE_CAVES));
 
         final BlockState aquiferState = aquifer.sampleState(x, y, z, terrainAndCaveNoise);
         return Objects.requireNonNullElseGet(aquiferState, () -> baseBlockSource.getBaseBlock(x, y, z));
@@ -722,7 +785,7 @@ public class ChunkNoiseFiller
     }
 
     /**
-     * Initializes enough to call {@link #sampleColumnHeightAndBiome(Object2DoubleMap, boolean)}
+     * Initializes enough to call {@link #sampleColumnHeightAndBiome(WeightMap, boolean)}
      */
     private void setupColumn(int x, int z)
     {
@@ -734,40 +797,33 @@ public class ChunkNoiseFiller
 
     // Noise Interpolator helper methods
 
-    private TrilinearInterpolator addInterpolator(TrilinearInterpolator.Source source)
-    {
-        final TrilinearInterpolator interpolator = new TrilinearInterpolator(settings, source);
-        interpolators.add(interpolator);
-        return interpolator;
-    }
-
     private void initializeForFirstCellX()
     {
-        interpolators.forEach(TrilinearInterpolator::initializeForFirstCellX);
+        interpolator.initializeForFirstCellX();
     }
 
     private void advanceCellX(final int cellX)
     {
-        interpolators.forEach(i -> i.advanceCellX(cellX));
+        interpolator.advanceCellX(cellX);
     }
 
     private void selectCellYZ(final int cellY, final int cellZ)
     {
-        interpolators.forEach(i -> i.selectCellYZ(cellY, cellZ));
+        interpolator.selectCellYZ(cellY, cellZ);
     }
 
     private void updateForXZ(final double x, final double z)
     {
-        interpolators.forEach(i -> i.updateForXZ(x, z));
+        interpolator.updateForXZ(x, z);
     }
 
     private void updateForY(final double y)
     {
-        interpolators.forEach(i -> i.updateForY(y));
+        interpolator.updateForY(y);
     }
 
     private void swapSlices()
     {
-        interpolators.forEach(TrilinearInterpolator::swapSlices);
+        interpolator.swapSlices();
     }
 }
@@ -6,7 +6,6 @@
 
 package net.dries007.tfc.world;
 
-import java.util.Arrays;
 import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.util.Mth;
@@ -16,13 +15,12 @@ import it.unimi.dsi.fastutil.HashCommon;
 
 /**
  * A concurrent (safe to read and write between multiple threads) positional based, lossy, cache.
+ * <p>
+ * This is lock-free: each slot holds an immutable {@link Entry}, which pairs the key and value. Since both fields are final, a reader that observes an entry is guaranteed to observe its complete contents (JLS 17.5), so a key can never be paired with another key's value. Concurrent writes to the same slot simply race, and the loser is evicted, which is fine for a lossy cache.
  */
 public class FastConcurrentCache<T>
 {
-    private final Object lock = new Object();
-
-    private final long[] keys;
-    private final T[] values;
+    private final Entry<T>[] entries;
     private final int mask;
 
     @SuppressWarnings("unchecked")
@@ -31,23 +29,17 @@ public class FastConcurrentCache<T>
         size = Mth.smallestEncompassingPowerOfTwo(size);
 
         this.mask = size - 1;
-        this.keys = new long[size];
-        this.values = (T[]) new Object[size];
-
-        Arrays.fill(this.keys, Long.MIN_VALUE);
+        this.entries = (Entry<T>[]) new Entry[size];
     }
 
     @Nullable
     public T getIfPresent(int x, int z)
     {
         final long key = ChunkPos.asLong(x, z);
-        final int index = (int) HashCommon.mix(key) & mask;
-        synchronized (lock)
+        final Entry<T> entry = entries[index(key)];
+        if (entry != null && entry.key == key)
         {
-            if (keys[index] == key)
-            {
-                return values[index];
-            }
+            return entry.value;
         }
         return null;
     }
@@ -55,11 +47,13 @@ public class FastConcurrentCache<T>
     public void set(int x, int z, T value)
     {
         final long key = ChunkPos.asLong(x, z);
-        final int index = (int) HashCommon.mix(key) & mask;
-        synchronized (lock)
-        {
-            keys[index] = key;
-            values[index] = value;
-        }
+        entries[index(key)] = new Entry<>(key, value);
     }
+
+    private int index(long key)
+    {
+        return (int) HashCommon.mix(key) & mask;
+    }
+
+    private record Entry<T>(long key, T value) {}
 }
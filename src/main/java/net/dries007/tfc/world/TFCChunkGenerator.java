@@ -14,6 +14,7 @@ import java.util.function.Supplier;
 import java.util.function.ToIntFunction;
 
 import com.google.common.collect.ImmutableMap;
+import net.minecraft.Util;
 import net.minecraft.core.*;
 import net.minecraft.resources.RegistryOps;
 import net.minecraft.server.level.WorldGenRegion;
@@ -34,9 +35,7 @@ import net.minecraft.world.level.levelgen.synth.NormalNoise;
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.DataResult;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
-import it.unimi.dsi.fastutil.objects.Object2DoubleMap;
-import it.unimi.dsi.fastutil.objects.Object2DoubleOpenHashMap;
-import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.dries007.tfc.config.TFCConfig;
 import net.dries007.tfc.mixin.accessor.ChunkAccessAccessor;
 import net.dries007.tfc.world.biome.*;
 import net.dries007.tfc.world.chunkdata.ChunkData;
@@ -78,40 +77,42 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
      * - 50% River: Group "River", which is replaced with 40% * (10% River) / 10%
      * - Result: 18% Plains, 24% Mountains, 18% Hills, 40% River
      */
-    public static <T> void composeSampleWeights(Object2DoubleMap<T> weightMap, Object2DoubleMap<T> groupWeightMap, ToIntFunction<T> groupFunction, int groups)
+    public static <T> void composeSampleWeights(WeightMap<T> weightMap, WeightMap<T> groupWeightMap, ToIntFunction<T> groupFunction, int groups)
     {
         // First, we need to calculate the maximum weight per group
         double[] maxWeights = new double[groups];
-        for (Object2DoubleMap.Entry<T> entry : groupWeightMap.object2DoubleEntrySet())
+        for (int i = 0; i < groupWeightMap.size(); i++)
         {
-            int group = groupFunction.applyAsInt(entry.getKey());
+            int group = groupFunction.applyAsInt(groupWeightMap.key(i));
             if (group != -1)
             {
-                maxWeights[group] += entry.getDoubleValue();
+                maxWeights[group] += groupWeightMap.weight(i);
             }
         }
 
         // Then, we iterate through the smaller weight map and identify the actual weight that needs to be replaced with each group
         double[] actualWeights = new double[groups];
-        ObjectIterator<Object2DoubleMap.Entry<T>> iterator = weightMap.object2DoubleEntrySet().iterator();
-        while (iterator.hasNext())
+        for (int i = 0; i < weightMap.size(); )
         {
-            Object2DoubleMap.Entry<T> entry = iterator.next();
-            int group = groupFunction.applyAsInt(entry.getKey());
+            int group = groupFunction.applyAsInt(weightMap.key(i));
             if (group != -1)
             {
-                actualWeights[group] += entry.getDoubleValue();
-                iterator.remove();
+                actualWeights[group] += weightMap.weight(i);
+                weightMap.removeAt(i);
+            }
+            else
+            {
+                i++;
             }
         }
 
         // Finally, insert the weights for each group as a portion of the actual weight
-        for (Object2DoubleMap.Entry<T> entry : groupWeightMap.object2DoubleEntrySet())
+        for (int i = 0; i < groupWeightMap.size(); i++)
         {
-            int group = groupFunction.applyAsInt(entry.getKey());
+            int group = groupFunction.applyAsInt(groupWeightMap.key(i));
             if (group != -1 && actualWeights[group] > 0 && maxWeights[group] > 0)
             {
-                weightMap.put(entry.getKey(), entry.getDoubleValue() * actualWeights[group] / maxWeights[group]);
+                weightMap.put(groupWeightMap.key(i), groupWeightMap.weight(i) * actualWeights[group] / maxWeights[group]);
             }
         }
     }
@@ -124,17 +125,6 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
         return new TFCChunkGenerator(structures, parameters, TFCBiomeSource.defaultBiomeSource(seed, biomeRegistry), noiseGeneratorSettings, false, seed);
     }
 
-    public static void sampleBiomesCornerContribution(Object2DoubleMap<Biome> accumulator, Object2DoubleMap<Biome> corner, double t)
-    {
-        if (t > 0)
-        {
-            for (Object2DoubleMap.Entry<Biome> entry : corner.object2DoubleEntrySet())
-            {
-                accumulator.mergeDouble(entry.getKey(), entry.getDoubleValue() * t, Double::sum);
-            }
-        }
-    }
-
     private static Map<BiomeVariants, Supplier<BiomeNoiseSampler>> collectBiomeNoiseSamplers(long seed)
     {
         final ImmutableMap.Builder<BiomeVariants, Supplier<BiomeNoiseSampler>> builder = ImmutableMap.builder();
@@ -156,26 +146,26 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
      * @param groupFunction A function to access a {@link BiomeVariants.Group} from a {@link Biome}.
      * @return A 7x7 array of sampled biome weights, at quart pos resolution, where the (0, 0) index aligns to the (-1, -1) quart position relative to the target chunk.
      */
-    private static Object2DoubleMap<Biome>[] sampleBiomes(ChunkPos pos, Sampler<Biome> biomeSampler, Function<Biome, BiomeVariants.Group> groupFunction)
+    private static WeightMap<Biome>[] sampleBiomes(ChunkPos pos, Sampler<Biome> biomeSampler, Function<Biome, BiomeVariants.Group> groupFunction)
     {
         // First, sample biomes at chunk distance, in a 4x4 grid centered on the target chunk.
         // These are used to build the large-scale biome blending radius
-        final Object2DoubleMap<Biome>[] chunkBiomeWeightArray = newWeightArray(4 * 4);
+        final WeightMap<Biome>[] chunkBiomeWeightArray = newWeightArray(4 * 4);
         final int chunkX = pos.getMinBlockX(), chunkZ = pos.getMinBlockZ(); // Block coordinates
         for (int x = 0; x < 4; x++)
         {
             for (int z = 0; z < 4; z++)
             {
                 // x, z = 0, 0 is the -1, -1 chunk relative to chunkX, chunkZ
-                final Object2DoubleMap<Biome> chunkBiomeWeight = new Object2DoubleOpenHashMap<>();
+                final WeightMap<Biome> chunkBiomeWeight = new WeightMap<>();
                 chunkBiomeWeightArray[x | (z << 2)] = chunkBiomeWeight;
                 sampleBiomesAtPositionWithKernel(chunkBiomeWeight, biomeSampler, KERNEL_9x9, 4, chunkX, chunkZ, x - 1, z - 1);
             }
         }
 
         // A 7x7 grid, in quart positions relative to the target chunk, where (1, 1) is the target chunk origin.
-        final Object2DoubleMap<Biome>[] quartBiomeWeightArray = newWeightArray(7 * 7);
-        final Object2DoubleMap<Biome> chunkBiomeWeight = new Object2DoubleOpenHashMap<>(), wideQuartBiomeWeight = new Object2DoubleOpenHashMap<>();
+        final WeightMap<Biome>[] quartBiomeWeightArray = newWeightArray(7 * 7);
+        final WeightMap<Biome> chunkBiomeWeight = new WeightMap<>(), wideQuartBiomeWeight = new WeightMap<>();
 
         for (int x = 0; x < 7; x++)
         {
@@ -200,10 +190,10 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
                 final int index16X = ((x1 - chunkX) >> 4) + 1; // Index into chunkBiomeWeightArray
                 final int index16Z = ((z1 - chunkZ) >> 4) + 1;
 
-                sampleBiomesCornerContribution(chunkBiomeWeight, chunkBiomeWeightArray[index16X | (index16Z << 2)], (1 - lerpX) * (1 - lerpZ));
-                sampleBiomesCornerContribution(chunkBiomeWeight, chunkBiomeWeightArray[(index16X + 1) | (index16Z << 2)], lerpX * (1 - lerpZ));
-                sampleBiomesCornerContribution(chunkBiomeWeight, chunkBiomeWeightArray[index16X | ((index16Z + 1) << 2)], (1 - lerpX) * lerpZ);
-                sampleBiomesCornerContribution(chunkBiomeWeight, chunkBiomeWeightArray[(index16X + 1) | ((index16Z + 1) << 2)], lerpX * lerpZ);
+                chunkBiomeWeight.addScaled(chunkBiomeWeightArray[index16X | (index16Z << 2)], (1 - lerpX) * (1 - lerpZ));
+                chunkBiomeWeight.addScaled(chunkBiomeWeightArray[(index16X + 1) | (index16Z << 2)], lerpX * (1 - lerpZ));
+                chunkBiomeWeight.addScaled(chunkBiomeWeightArray[index16X | ((index16Z + 1) << 2)], (1 - lerpX) * lerpZ);
+                chunkBiomeWeight.addScaled(chunkBiomeWeightArray[(index16X + 1) | ((index16Z + 1) << 2)], lerpX * lerpZ);
 
                 // Compose chunk weights -> wide quart weights.
                 composeSampleWeights(wideQuartBiomeWeight, chunkBiomeWeight, biome -> {
@@ -212,7 +202,7 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
                 }, BiomeVariants.Group.SIZE);
 
                 // Same as wideQuartBiomeWeight, but only with a sample radius of 2, rather than 4
-                final Object2DoubleMap<Biome> quartBiomeWeight = new Object2DoubleOpenHashMap<>();
+                final WeightMap<Biome> quartBiomeWeight = new WeightMap<>();
                 sampleBiomesAtPositionWithKernel(quartBiomeWeight, biomeSampler, KERNEL_5x5, 2, chunkX, chunkZ, x - 1, z - 1);
 
                 composeSampleWeights(quartBiomeWeight, wideQuartBiomeWeight, biome -> {
@@ -226,7 +216,7 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
         return quartBiomeWeightArray;
     }
 
-    private static void sampleBiomesAtPositionWithKernel(Object2DoubleMap<Biome> weights, Sampler<Biome> biomeSampler, Kernel kernel, int kernelBits, int chunkX, int chunkZ, int xOffsetInKernelBits, int zOffsetInKernelBits)
+    private static void sampleBiomesAtPositionWithKernel(WeightMap<Biome> weights, Sampler<Biome> biomeSampler, Kernel kernel, int kernelBits, int chunkX, int chunkZ, int xOffsetInKernelBits, int zOffsetInKernelBits)
     {
         final int kernelRadius = kernel.radius();
         final int kernelWidth = kernel.width();
@@ -238,15 +228,15 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
                 final int blockX = chunkX + ((xOffsetInKernelBits + dx) << kernelBits); // Block positions
                 final int blockZ = chunkZ + ((zOffsetInKernelBits + dz) << kernelBits);
                 final Biome biome = biomeSampler.get(blockX, blockZ);
-                weights.mergeDouble(biome, weight, Double::sum);
+                weights.add(biome, weight);
             }
         }
     }
 
     @SuppressWarnings("unchecked")
-    private static <T> Object2DoubleMap<T>[] newWeightArray(int size)
+    private static <T> WeightMap<T>[] newWeightArray(int size)
     {
-        return (Object2DoubleMap<T>[]) new Object2DoubleMap[size]; // Avoid generic array warnings / errors
+        return (WeightMap<T>[]) new WeightMap[size]; // Avoid generic array warnings / errors
     }
 
     // Properties set from codec
@@ -435,35 +425,19 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
         final ChunkNoiseSamplingSettings settings = createNoiseSamplingSettingsForChunk(chunk);
         final LevelAccessor actualLevel = (LevelAccessor) ((ChunkAccessAccessor) chunk).accessor$getLevelHeightAccessor();
         final ChunkPos chunkPos = chunk.getPos();
-        final RandomSource random = new XoroshiroRandomSource(chunkPos.x * 1842639486192314L, chunkPos.z * 579238196380231L);
-        final ChunkData chunkData = chunkDataProvider.get(chunk);
-        final RockData rockData = chunkData.getRockData();
 
-        // Lock sections
-        final Set<LevelChunkSection> sections = new HashSet<>();
-        for (LevelChunkSection section : chunk.getSections())
-        {
-            section.acquire();
-            sections.add(section);
-        }
-
-        final Object2DoubleMap<Biome>[] biomeWeights = sampleBiomes(chunkPos, this::sampleBiomeIgnoreClimate, biome -> TFCBiomes.getExtensionOrThrow(actualLevel, biome).variants().getGroup());
+        final WeightMap<Biome>[] biomeWeights = sampleBiomes(chunkPos, this::sampleBiomeIgnoreClimate, biome -> TFCBiomes.getExtensionOrThrow(actualLevel, biome).variants().getGroup());
         final ChunkBaseBlockSource baseBlockSource = createBaseBlockSourceForChunk(chunk);
         final ChunkNoiseFiller filler = new ChunkNoiseFiller(actualLevel, (ProtoChunk) chunk, biomeWeights, customBiomeSource, createBiomeSamplersForChunk(), noiseSampler, baseBlockSource, settings, getSeaLevel());
 
-        filler.setupAquiferSurfaceHeight(this::sampleBiomeIgnoreClimate);
-        chunkData.setAquiferSurfaceHeight(filler.aquifer().getSurfaceHeights()); // Record this in the chunk data so caves can query it accurately
-        rockData.setSurfaceHeight(filler.getSurfaceHeight()); // Need to set this in the rock data before we can fill the chunk proper
-        filler.fillFromNoise();
-
-        aquiferCache.set(chunkPos.x, chunkPos.z, filler.aquifer());
-
-        // Unlock before surfaces are built, as they use locks directly
-        sections.forEach(LevelChunkSection::release);
-
-        surfaceManager.buildSurface(actualLevel, chunk, getRockLayerSettings(), chunkData, filler.getLocalBiomes(), filler.getSlopeMap(), random, getSeaLevel(), settings.minY());
-
-        return CompletableFuture.completedFuture(chunk);
+        final int bands = TFCConfig.COMMON.noiseSamplingBands.get();
+        if (bands > 1)
+        {
+            // Sample the cave noise in parallel first, then fill the chunk on whichever thread finishes last
+            // The provided executor is the chunk map's worldgen mailbox, which runs tasks one at a time, so the bands are dispatched to the background executor, as vanilla does
+            return filler.sampleInterpolatorsAsync(Util.backgroundExecutor(), bands).thenApply(v -> fillFromNoise(actualLevel, chunk, filler, settings));
+        }
+        return CompletableFuture.completedFuture(fillFromNoise(actualLevel, chunk, filler, settings));
     }
 
     @Override
@@ -529,6 +503,35 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
         }
     }
 
+    private ChunkAccess fillFromNoise(LevelAccessor actualLevel, ChunkAccess chunk, ChunkNoiseFiller filler, ChunkNoiseSamplingSettings settings)
+    {
+        final ChunkPos chunkPos = chunk.getPos();
+        final RandomSource random = new XoroshiroRandomSource(chunkPos.x * 1842639486192314L, chunkPos.z * 579238196380231L);
+        final ChunkData chunkData = chunkDataProvider.get(chunk);
+        final RockData rockData = chunkData.getRockData();
+
+        // Lock sections
+        final Set<LevelChunkSection> sections = new HashSet<>();
+        for (LevelChunkSection section : chunk.getSections())
+        {
+            section.acquire();
+            sections.add(section);
+        }
+
+        filler.setupAquiferSurfaceHeight(this::sampleBiomeIgnoreClimate);
+        chunkData.setAquiferSurfaceHeight(filler.aquifer().getSurfaceHeights()); // Record this in the chunk data so caves can query it accurately
+        rockData.setSurfaceHeight(filler.getSurfaceHeight()); // Need to set this in the rock data before we can fill the chunk proper
+        filler.fillFromNoise();
+
+        aquiferCache.set(chunkPos.x, chunkPos.z, filler.aquifer());
+
+        // Unlock before surfaces are built, as they use locks directly
+        sections.forEach(LevelChunkSection::release);
+
+        surfaceManager.buildSurface(actualLevel, chunk, getRockLayerSettings(), chunkData, filler.getLocalBiomes(), filler.getSlopeMap(), random, getSeaLevel(), settings.minY());
+        return chunk;
+    }
+
     private Biome sampleBiomeIgnoreClimate(int blockX, int blockZ)
     {
         return customBiomeSource.getNoiseBiomeIgnoreClimate(QuartPos.fromBlock(blockX), QuartPos.fromBlock(blockZ)).value();
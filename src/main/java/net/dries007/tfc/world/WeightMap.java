@@ -0,0 +1,134 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world;
+
+import java.util.Arrays;
+
+/**
+ * A small map of keys to weights, stored as two parallel arrays in insertion order, and compared by identity.
+ * Sampled weights rarely contain more than a handful of distinct keys (biomes, or biome noise samplers), for which a linear scan is faster than hashing, and iteration by index does not allocate.
+ */
+public final class WeightMap<T>
+{
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private Object[] keys;
+    private double[] weights;
+    private int size;
+
+    public WeightMap()
+    {
+        this.keys = new Object[DEFAULT_CAPACITY];
+        this.weights = new double[DEFAULT_CAPACITY];
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T key(int index)
+    {
+        return (T) keys[index];
+    }
+
+    public double weight(int index)
+    {
+        return weights[index];
+    }
+
+    /**
+     * @return The index of {@code key}, or -1 if not present.
+     */
+    public int indexOf(T key)
+    {
+        for (int i = 0; i < size; i++)
+        {
+            if (keys[i] == key)
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds {@code weight} to the existing weight of {@code key}, or inserts it if not present.
+     */
+    public void add(T key, double weight)
+    {
+        final int index = indexOf(key);
+        if (index != -1)
+        {
+            weights[index] += weight;
+        }
+        else
+        {
+            append(key, weight);
+        }
+    }
+
+    /**
+     * Replaces the weight of {@code key}, or inserts it if not present.
+     */
+    public void put(T key, double weight)
+    {
+        final int index = indexOf(key);
+        if (index != -1)
+        {
+            weights[index] = weight;
+        }
+        else
+        {
+            append(key, weight);
+        }
+    }
+
+    /**
+     * Adds every weight in {@code other}, scaled by {@code t}. Used to accumulate a bilinear interpolation of several maps in place.
+     */
+    public void addScaled(WeightMap<T> other, double t)
+    {
+        if (t > 0)
+        {
+            for (int i = 0; i < other.size; i++)
+            {
+                add(other.key(i), other.weights[i] * t);
+            }
+        }
+    }
+
+    /**
+     * Removes the entry at {@code index}, preserving the order of the remaining entries.
+     */
+    public void removeAt(int index)
+    {
+        size--;
+        System.arraycopy(keys, index + 1, keys, index, size - index);
+        System.arraycopy(weights, index + 1, weights, index, size - index);
+        keys[size] = null;
+    }
+
+    public void clear()
+    {
+        Arrays.fill(keys, 0, size, null);
+        size = 0;
+    }
+
+    private void append(T key, double weight)
+    {
+        if (size == keys.length)
+        {
+            keys = Arrays.copyOf(keys, size << 1);
+            weights = Arrays.copyOf(weights, size << 1);
+        }
+        keys[size] = key;
+        weights[size] = weight;
+        size++;
+    }
+}
@@ -112,6 +112,7 @@ public final class BiomeNoise
         {
             private double height;
             private int x, z;
+            private float[] heights = new float[0];
 
             @Override
             public void setColumn(int x, int z)
@@ -121,6 +122,21 @@ public final class BiomeNoise
                 this.z = z;
             }
 
+            @Override
+            public void fillColumns(int x0, int z0, int width, int height, int step)
+            {
+                heights = BiomeNoiseSampler.ensureCapacity(heights, width * height);
+                riverHeight.fill(heights, x0, z0, width, height, step);
+            }
+
+            @Override
+            public void selectColumn(int x, int z, int index)
+            {
+                height = heights[index];
+                this.x = x;
+                this.z = z;
+            }
+
             @Override
             public double height()
             {
@@ -260,6 +276,7 @@ public final class BiomeNoise
         return new BiomeNoiseSampler()
         {
             private float surfaceHeight, center, height;
+            private float[] blobs = new float[0], depths = new float[0], surfaceHeights = new float[0], centers = new float[0];
 
             @Override
             public void setColumn(int x, int z)
@@ -272,6 +289,31 @@ public final class BiomeNoise
                 height = h0 * h1;
             }
 
+            @Override
+            public void fillColumns(int x0, int z0, int width, int height, int step)
+            {
+                final int size = width * height;
+                blobs = BiomeNoiseSampler.ensureCapacity(blobs, size);
+                depths = BiomeNoiseSampler.ensureCapacity(depths, size);
+                surfaceHeights = BiomeNoiseSampler.ensureCapacity(surfaceHeights, size);
+                centers = BiomeNoiseSampler.ensureCapacity(centers, size);
+                blobsNoise.fill(blobs, x0, z0, width, height, step);
+                depthNoise.fill(depths, x0, z0, width, height, step);
+                heightNoise.fill(surfaceHeights, x0, z0, width, height, step);
+                centerNoise.fill(centers, x0, z0, width, height, step);
+            }
+
+            @Override
+            public void selectColumn(int x, int z, int index)
+            {
+                float h0 = Mth.clamp((0.7f - blobs[index]) * (1 / 0.3f), 0, 1);
+                float h1 = depths[index];
+
+                surfaceHeight = surfaceHeights[index];
+                center = centers[index];
+                height = h0 * h1;
+            }
+
             @Override
             public double height()
             {
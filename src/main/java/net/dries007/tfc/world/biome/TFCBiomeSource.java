@@ -6,11 +6,19 @@
 
 package net.dries007.tfc.world.biome;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.Nullable;
 
+import net.minecraft.Util;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Holder;
 import net.minecraft.core.QuartPos;
@@ -24,6 +32,7 @@ import net.minecraft.world.level.biome.Climate;
 import com.mojang.datafixers.util.Pair;
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
+import net.dries007.tfc.config.TFCConfig;
 import net.dries007.tfc.util.IArtist;
 import net.dries007.tfc.world.chunkdata.ChunkData;
 import net.dries007.tfc.world.chunkdata.ChunkDataProvider;
@@ -31,13 +40,19 @@ import net.dries007.tfc.world.chunkdata.TFCChunkDataGenerator;
 import net.dries007.tfc.world.layer.TFCLayers;
 import net.dries007.tfc.world.layer.framework.ConcurrentArea;
 import net.dries007.tfc.world.river.Flow;
-import net.dries007.tfc.world.river.MidpointFractal;
 import net.dries007.tfc.world.river.Watershed;
 import net.dries007.tfc.world.settings.ClimateSettings;
 import net.dries007.tfc.world.settings.RockLayerSettings;
 
 public class TFCBiomeSource extends BiomeSource implements BiomeSourceExtension, RiverSource
 {
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /**
+     * Returned by a ring search which ran out of time before finding a match.
+     */
+    private static final BiomeMatch TIMED_OUT = new BiomeMatch(0, 0, null);
+
     public static final Codec<TFCBiomeSource> CODEC = RecordCodecBuilder.create(instance -> instance.group(
         Codec.LONG.fieldOf("seed").forGetter(c -> c.seed),
         Codec.INT.fieldOf("spawn_distance").forGetter(TFCBiomeSource::getSpawnDistance),
@@ -63,6 +78,7 @@ public class TFCBiomeSource extends BiomeSource implements BiomeSourceExtension,
     private final Registry<Biome> biomeRegistry;
 
     private final ConcurrentArea<BiomeVariants> biomeLayer;
+    private final TFCChunkDataGenerator chunkDataGenerator;
     private final ChunkDataProvider chunkDataProvider;
     private final Watershed.Context watersheds;
 
@@ -78,7 +94,8 @@ public class TFCBiomeSource extends BiomeSource implements BiomeSourceExtension,
         this.temperatureSettings = temperatureSettings;
         this.rainfallSettings = rainfallSettings;
         this.biomeRegistry = biomeRegistry;
-        this.chunkDataProvider = new ChunkDataProvider(new TFCChunkDataGenerator(seed, rockLayerSettings, temperatureSettings, rainfallSettings), rockLayerSettings);
+        this.chunkDataGenerator = new TFCChunkDataGenerator(seed, rockLayerSettings, temperatureSettings, rainfallSettings);
+        this.chunkDataProvider = new ChunkDataProvider(chunkDataGenerator, rockLayerSettings);
         this.watersheds = new Watershed.Context(TFCLayers.createEarlyPlateLayers(seed), seed, 0.5f, 0.8f, 14, 0.2f);
         this.biomeLayer = new ConcurrentArea<>(TFCLayers.createOverworldBiomeLayerWithRivers(seed, watersheds, IArtist.nope(), IArtist.nope()), TFCLayers::getFromLayerId);
     }
@@ -88,19 +105,12 @@ public class TFCBiomeSource extends BiomeSource implements BiomeSourceExtension,
     {
         final float scale = 1f / (1 << 7);
         final float x0 = quartX * scale, z0 = quartZ * scale;
-        for (MidpointFractal fractal : watersheds.getFractalsByPartition(quartX, quartZ))
-        {
-            // maybeIntersect will skip the more expensive calculation if it fails
-            if (fractal.maybeIntersect(x0, z0, Watershed.RIVER_WIDTH))
-            {
-                final Flow flow = fractal.intersectWithFlow(x0, z0, Watershed.RIVER_WIDTH);
-                if (flow != Flow.NONE)
-                {
-                    return flow;
-                }
-            }
-        }
-        return Flow.NONE;
+        return watersheds.getPartition(quartX, quartZ).intersectWithFlow(x0, z0);
+    }
+
+    public Watershed.Context getWatersheds()
+    {
+        return watersheds;
     }
 
     @Override
@@ -197,48 +207,149 @@ public class TFCBiomeSource extends BiomeSource implements BiomeSourceExtension,
     @Nullable
     public Pair<BlockPos, Holder<Biome>> findBiomeHorizontal(int blockX, int blockY, int blockZ, int maxRadius, int step, Predicate<Holder<Biome>> biome, Random random, boolean findClosest, @Nullable Climate.Sampler sampler)
     {
-        // todo: can we avoid querying getNoiseBiome and instead query getNoiseBiomeIgnoreClimate ? as it causes a chunk data lookup which we don't have
-        final int minQuartX = QuartPos.fromBlock(blockX);
-        final int minQuartZ = QuartPos.fromBlock(blockZ);
+        // Positions are scanned in parallel, and use the climate noise directly, as there is no chunk data for the vast majority of positions searched.
+        // Results are identical to scanning each position in turn with getNoiseBiome(), provided the search completes within the time limit.
+        final int centerQuartX = QuartPos.fromBlock(blockX);
+        final int centerQuartZ = QuartPos.fromBlock(blockZ);
         final int maxQuartRadius = QuartPos.fromBlock(maxRadius);
+        final int quartStep = Math.max(1, step);
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TFCConfig.COMMON.biomeSearchTimeLimit.get());
+        final int parallelism = Runtime.getRuntime().availableProcessors();
+        final Executor executor = Util.backgroundExecutor();
 
-        Pair<BlockPos, Holder<Biome>> pair = null;
-        int count = 0;
-        for (int radius = findClosest ? 0 : maxQuartRadius; radius <= maxQuartRadius; radius += step)
+        if (findClosest)
         {
-            for (int dz = -radius; dz <= radius; dz += step)
+            // Scan rings of increasing radius in batches, one task per ring. The first match in the closest ring is the result.
+            for (int radius = 0; radius <= maxQuartRadius; )
             {
-                final boolean atZEdge = Math.abs(dz) == radius;
-                for (int dx = -radius; dx <= radius; dx += step)
+                final int batchRadius = radius;
+                final List<CompletableFuture<BiomeMatch>> batch = new ArrayList<>(parallelism);
+                for (int i = 0; i < parallelism && radius <= maxQuartRadius; i++, radius += quartStep)
+                {
+                    final int ringRadius = radius;
+                    batch.add(CompletableFuture.supplyAsync(() -> findFirstInRing(centerQuartX, centerQuartZ, ringRadius, quartStep, biome, deadline), executor));
+                }
+                for (int i = 0; i < batch.size(); i++)
                 {
-                    if (findClosest)
+                    final BiomeMatch match = batch.get(i).join();
+                    if (match == TIMED_OUT)
                     {
-                        boolean atXEdge = Math.abs(dx) == radius;
-                        if (!atXEdge && !atZEdge)
-                        {
-                            continue;
-                        }
+                        // This ring was not fully searched, so a match in any farther ring might not be the closest
+                        LOGGER.warn("Biome search around {}, {} exceeded the time limit at radius {} / {}", blockX, blockZ, QuartPos.toBlock(batchRadius + i * quartStep), maxRadius);
+                        return null;
                     }
-
-                    final int x = minQuartX + dx, z = minQuartZ + dz;
-                    Holder<Biome> found = getNoiseBiome(x, z);
-                    if (biome.test(found))
+                    if (match != null)
                     {
-                        if (pair == null || random.nextInt(count + 1) == 0)
-                        {
-                            BlockPos pos = new BlockPos(QuartPos.toBlock(x), blockY, QuartPos.toBlock(z));
-                            if (findClosest)
-                            {
-                                return Pair.of(pos, found);
-                            }
-                            pair = Pair.of(pos, found);
-                        }
-                        count++;
+                        return match.toPair(blockY);
                     }
                 }
+                if (System.nanoTime() > deadline)
+                {
+                    LOGGER.warn("Biome search around {}, {} exceeded the time limit at radius {} / {}", blockX, blockZ, QuartPos.toBlock(radius), maxRadius);
+                    return null;
+                }
+            }
+            return null;
+        }
+
+        // Scan the entire square, split into bands of rows, then pick a random match in the same order as a serial scan would
+        final int rows = 2 * maxQuartRadius / quartStep + 1;
+        final int bands = Math.min(rows, 4 * parallelism);
+        final List<CompletableFuture<List<BiomeMatch>>> futures = new ArrayList<>(bands);
+        for (int band = 0; band < bands; band++)
+        {
+            final int minRow = band * rows / bands, maxRow = (band + 1) * rows / bands;
+            futures.add(CompletableFuture.supplyAsync(() -> findAllInRows(centerQuartX, centerQuartZ, maxQuartRadius, quartStep, minRow, maxRow, biome, deadline), executor));
+        }
+
+        BiomeMatch found = null;
+        int count = 0;
+        for (CompletableFuture<List<BiomeMatch>> future : futures)
+        {
+            for (BiomeMatch match : future.join())
+            {
+                if (found == null || random.nextInt(count + 1) == 0)
+                {
+                    found = match;
+                }
+                count++;
+            }
+        }
+        if (System.nanoTime() > deadline)
+        {
+            LOGGER.warn("Biome search around {}, {} exceeded the time limit, only part of the area was searched", blockX, blockZ);
+        }
+        return found == null ? null : found.toPair(blockY);
+    }
+
+    /**
+     * Equivalent to {@link #getNoiseBiome(int, int)}, but computes the climate directly from the climate noise, rather than looking up chunk data.
+     * This is safe to call far away from any generated chunks, and does not cause any chunk data to be generated.
+     */
+    public Holder<Biome> getNoiseBiomeFromClimateNoise(int quartX, int quartZ)
+    {
+        final int blockX = QuartPos.toBlock(quartX), blockZ = QuartPos.toBlock(quartZ);
+        final BiomeVariants variants = getNoiseBiomeVariants(quartX, quartZ);
+        final BiomeTemperature temperature = calculateTemperature(chunkDataGenerator.sampleAverageTemp(blockX, blockZ));
+        final BiomeRainfall rainfall = calculateRainfall(chunkDataGenerator.sampleRainfall(blockX, blockZ));
+        final BiomeExtension extension = variants.get(temperature, rainfall);
+        return biomeRegistry.getHolderOrThrow(extension.key());
+    }
+
+    /**
+     * @return The first match on the edge of a square ring of the given radius, in row major order, {@code null} if none was found, or {@link #TIMED_OUT} if the ring could not be searched up to a match before the deadline.
+     */
+    @Nullable
+    private BiomeMatch findFirstInRing(int centerQuartX, int centerQuartZ, int radius, int step, Predicate<Holder<Biome>> biome, long deadline)
+    {
+        for (int dz = -radius; dz <= radius; dz += step)
+        {
+            if (System.nanoTime() > deadline)
+            {
+                return TIMED_OUT;
+            }
+
+            // Rows at the top and bottom of the ring are scanned entirely, the others only at either end
+            final boolean atZEdge = Math.abs(dz) == radius;
+            final int dxStep = atZEdge ? step : 2 * radius;
+            for (int dx = -radius; dx <= radius; dx += dxStep)
+            {
+                final int x = centerQuartX + dx, z = centerQuartZ + dz;
+                final Holder<Biome> found = getNoiseBiomeFromClimateNoise(x, z);
+                if (biome.test(found))
+                {
+                    return new BiomeMatch(x, z, found);
+                }
             }
         }
-        return pair;
+        return null;
+    }
+
+    /**
+     * @return All matches within rows {@code [minRow, maxRow)} of a square of the given radius, in row major order.
+     */
+    private List<BiomeMatch> findAllInRows(int centerQuartX, int centerQuartZ, int radius, int step, int minRow, int maxRow, Predicate<Holder<Biome>> biome, long deadline)
+    {
+        final List<BiomeMatch> matches = new ArrayList<>();
+        for (int row = minRow; row < maxRow; row++)
+        {
+            if (System.nanoTime() > deadline)
+            {
+                break;
+            }
+
+            final int z = centerQuartZ - radius + row * step;
+            for (int dx = -radius; dx <= radius; dx += step)
+            {
+                final int x = centerQuartX + dx;
+                final Holder<Biome> found = getNoiseBiomeFromClimateNoise(x, z);
+                if (biome.test(found))
+                {
+                    matches.add(new BiomeMatch(x, z, found));
+                }
+            }
+        }
+        return matches;
     }
 
     private BiomeRainfall calculateRainfall(float rainfall)
@@ -266,4 +377,12 @@ public class TFCBiomeSource extends BiomeSource implements BiomeSourceExtension,
         }
         return BiomeTemperature.NORMAL;
     }
-}
\ No newline at end of file
+
+    record BiomeMatch(int quartX, int quartZ, Holder<Biome> biome)
+    {
+        Pair<BlockPos, Holder<Biome>> toPair(int blockY)
+        {
+            return Pair.of(new BlockPos(QuartPos.toBlock(quartX), blockY, QuartPos.toBlock(quartZ)), biome);
+        }
+    }
+}
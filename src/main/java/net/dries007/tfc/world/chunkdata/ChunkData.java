@@ -12,6 +12,7 @@ import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.Tag;
 import net.minecraft.world.level.ChunkPos;
@@ -34,7 +35,20 @@ public class ChunkData implements ICapabilitySerializable<CompoundTag>
 
     public static ChunkData get(LevelReader world, BlockPos pos)
     {
-        return get(world, new ChunkPos(pos));
+        return get(world, pos.getX(), pos.getZ());
+    }
+
+    /**
+     * Called to get chunk data from block coordinates. This avoids allocating a {@link ChunkPos} in the common case where the chunk data is cached.
+     */
+    public static ChunkData get(LevelReader world, int blockX, int blockZ)
+    {
+        final ChunkData data = ChunkDataCache.get(world).getByBlock(blockX, blockZ);
+        if (data == null)
+        {
+            return get(world, new ChunkPos(SectionPos.blockToSectionCoord(blockX), SectionPos.blockToSectionCoord(blockZ)));
+        }
+        return data;
     }
 
     /**
@@ -78,6 +92,7 @@ public class ChunkData implements ICapabilitySerializable<CompoundTag>
     @Nullable private RockData rockData;
     @Nullable private LerpFloatLayer rainfallLayer;
     @Nullable private LerpFloatLayer temperatureLayer;
+    @Nullable private volatile float[] averageTempTile; // Lazily computed from the temperature layer, indexed by x + 16 * z
     @Nullable private int[] aquiferSurfaceHeight;
     private ForestType forestType;
     private float forestWeirdness;
@@ -144,12 +159,22 @@ public class ChunkData implements ICapabilitySerializable<CompoundTag>
 
     public float getAverageTemp(int x, int z)
     {
-        return temperatureLayer == null ? UNKNOWN_TEMPERATURE : temperatureLayer.getValue((z & 15) / 16f, 1 - ((x & 15) / 16f));
+        float[] tile = averageTempTile;
+        if (tile == null)
+        {
+            if (temperatureLayer == null)
+            {
+                return UNKNOWN_TEMPERATURE;
+            }
+            tile = averageTempTile = computeAverageTempTile(temperatureLayer);
+        }
+        return tile[(x & 15) + 16 * (z & 15)];
     }
 
     public void setAverageTemp(LerpFloatLayer temperatureLayer)
     {
         this.temperatureLayer = temperatureLayer;
+        this.averageTempTile = null;
     }
 
     public void setFloraData(ForestType forestType, float forestWeirdness, float forestDensity)
@@ -223,6 +248,7 @@ public class ChunkData implements ICapabilitySerializable<CompoundTag>
     {
         this.rainfallLayer = rainfallLayer;
         this.temperatureLayer = temperatureLayer;
+        this.averageTempTile = null;
         this.forestType = forestType;
         this.forestDensity = forestDensity;
         this.forestWeirdness = forestWeirdness;
@@ -282,6 +308,7 @@ public class ChunkData implements ICapabilitySerializable<CompoundTag>
             plateTectonicsInfo = PlateTectonicsClassification.valueOf(nbt.getByte("plateTectonicsInfo"));
             rainfallLayer = nbt.contains("rainfall") ? new LerpFloatLayer(nbt.getCompound("rainfall")) : null;
             temperatureLayer = nbt.contains("temperature") ? new LerpFloatLayer(nbt.getCompound("temperature")) : null;
+            averageTempTile = null;
             rockData = nbt.contains("rockData", Tag.TAG_COMPOUND) ? new RockData(nbt.getCompound("rockData"), rockLayerSettings) : null;
             aquiferSurfaceHeight = nbt.contains("aquiferSurfaceHeight") ? nbt.getIntArray("aquiferSurfaceHeight") : null;
             forestType = ForestType.valueOf(nbt.getByte("forestType"));
@@ -293,6 +320,7 @@ public class ChunkData implements ICapabilitySerializable<CompoundTag>
             plateTectonicsInfo = PlateTectonicsClassification.OCEANIC;
             rainfallLayer = null;
             temperatureLayer = null;
+            averageTempTile = null;
             rockData = null;
             aquiferSurfaceHeight = null;
             forestType = ForestType.NONE;
@@ -301,6 +329,22 @@ public class ChunkData implements ICapabilitySerializable<CompoundTag>
         }
     }
 
+    /**
+     * Temperature queries are very frequent, so the bilinear interpolation is computed once per chunk, rather than once per query.
+     */
+    private static float[] computeAverageTempTile(LerpFloatLayer layer)
+    {
+        final float[] tile = new float[16 * 16];
+        for (int z = 0; z < 16; z++)
+        {
+            for (int x = 0; x < 16; x++)
+            {
+                tile[x + 16 * z] = layer.getValue(z / 16f, 1 - (x / 16f));
+            }
+        }
+        return tile;
+    }
+
     @Override
     public String toString()
     {
@@ -11,13 +11,16 @@ import java.util.function.Function;
 import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.LevelReader;
 import net.minecraftforge.network.PacketDistributor;
 
+import net.dries007.tfc.config.TFCConfig;
 import net.dries007.tfc.network.PacketHandler;
 import net.dries007.tfc.util.Helpers;
+import net.dries007.tfc.util.collections.ConcurrentLong2ObjectMap;
 
 /**
  * Sided cache of chunk data instances, for when a world context is unavailable.
@@ -60,51 +63,71 @@ public final class ChunkDataCache
         WATCH_QUEUE.queue.clear();
     }
 
-    protected final Map<ChunkPos, ChunkData> cache;
+    /**
+     * Keyed by {@link ChunkPos#toLong()}. Safe for concurrent readers (i.e. world generation threads), while writes happen on the main thread.
+     * Bounded in size, in case chunk unload events are missed. Chunks that do not fit will fall back to querying the chunk capability.
+     */
+    protected final ConcurrentLong2ObjectMap<ChunkData> cache;
     private final String name;
 
     private ChunkDataCache(String name)
     {
         this.name = name;
-        this.cache = new HashMap<>();
+        this.cache = new ConcurrentLong2ObjectMap<>(() -> TFCConfig.COMMON.chunkDataCacheSize.get());
     }
 
     public ChunkData getOrEmpty(BlockPos pos)
     {
-        return getOrEmpty(new ChunkPos(pos));
+        final ChunkData data = get(pos);
+        return data == null ? ChunkData.EMPTY : data;
     }
 
     public ChunkData getOrEmpty(ChunkPos pos)
     {
-        return cache.getOrDefault(pos, ChunkData.EMPTY);
+        final ChunkData data = get(pos);
+        return data == null ? ChunkData.EMPTY : data;
     }
 
     @Nullable
     public ChunkData get(BlockPos pos)
     {
-        return get(new ChunkPos(pos));
+        return getByBlock(pos.getX(), pos.getZ());
     }
 
     @Nullable
     public ChunkData get(ChunkPos pos)
     {
-        return cache.get(pos);
+        return cache.get(pos.toLong());
+    }
+
+    /**
+     * Queries the cache by block coordinates, without allocating a {@link ChunkPos}.
+     */
+    @Nullable
+    public ChunkData getByBlock(int blockX, int blockZ)
+    {
+        return cache.get(ChunkPos.asLong(SectionPos.blockToSectionCoord(blockX), SectionPos.blockToSectionCoord(blockZ)));
     }
 
     @Nullable
     public ChunkData remove(ChunkPos pos)
     {
-        return cache.remove(pos);
+        return cache.remove(pos.toLong());
     }
 
     public void update(ChunkPos pos, ChunkData data)
     {
-        cache.put(pos, data);
+        cache.put(pos.toLong(), data);
     }
 
     public ChunkData computeIfAbsent(ChunkPos pos, Function<ChunkPos, ChunkData> mappingFunction)
     {
-        return cache.computeIfAbsent(pos, mappingFunction);
+        return cache.computeIfAbsent(pos.toLong(), key -> mappingFunction.apply(pos));
+    }
+
+    public int size()
+    {
+        return cache.size();
     }
 
     @Override
@@ -82,23 +82,30 @@ public class TFCChunkDataGenerator implements ChunkDataGenerator
         plateTectonicsInfo = new ConcurrentArea<>(TFCLayers.createOverworldPlateTectonicInfoLayer(worldSeed), PlateTectonicsClassification::valueOf);
     }
 
+    /**
+     * Computes the average temperature at a position directly from the climate noise, without generating any chunk data.
+     * This is identical to {@link ChunkData#getAverageTemp(int, int)} of the chunk data this generator would produce at the same position.
+     */
+    public float sampleAverageTemp(int blockX, int blockZ)
+    {
+        return sampleClimateLayer(temperatureNoise, blockX, blockZ);
+    }
+
+    /**
+     * Computes the rainfall at a position directly from the climate noise, without generating any chunk data.
+     * This is identical to {@link ChunkData#getRainfall(int, int)} of the chunk data this generator would produce at the same position.
+     */
+    public float sampleRainfall(int blockX, int blockZ)
+    {
+        return sampleClimateLayer(rainfallNoise, blockX, blockZ);
+    }
+
     @Override
     public void generate(ChunkData data)
     {
         ChunkPos pos = data.getPos();
         int chunkX = pos.getMinBlockX(), chunkZ = pos.getMinBlockZ();
 
-        // Temperature / Rainfall
-        float rainNW = rainfallNoise.noise(chunkX, chunkZ);
-        float rainNE = rainfallNoise.noise(chunkX + 16, chunkZ);
-        float rainSW = rainfallNoise.noise(chunkX, chunkZ + 16);
-        float rainSE = rainfallNoise.noise(chunkX + 16, chunkZ + 16);
-
-        float tempNW = temperatureNoise.noise(chunkX, chunkZ);
-        float tempNE = temperatureNoise.noise(chunkX + 16, chunkZ);
-        float tempSW = temperatureNoise.noise(chunkX, chunkZ + 16);
-        float tempSE = temperatureNoise.noise(chunkX + 16, chunkZ + 16);
-
         final ForestType forestType = forestTypeLayer.get(chunkX >> 4, chunkZ >> 4); // This layer is sampled per-chunk, to avoid the waste of two additional zoom layers
         final float forestWeirdness = forestWeirdnessNoise.noise(chunkX + 8, chunkZ + 8);
         final float forestDensity = forestDensityNoise.noise(chunkX + 8, chunkZ + 8);
@@ -109,22 +116,39 @@ public class TFCChunkDataGenerator implements ChunkDataGenerator
         final RockSettings[] topLayer = new RockSettings[256];
         final int[] rockLayerHeight = new int[256];
 
+        bottomRockLayer.fill(bottomLayer, chunkX, chunkZ, 16, 16);
+        middleRockLayer.fill(middleLayer, chunkX, chunkZ, 16, 16);
+        topRockLayer.fill(topLayer, chunkX, chunkZ, 16, 16);
+
         for (int x = 0; x < 16; x++)
         {
             for (int z = 0; z < 16; z++)
             {
-                bottomLayer[x + 16 * z] = bottomRockLayer.get(chunkX + x, chunkZ + z);
-                middleLayer[x + 16 * z] = middleRockLayer.get(chunkX + x, chunkZ + z);
-                topLayer[x + 16 * z] = topRockLayer.get(chunkX + x, chunkZ + z);
-
                 rockLayerHeight[x + 16 * z] = (int) layerHeightNoise.noise(chunkX + x, chunkZ + z);
             }
         }
 
-        data.setRainfall(new LerpFloatLayer(rainNW, rainNE, rainSW, rainSE));
-        data.setAverageTemp(new LerpFloatLayer(tempNW, tempNE, tempSW, tempSE));
+        // Temperature / Rainfall
+        data.setRainfall(createClimateLayer(rainfallNoise, chunkX, chunkZ));
+        data.setAverageTemp(createClimateLayer(temperatureNoise, chunkX, chunkZ));
         data.setFloraData(forestType, forestWeirdness, forestDensity);
         data.setPlateTectonicsInfo(plateTectonicsInfo.get(data.getPos().x, data.getPos().z));
         data.setRockData(new RockData(bottomLayer, middleLayer, topLayer, rockLayerHeight));
     }
+
+    private float sampleClimateLayer(Noise2D noise, int blockX, int blockZ)
+    {
+        // Same interpolation as ChunkData, between the corners of the chunk containing the position
+        return createClimateLayer(noise, blockX & ~15, blockZ & ~15).getValue((blockZ & 15) / 16f, 1 - ((blockX & 15) / 16f));
+    }
+
+    private LerpFloatLayer createClimateLayer(Noise2D noise, int chunkX, int chunkZ)
+    {
+        return new LerpFloatLayer(
+            noise.noise(chunkX, chunkZ),
+            noise.noise(chunkX + 16, chunkZ),
+            noise.noise(chunkX, chunkZ + 16),
+            noise.noise(chunkX + 16, chunkZ + 16)
+        );
+    }
 }
@@ -55,6 +55,8 @@ public class VeinConfig implements FeatureConfiguration
 
     private final PositionalRandomFactory fork;
 
+    @Nullable volatile VeinIndex<?, ?> index; // Managed by VeinFeature
+
     public VeinConfig(VeinConfig other)
     {
         this(other.states, Optional.ofNullable(other.indicator), other.rarity, other.size, other.density, other.minY, other.maxY, other.randomName, Optional.ofNullable(other.biomes));
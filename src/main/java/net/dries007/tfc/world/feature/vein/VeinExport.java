@@ -0,0 +1,173 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.feature.vein;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+/**
+ * Streams the results of a {@link VeinQuery} to a file, one vein at a time.
+ */
+public final class VeinExport
+{
+    public static final int MAGIC = 0x54464356; // "TFCV"
+    public static final int FORMAT_VERSION = 1;
+
+    /**
+     * Exports all veins with a center in the rectangle, inclusive, in block coordinates.
+     *
+     * @return The number of veins exported.
+     */
+    public static long export(VeinQuery query, int minX, int minZ, int maxX, int maxZ, Path path, Format format) throws IOException
+    {
+        return export(query::query, minX, minZ, maxX, maxZ, path, format);
+    }
+
+    static long export(Source query, int minX, int minZ, int maxX, int maxZ, Path path, Format format) throws IOException
+    {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        return switch (format)
+        {
+            case CSV -> exportCsv(query, minX, minZ, maxX, maxZ, path);
+            case BINARY -> exportBinary(query, minX, minZ, maxX, maxZ, path);
+        };
+    }
+
+    /**
+     * One line per vein, after a header line: {@code name,type,x,y,z,min_x,min_y,min_z,max_x,max_y,max_z}
+     */
+    private static long exportCsv(Source query, int minX, int minZ, int maxX, int maxZ, Path path) throws IOException
+    {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8))
+        {
+            writer.write("name,type,x,y,z,min_x,min_y,min_z,max_x,max_y,max_z\n");
+            return query.query(minX, minZ, maxX, maxZ, entry -> {
+                final BlockPos pos = entry.center();
+                final BoundingBox box = entry.box();
+                write(writer, String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%d,%d,%d,%d,%d,%d\n", entry.name(), entry.type(), pos.getX(), pos.getY(), pos.getZ(), box.minX(), box.minY(), box.minZ(), box.maxX(), box.maxY(), box.maxZ()));
+            });
+        }
+        catch (UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * A gzip compressed stream of:
+     * <ul>
+     *     <li>A header of {@link #MAGIC}, {@link #FORMAT_VERSION}, and the queried rectangle, as four ints.</li>
+     *     <li>Zero or more veins, each a {@code short} which is either a new name (-1, followed by the name and type as UTF strings, which are assigned the next index), or the index of a previous name, followed by the center as three ints, and the bounds as six {@code short}s relative to the center.</li>
+     *     <li>A {@code short} of -2, marking the end of the stream.</li>
+     * </ul>
+     */
+    private static long exportBinary(Source query, int minX, int minZ, int maxX, int maxZ, Path path) throws IOException
+    {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(path)))))
+        {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(minX);
+            out.writeInt(minZ);
+            out.writeInt(maxX);
+            out.writeInt(maxZ);
+
+            final Object2IntOpenHashMap<ResourceLocation> names = new Object2IntOpenHashMap<>();
+            names.defaultReturnValue(-1);
+
+            final long found = query.query(minX, minZ, maxX, maxZ, entry -> {
+                try
+                {
+                    final int index = names.getInt(entry.name());
+                    if (index == -1)
+                    {
+                        names.put(entry.name(), names.size());
+                        out.writeShort(-1);
+                        out.writeUTF(entry.name().toString());
+                        out.writeUTF(entry.type().toString());
+                    }
+                    else
+                    {
+                        out.writeShort(index);
+                    }
+
+                    final BlockPos pos = entry.center();
+                    final BoundingBox box = entry.box();
+                    out.writeInt(pos.getX());
+                    out.writeInt(pos.getY());
+                    out.writeInt(pos.getZ());
+                    out.writeShort(box.minX() - pos.getX());
+                    out.writeShort(box.minY() - pos.getY());
+                    out.writeShort(box.minZ() - pos.getZ());
+                    out.writeShort(box.maxX() - pos.getX());
+                    out.writeShort(box.maxY() - pos.getY());
+                    out.writeShort(box.maxZ() - pos.getZ());
+                }
+                catch (IOException e)
+                {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.writeShort(-2);
+            return found;
+        }
+        catch (UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+    }
+
+    private static void write(Writer writer, String line)
+    {
+        try
+        {
+            writer.write(line);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The veins to export, see {@link VeinQuery#query(int, int, int, int, Consumer)}
+     */
+    @FunctionalInterface
+    interface Source
+    {
+        long query(int minX, int minZ, int maxX, int maxZ, Consumer<VeinQuery.Entry> consumer);
+    }
+
+    public enum Format
+    {
+        CSV("csv"),
+        BINARY("bin.gz");
+
+        private final String extension;
+
+        Format(String extension)
+        {
+            this.extension = extension;
+        }
+
+        public String getExtension()
+        {
+            return extension;
+        }
+    }
+}
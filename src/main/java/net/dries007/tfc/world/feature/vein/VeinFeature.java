@@ -62,31 +62,37 @@ public abstract class VeinFeature<C extends VeinConfig, V extends Vein> extends
         return false;
     }
 
+    /**
+     * @return All veins which may place blocks in the chunk at {@code pos}, in the order they must be placed in.
+     */
     public final List<V> getNearbyVeins(WorldGenLevel level, WorldGenerationContext context, ChunkPos pos, int radius, C config, Function<BlockPos, Holder<Biome>> biomeQuery)
     {
         final List<V> veins = new ArrayList<>();
-        final Random random = new Random();
-        for (int x = pos.x - radius; x <= pos.x + radius; x++)
+        getIndex(level.getSeed(), context, config).getVeinsIntersecting(pos.x, pos.z, radius, veins, vein -> config.canSpawnInBiome(biomeQuery.apply(vein.getPos())));
+        return veins;
+    }
+
+    public final void getVeinsAtChunk(WorldGenLevel level, WorldGenerationContext context, int chunkPosX, int chunkPosZ, List<V> veins, C config, Function<BlockPos, Holder<Biome>> biomeQuery)
+    {
+        final V vein = getIndex(level.getSeed(), context, config).getVeinAtChunk(chunkPosX, chunkPosZ);
+        if (vein != null && config.canSpawnInBiome(biomeQuery.apply(vein.getPos())))
         {
-            for (int z = pos.z - radius; z <= pos.z + radius; z++)
-            {
-                getVeinsAtChunk(level, context, x, z, veins, config, random, biomeQuery);
-            }
+            veins.add(vein);
         }
-        return veins;
     }
 
-    public final void getVeinsAtChunk(WorldGenLevel level, WorldGenerationContext context, int chunkPosX, int chunkPosZ, List<V> veins, C config, Random random, Function<BlockPos, Holder<Biome>> biomeQuery)
+    /**
+     * @return The index of candidate veins for a config, which is shared by all threads, and rebuilt if the seed or world height changes.
+     */
+    @SuppressWarnings("unchecked")
+    public final VeinIndex<C, V> getIndex(long seed, WorldGenerationContext context, C config)
     {
-        final RandomSource forkedRandom = config.random(level.getSeed(), chunkPosX, chunkPosZ);
-        if (config.random(level.getSeed(), chunkPosX, chunkPosZ).nextInt(config.getRarity()) == 0)
+        VeinIndex<?, ?> index = config.index;
+        if (index == null || !index.matches(this, seed, context))
         {
-            final V vein = createVein(context, chunkPosX << 4, chunkPosZ << 4, forkedRandom, config);
-            if (config.canSpawnInBiome(biomeQuery.apply(vein.getPos())))
-            {
-                veins.add(vein);
-            }
+            index = config.index = new VeinIndex<>(this, config, seed, context);
         }
+        return (VeinIndex<C, V>) index;
     }
 
     protected void place(WorldGenLevel level, ChunkGenerator generator, Random random, int blockX, int blockZ, V vein, C config)
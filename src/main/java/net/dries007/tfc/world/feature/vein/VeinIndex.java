@@ -0,0 +1,165 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.feature.vein;
+
+import java.util.List;
+import java.util.function.Predicate;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.levelgen.RandomSource;
+import net.minecraft.world.level.levelgen.WorldGenerationContext;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+
+import net.dries007.tfc.world.FastConcurrentCache;
+
+/**
+ * An index of the candidate veins of a single {@link VeinConfig}, grouped into regions of chunks.
+ * <p>
+ * Each chunk has at most one candidate vein, determined only by the world seed, the chunk position, and the config. Previously, every chunk decorated would re-seed a random and re-create the candidates of every chunk within the vein radius.
+ * Instead, a region computes the candidates of all its chunks once, along with their horizontal bounds, and is shared by all world generation threads. Regions are held in a {@link FastConcurrentCache}, so are evicted by newer regions, and may be computed more than once if two threads race, which is harmless as they are identical.
+ * <p>
+ * Candidates are not checked against biomes, as that depends on the level being queried.
+ */
+public final class VeinIndex<C extends VeinConfig, V extends Vein>
+{
+    public static final int REGION_BITS = 3;
+    public static final int REGION_SIZE = 1 << REGION_BITS;
+
+    private static final int REGION_MASK = REGION_SIZE - 1;
+    private static final int CACHE_SIZE = 256;
+
+    private final VeinFeature<C, V> feature;
+    private final C config;
+    private final long seed;
+    private final WorldGenerationContext context;
+    private final int minGenY, genDepth;
+    private final FastConcurrentCache<Region<V>> regions;
+
+    VeinIndex(VeinFeature<C, V> feature, C config, long seed, WorldGenerationContext context)
+    {
+        this.feature = feature;
+        this.config = config;
+        this.seed = seed;
+        this.context = context;
+        this.minGenY = context.getMinGenY();
+        this.genDepth = context.getGenDepth();
+        this.regions = new FastConcurrentCache<>(CACHE_SIZE);
+    }
+
+    /**
+     * @return {@code true} if this index was built for the same feature, seed, and world height, and so may be reused.
+     */
+    public boolean matches(VeinFeature<?, ?> feature, long seed, WorldGenerationContext context)
+    {
+        return this.feature == feature && this.seed == seed && minGenY == context.getMinGenY() && genDepth == context.getGenDepth();
+    }
+
+    /**
+     * @return The candidate vein which originates in the given chunk, if any.
+     */
+    @Nullable
+    public V getVeinAtChunk(int chunkX, int chunkZ)
+    {
+        return getRegion(chunkX >> REGION_BITS, chunkZ >> REGION_BITS).veins[index(chunkX, chunkZ)];
+    }
+
+    /**
+     * Adds all candidate veins which originate within {@code radius} chunks of the given chunk, whose bounding box intersects the chunk horizontally, and which pass the {@code filter}.
+     * Veins are added in the order of their chunk, by x then z, which is the order that they must be placed in to be deterministic.
+     */
+    public void getVeinsIntersecting(int chunkX, int chunkZ, int radius, List<V> veins, Predicate<V> filter)
+    {
+        final int minBlockX = chunkX << 4, maxBlockX = minBlockX + 15;
+        final int minBlockZ = chunkZ << 4, maxBlockZ = minBlockZ + 15;
+
+        Region<V> region = null;
+        for (int x = chunkX - radius; x <= chunkX + radius; x++)
+        {
+            for (int z = chunkZ - radius; z <= chunkZ + radius; z++)
+            {
+                final int regionX = x >> REGION_BITS, regionZ = z >> REGION_BITS;
+                if (region == null || region.x != regionX || region.z != regionZ)
+                {
+                    region = getRegion(regionX, regionZ);
+                }
+
+                final int i = index(x, z);
+                final V vein = region.veins[i];
+                if (vein != null
+                    && region.bounds[4 * i] <= maxBlockX && region.bounds[4 * i + 1] >= minBlockX
+                    && region.bounds[4 * i + 2] <= maxBlockZ && region.bounds[4 * i + 3] >= minBlockZ
+                    && filter.test(vein))
+                {
+                    veins.add(vein);
+                }
+            }
+        }
+    }
+
+    public Region<V> getRegion(int regionX, int regionZ)
+    {
+        Region<V> region = regions.getIfPresent(regionX, regionZ);
+        if (region == null)
+        {
+            region = createRegion(regionX, regionZ);
+            regions.set(regionX, regionZ, region);
+        }
+        return region;
+    }
+
+    private Region<V> createRegion(int regionX, int regionZ)
+    {
+        final Region<V> region = new Region<>(regionX, regionZ);
+        for (int dx = 0; dx < REGION_SIZE; dx++)
+        {
+            for (int dz = 0; dz < REGION_SIZE; dz++)
+            {
+                final int chunkX = (regionX << REGION_BITS) + dx, chunkZ = (regionZ << REGION_BITS) + dz;
+                final RandomSource random = config.random(seed, chunkX, chunkZ);
+                if (config.random(seed, chunkX, chunkZ).nextInt(config.getRarity()) == 0)
+                {
+                    final V vein = feature.createVein(context, chunkX << 4, chunkZ << 4, random, config);
+                    final BlockPos pos = vein.getPos();
+                    final BoundingBox box = feature.getBoundingBox(config, vein);
+                    final int i = index(chunkX, chunkZ);
+
+                    region.veins[i] = vein;
+                    region.bounds[4 * i] = pos.getX() + box.minX();
+                    region.bounds[4 * i + 1] = pos.getX() + box.maxX();
+                    region.bounds[4 * i + 2] = pos.getZ() + box.minZ();
+                    region.bounds[4 * i + 3] = pos.getZ() + box.maxZ();
+                }
+            }
+        }
+        return region;
+    }
+
+    private static int index(int chunkX, int chunkZ)
+    {
+        return (chunkX & REGION_MASK) | ((chunkZ & REGION_MASK) << REGION_BITS);
+    }
+
+    /**
+     * The candidate veins of a square of {@link #REGION_SIZE} chunks, and their horizontal bounds in block coordinates, as (min x, max x, min z, max z). Immutable once constructed.
+     */
+    public static final class Region<V extends Vein>
+    {
+        final int x, z;
+        final V[] veins;
+        final int[] bounds;
+
+        @SuppressWarnings("unchecked")
+        Region(int x, int z)
+        {
+            this.x = x;
+            this.z = z;
+            this.veins = (V[]) new Vein[REGION_SIZE * REGION_SIZE];
+            this.bounds = new int[4 * REGION_SIZE * REGION_SIZE];
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.feature.vein;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.biome.BiomeManager;
+import net.minecraft.world.level.biome.BiomeSource;
+import net.minecraft.world.level.biome.Climate;
+import net.minecraft.world.level.chunk.ChunkGenerator;
+import net.minecraft.world.level.levelgen.WorldGenerationContext;
+import net.minecraft.world.level.levelgen.feature.ConfiguredFeature;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+
+import net.dries007.tfc.world.biome.TFCBiomeSource;
+
+/**
+ * A read only query of the veins which would generate in an area of a level, without generating, or loading, any chunks.
+ * <p>
+ * Veins are read from each config's {@link VeinIndex}, and checked against the biome that would be generated at their center. For TFC worlds, the biome is computed directly from climate noise, see {@link TFCBiomeSource#getNoiseBiomeFromClimateNoise(int, int)}.
+ * Regions are queried in parallel, and the results passed to the consumer in a deterministic order, one batch of regions at a time, so arbitrarily large areas can be queried without holding every vein in memory.
+ */
+public final class VeinQuery
+{
+    private final List<Source<?, ?>> sources;
+    private final BiomeManager biomeManager;
+    private final WorldGenerationContext context;
+    private final long seed;
+    private final Executor executor;
+    private final int batchSize;
+
+    public VeinQuery(ServerLevel level, Map<ResourceLocation, ConfiguredFeature<?, ? extends VeinFeature<?, ?>>> veins, Executor executor)
+    {
+        final ChunkGenerator generator = level.getChunkSource().getGenerator();
+        final BiomeSource biomeSource = generator.getBiomeSource();
+        final Climate.Sampler sampler = generator.climateSampler();
+
+        this.sources = new ArrayList<>();
+        veins.forEach((name, feature) -> sources.add(new Source<>(name, feature)));
+        this.biomeManager = level.getBiomeManager().withDifferentSource(biomeSource instanceof TFCBiomeSource tfcSource ?
+            (x, y, z) -> tfcSource.getNoiseBiomeFromClimateNoise(x, z) :
+            (x, y, z) -> biomeSource.getNoiseBiome(x, y, z, sampler));
+        this.context = new WorldGenerationContext(generator, level);
+        this.seed = level.getSeed();
+        this.executor = executor;
+        this.batchSize = 4 * Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Finds all veins whose center is within the rectangle, inclusive, in block coordinates.
+     * Veins are passed to {@code consumer} on the calling thread, ordered by region (in rows of increasing z, then x), then by vein config, then by the chunk they originate in.
+     *
+     * @return The number of veins found.
+     */
+    public long query(int minX, int minZ, int maxX, int maxZ, Consumer<Entry> consumer)
+    {
+        final int minRegionX = minX >> (4 + VeinIndex.REGION_BITS), maxRegionX = maxX >> (4 + VeinIndex.REGION_BITS);
+        final int minRegionZ = minZ >> (4 + VeinIndex.REGION_BITS), maxRegionZ = maxZ >> (4 + VeinIndex.REGION_BITS);
+        final long width = maxRegionX - minRegionX + 1, regions = width * (maxRegionZ - minRegionZ + 1);
+
+        long found = 0;
+        for (long start = 0; start < regions; start += batchSize)
+        {
+            final List<CompletableFuture<List<Entry>>> batch = new ArrayList<>(batchSize);
+            for (long i = start; i < Math.min(start + batchSize, regions); i++)
+            {
+                final int regionX = (int) (minRegionX + i % width), regionZ = (int) (minRegionZ + i / width);
+                batch.add(CompletableFuture.supplyAsync(() -> queryRegion(regionX, regionZ, minX, minZ, maxX, maxZ), executor));
+            }
+            for (CompletableFuture<List<Entry>> future : batch)
+            {
+                for (Entry entry : future.join())
+                {
+                    consumer.accept(entry);
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+
+    private List<Entry> queryRegion(int regionX, int regionZ, int minX, int minZ, int maxX, int maxZ)
+    {
+        final List<Entry> entries = new ArrayList<>();
+        for (Source<?, ?> source : sources)
+        {
+            source.query(this, regionX, regionZ, minX, minZ, maxX, maxZ, entries);
+        }
+        return entries;
+    }
+
+    /**
+     * A single vein.
+     *
+     * @param name The id of the configured feature of the vein.
+     * @param type The id of the vein feature, i.e. the shape of the vein.
+     * @param center The center of the vein.
+     * @param box The bounds of the vein, including the vertical range it is allowed to generate in.
+     */
+    public record Entry(ResourceLocation name, ResourceLocation type, BlockPos center, BoundingBox box) {}
+
+    static final class Source<C extends VeinConfig, V extends Vein>
+    {
+        private final ResourceLocation name, type;
+        private final VeinFeature<C, V> feature;
+        private final C config;
+
+        @SuppressWarnings("unchecked")
+        Source(ResourceLocation name, ConfiguredFeature<?, ? extends VeinFeature<?, ?>> feature)
+        {
+            this.name = name;
+            this.type = feature.feature().getRegistryName();
+            this.feature = (VeinFeature<C, V>) feature.feature();
+            this.config = (C) feature.config();
+        }
+
+        void query(VeinQuery query, int regionX, int regionZ, int minX, int minZ, int maxX, int maxZ, List<Entry> entries)
+        {
+            final VeinIndex.Region<V> region = feature.getIndex(query.seed, query.context, config).getRegion(regionX, regionZ);
+            for (V vein : region.veins)
+            {
+                if (vein != null)
+                {
+                    final BlockPos pos = vein.getPos();
+                    if (pos.getX() >= minX && pos.getX() <= maxX && pos.getZ() >= minZ && pos.getZ() <= maxZ && config.canSpawnInBiome(query.biomeManager.getBiome(pos)))
+                    {
+                        final BoundingBox box = feature.getBoundingBox(config, vein).moved(pos.getX(), pos.getY(), pos.getZ());
+                        final int minY = Math.max(box.minY(), config.getMinY(query.context)), maxY = Math.min(box.maxY(), config.getMaxY(query.context));
+                        if (minY > maxY)
+                        {
+                            continue; // Entirely outside the allowed vertical range, so it would never place any blocks
+                        }
+                        entries.add(new Entry(name, type, pos, new BoundingBox(box.minX(), minY, box.minZ(), box.maxX(), maxY, box.maxZ())));
+                    }
+                }
+            }
+        }
+    }
+}
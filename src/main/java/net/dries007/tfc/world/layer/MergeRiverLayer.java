@@ -9,7 +9,6 @@ package net.dries007.tfc.world.layer;
 import net.dries007.tfc.world.layer.framework.Area;
 import net.dries007.tfc.world.layer.framework.AreaContext;
 import net.dries007.tfc.world.layer.framework.TransformLayer;
-import net.dries007.tfc.world.river.MidpointFractal;
 import net.dries007.tfc.world.river.Watershed;
 
 public class MergeRiverLayer implements TransformLayer
@@ -29,13 +28,9 @@ public class MergeRiverLayer implements TransformLayer
         {
             final float scale = 1f / (1 << 7);
             final float x0 = x * scale, z0 = z * scale;
-            for (MidpointFractal fractal : watersheds.getFractalsByPartition(x, z))
+            if (watersheds.getPartition(x, z).intersect(x0, z0))
             {
-                // maybeIntersect will skip the more expensive calculation if it fails
-                if (fractal.maybeIntersect(x0, z0, Watershed.RIVER_WIDTH) && fractal.intersect(x0, z0, Watershed.RIVER_WIDTH))
-                {
-                    return TFCLayers.riverFor(value);
-                }
+                return TFCLayers.riverFor(value);
             }
         }
         return value;
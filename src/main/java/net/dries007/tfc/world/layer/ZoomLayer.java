@@ -73,5 +73,47 @@ public enum ZoomLayer implements TransformLayer
         return choose(context, northWest, area.get(parentX, parentZ + 1), area.get(parentX + 1, parentZ), area.get(parentX + 1, parentZ + 1));
     }
 
+    @Override
+    public void fill(AreaContext context, Area area, int[] out, int x0, int z0, int width, int height)
+    {
+        // The parent region covers every (x >> 1, z >> 1), plus one additional row and column for the south and east neighbors
+        final int parentX0 = x0 >> 1, parentZ0 = z0 >> 1;
+        final int parentWidth = ((x0 + width - 1) >> 1) - parentX0 + 2, parentHeight = ((z0 + height - 1) >> 1) - parentZ0 + 2;
+        final int[] parent = new int[parentWidth * parentHeight];
+        area.fill(parent, parentX0, parentZ0, parentWidth, parentHeight);
+
+        for (int dz = 0; dz < height; dz++)
+        {
+            for (int dx = 0; dx < width; dx++)
+            {
+                final int x = x0 + dx, z = z0 + dz;
+                final int parentX = x >> 1, parentZ = z >> 1;
+                final int offsetX = x & 1, offsetZ = z & 1;
+                final int index = (parentX - parentX0) + (parentZ - parentZ0) * parentWidth;
+                final int northWest = parent[index];
+
+                context.setSeed(parentX, parentZ);
+                final int value;
+                if (offsetX == 0 && offsetZ == 0)
+                {
+                    value = northWest;
+                }
+                else if (offsetX == 0)
+                {
+                    value = context.choose(northWest, parent[index + parentWidth]);
+                }
+                else if (offsetZ == 0)
+                {
+                    value = context.choose(northWest, parent[index + 1]);
+                }
+                else
+                {
+                    value = choose(context, northWest, parent[index + parentWidth], parent[index + 1], parent[index + parentWidth + 1]);
+                }
+                out[dx + dz * width] = value;
+            }
+        }
+    }
+
     public abstract int choose(AreaContext context, int first, int second, int third, int fourth);
 }
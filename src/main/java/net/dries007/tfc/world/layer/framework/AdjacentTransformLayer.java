@@ -17,5 +17,23 @@ public interface AdjacentTransformLayer extends TransformLayer
         return apply(context, area.get(x, z - 1), area.get(x + 1, z), area.get(x, z + 1), area.get(x - 1, z), area.get(x, z));
     }
 
+    @Override
+    default void fill(AreaContext context, Area area, int[] out, int x0, int z0, int width, int height)
+    {
+        // Query the parent once, including a one wide border
+        final int parentWidth = width + 2;
+        final int[] parent = new int[parentWidth * (height + 2)];
+        area.fill(parent, x0 - 1, z0 - 1, parentWidth, height + 2);
+        for (int dz = 0; dz < height; dz++)
+        {
+            for (int dx = 0; dx < width; dx++)
+            {
+                final int index = (dx + 1) + (dz + 1) * parentWidth;
+                context.setSeed(x0 + dx, z0 + dz);
+                out[dx + dz * width] = apply(context, parent[index - parentWidth], parent[index + 1], parent[index + parentWidth], parent[index - 1], parent[index]);
+            }
+        }
+    }
+
     int apply(AreaContext context, int north, int east, int south, int west, int center);
 }
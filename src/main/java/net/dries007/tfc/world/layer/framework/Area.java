@@ -15,6 +15,7 @@ import it.unimi.dsi.fastutil.HashCommon;
 
 /**
  * A caching wrapper around a {@link AreaSource}. Created from the result of a stack of layers.
+ * Supports both point queries, via {@link #get(int, int)}, and bulk region queries via {@link #fill(int[], int, int, int, int)}.
  * Note that this wrapper is not synchronized, meaning that access from multiple threads might result in cache corruption
  * Additionally - and more importantly - is that most {@link AreaSource}s which use a {@link AreaContext} will throw on concurrent modification to the underlying random instance.
  *
@@ -55,4 +56,13 @@ public class Area
             return value;
         }
     }
+
+    /**
+     * Computes a rectangular region of this area, where the value at (x0 + dx, z0 + dz) is placed in {@code out[dx + dz * width]}.
+     * This bypasses the cache entirely, as each layer computes the region of its parent that it needs in one pass.
+     */
+    public void fill(int[] out, int x0, int z0, int width, int height)
+    {
+        source.fill(out, x0, z0, width, height);
+    }
 }
@@ -13,4 +13,20 @@ package net.dries007.tfc.world.layer.framework;
 public interface AreaSource
 {
     int apply(int x, int z);
+
+    /**
+     * Computes a rectangular region of values, in a single pass.
+     * The value at (x0 + dx, z0 + dz) is placed in {@code out[dx + dz * width]}.
+     * Sources which can compute a whole region more efficiently than point by point (by batching requests to their parent) should override this.
+     */
+    default void fill(int[] out, int x0, int z0, int width, int height)
+    {
+        for (int dz = 0; dz < height; dz++)
+        {
+            for (int dx = 0; dx < width; dx++)
+            {
+                out[dx + dz * width] = apply(x0 + dx, z0 + dz);
+            }
+        }
+    }
 }
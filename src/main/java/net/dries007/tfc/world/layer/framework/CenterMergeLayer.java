@@ -17,5 +17,22 @@ public interface CenterMergeLayer extends MergeLayer
         return apply(context, first.get(x, z), second.get(x, z));
     }
 
+    @Override
+    default void fill(AreaContext context, Area first, Area second, int[] out, int x0, int z0, int width, int height)
+    {
+        final int[] secondValues = new int[width * height];
+        first.fill(out, x0, z0, width, height);
+        second.fill(secondValues, x0, z0, width, height);
+        for (int dz = 0; dz < height; dz++)
+        {
+            for (int dx = 0; dx < width; dx++)
+            {
+                final int index = dx + dz * width;
+                context.setSeed(x0 + dx, z0 + dz);
+                out[index] = apply(context, out[index], secondValues[index]);
+            }
+        }
+    }
+
     int apply(AreaContext context, int first, int second);
 }
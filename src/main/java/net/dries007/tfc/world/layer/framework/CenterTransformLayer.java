@@ -17,5 +17,20 @@ public interface CenterTransformLayer extends TransformLayer
         return apply(context, area.get(x, z));
     }
 
+    @Override
+    default void fill(AreaContext context, Area area, int[] out, int x0, int z0, int width, int height)
+    {
+        area.fill(out, x0, z0, width, height);
+        for (int dz = 0; dz < height; dz++)
+        {
+            for (int dx = 0; dx < width; dx++)
+            {
+                final int index = dx + dz * width;
+                context.setSeed(x0 + dx, z0 + dz);
+                out[index] = apply(context, out[index]);
+            }
+        }
+    }
+
     int apply(AreaContext context, int value);
 }
@@ -6,25 +6,87 @@
 
 package net.dries007.tfc.world.layer.framework;
 
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.IntFunction;
 
+import net.dries007.tfc.world.FastConcurrentCache;
+
 /**
  * A concurrent wrapper around {@link Area} via the underlying {@link AreaFactory}.
  * Also supports simple mapping of the output to another type.
+ * <p>
+ * Mapped results are stored in a bounded cache shared by all threads. Since every layer seeds its random per position, the output of a stack of layers is a pure function of (x, z), and so a value computed by one thread is valid for all others. Only on a miss does a thread fall back to its own {@link Area}, as those are not safe to share.
  */
 public class ConcurrentArea<T>
 {
+    public static final int DEFAULT_CACHE_SIZE = 1 << 14;
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    /**
+     * @return The total number of shared cache hits, across all {@link ConcurrentArea}s.
+     */
+    public static long getHits()
+    {
+        return HITS.sum();
+    }
+
+    /**
+     * @return The total number of shared cache misses, across all {@link ConcurrentArea}s.
+     */
+    public static long getMisses()
+    {
+        return MISSES.sum();
+    }
+
+    public static void resetStats()
+    {
+        HITS.reset();
+        MISSES.reset();
+    }
+
     private final ThreadLocal<Area> area;
     private final IntFunction<T> mappingFunction;
+    private final FastConcurrentCache<T> cache;
 
     public ConcurrentArea(AreaFactory factory, IntFunction<T> mappingFunction)
+    {
+        this(factory, mappingFunction, DEFAULT_CACHE_SIZE);
+    }
+
+    public ConcurrentArea(AreaFactory factory, IntFunction<T> mappingFunction, int cacheSize)
     {
         this.area = ThreadLocal.withInitial(factory);
         this.mappingFunction = mappingFunction;
+        this.cache = new FastConcurrentCache<>(cacheSize);
     }
 
     public T get(int x, int z)
     {
-        return mappingFunction.apply(area.get().get(x, z));
+        T value = cache.getIfPresent(x, z);
+        if (value != null)
+        {
+            HITS.increment();
+            return value;
+        }
+        MISSES.increment();
+        value = mappingFunction.apply(area.get().get(x, z));
+        cache.set(x, z, value);
+        return value;
+    }
+
+    /**
+     * Computes a rectangular region, where the value at (x0 + dx, z0 + dz) is placed in {@code out[dx + dz * width]}.
+     * This evaluates the layer stack in bulk, bypassing both the shared and per-layer caches.
+     */
+    public void fill(T[] out, int x0, int z0, int width, int height)
+    {
+        final int[] values = new int[width * height];
+        area.get().fill(values, x0, z0, width, height);
+        for (int i = 0; i < values.length; i++)
+        {
+            out[i] = mappingFunction.apply(values[i]);
+        }
     }
 }
@@ -17,12 +17,38 @@ public interface MergeLayer
             final AreaContext context = new AreaContext(seed);
             final Area firstArea = first.get();
             final Area secondArea = second.get();
-            return new Area((x, z) -> {
-                context.setSeed(x, z);
-                return apply(context, firstArea, secondArea, x, z);
+            return new Area(new AreaSource()
+            {
+                @Override
+                public int apply(int x, int z)
+                {
+                    context.setSeed(x, z);
+                    return MergeLayer.this.apply(context, firstArea, secondArea, x, z);
+                }
+
+                @Override
+                public void fill(int[] out, int x0, int z0, int width, int height)
+                {
+                    MergeLayer.this.fill(context, firstArea, secondArea, out, x0, z0, width, height);
+                }
             }, 1024);
         };
     }
 
     int apply(AreaContext context, Area first, Area second, int x, int z);
+
+    /**
+     * @see TransformLayer#fill(AreaContext, Area, int[], int, int, int, int)
+     */
+    default void fill(AreaContext context, Area first, Area second, int[] out, int x0, int z0, int width, int height)
+    {
+        for (int dz = 0; dz < height; dz++)
+        {
+            for (int dx = 0; dx < width; dx++)
+            {
+                context.setSeed(x0 + dx, z0 + dz);
+                out[dx + dz * width] = apply(context, first, second, x0 + dx, z0 + dz);
+            }
+        }
+    }
 }
@@ -17,12 +17,41 @@ public interface TransformLayer
         return () -> {
             final AreaContext context = new AreaContext(seed);
             final Area prevArea = prev.get();
-            return new Area((x, z) -> {
-                context.setSeed(x, z);
-                return apply(context, prevArea, x, z);
+            return new Area(new AreaSource()
+            {
+                @Override
+                public int apply(int x, int z)
+                {
+                    context.setSeed(x, z);
+                    return TransformLayer.this.apply(context, prevArea, x, z);
+                }
+
+                @Override
+                public void fill(int[] out, int x0, int z0, int width, int height)
+                {
+                    TransformLayer.this.fill(context, prevArea, out, x0, z0, width, height);
+                }
             }, 1024);
         };
     }
 
     int apply(AreaContext context, Area area, int x, int z);
+
+    /**
+     * Computes a rectangular region of this layer. Implementations must produce identical results to {@link #apply(AreaContext, Area, int, int)}, and so must seed the context identically.
+     * By default, this queries each point individually.
+     *
+     * @see AreaSource#fill(int[], int, int, int, int)
+     */
+    default void fill(AreaContext context, Area area, int[] out, int x0, int z0, int width, int height)
+    {
+        for (int dz = 0; dz < height; dz++)
+        {
+            for (int dx = 0; dx < width; dx++)
+            {
+                context.setSeed(x0 + dx, z0 + dz);
+                out[dx + dz * width] = apply(context, area, x0 + dx, z0 + dz);
+            }
+        }
+    }
 }
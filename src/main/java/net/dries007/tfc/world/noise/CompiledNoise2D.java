@@ -0,0 +1,351 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.noise;
+
+import java.util.Arrays;
+
+import net.minecraft.util.Mth;
+
+/**
+ * A chain of {@link Noise2D} operations, flattened into a single evaluator.
+ * <p>
+ * Each combinator in {@link Noise2D} used to wrap the previous noise in a new lambda, so a typical chain (octaves, spread, scaled, add, warped...) became a deep stack of distinct lambda classes calling each other through megamorphic call sites, which the JIT is unable to inline.
+ * Instead, all combinators are recorded here, as a single source noise, a list of input scales, and a flat array of output operations. Operations which need to wrap the entire chain (octaves, domain warping), introduce a new source node, so any chain is evaluated by only a handful of distinct classes.
+ * <p>
+ * The order and precision of all floating point operations is identical to the lambda based implementation, so compiled noise is bit for bit identical to what it replaces.
+ */
+public final class CompiledNoise2D implements Noise2D
+{
+    private static final byte AFFINE = 0;
+    private static final byte CLAMP = 1;
+    private static final byte ABS = 2;
+    private static final byte RIDGED = 3;
+    private static final byte TERRACES = 4;
+    private static final byte ADD = 5;
+    private static final byte LAZY_PRODUCT = 6;
+    private static final byte MAP = 7;
+
+    private static final float[] NO_FLOATS = new float[0];
+    private static final byte[] NO_OPS = new byte[0];
+    private static final Object[] NO_OPERANDS = new Object[0];
+
+    public static CompiledNoise2D of(Noise2D noise)
+    {
+        return noise instanceof CompiledNoise2D compiled ? compiled : new CompiledNoise2D(noise, NO_FLOATS, NO_OPS, NO_FLOATS, NO_OPERANDS);
+    }
+
+    private final Noise2D source;
+    private final float[] inputScales; // Applied to the input coordinates in reverse order
+    private final byte[] ops; // Applied to the output of the source, in order
+    private final float[] params; // Two for each operation
+    private final Object[] operands; // One for each operation, either a Noise2D or a FloatOperator
+    private final ThreadLocal<float[]> scratch; // Reused for sampling operands in fill()
+
+    private CompiledNoise2D(Noise2D source, float[] inputScales, byte[] ops, float[] params, Object[] operands)
+    {
+        this.source = source;
+        this.inputScales = inputScales;
+        this.ops = ops;
+        this.params = params;
+        this.operands = operands;
+        this.scratch = ThreadLocal.withInitial(() -> NO_FLOATS);
+    }
+
+    @Override
+    public float noise(float x, float z)
+    {
+        float sourceX = x, sourceZ = z;
+        for (int i = inputScales.length - 1; i >= 0; i--)
+        {
+            sourceX *= inputScales[i];
+            sourceZ *= inputScales[i];
+        }
+
+        float value = source.noise(sourceX, sourceZ);
+        for (int i = 0; i < ops.length; i++)
+        {
+            final float a = params[i << 1], b = params[(i << 1) + 1];
+            switch (ops[i])
+            {
+                case AFFINE -> value = value * a + b;
+                case CLAMP -> value = Mth.clamp(value, a, b);
+                case ABS -> value = Math.abs(value);
+                case RIDGED -> {
+                    value = value < 0 ? -value : value;
+                    value = 1f - 2f * value;
+                }
+                case TERRACES -> {
+                    final int levels = (int) a;
+                    final float rounded = (int) ((0.5f * value + 0.5f) * levels);
+                    value = (rounded * 2f) / levels - 1f;
+                }
+                case ADD -> value = value + ((Noise2D) operands[i]).noise(x, z);
+                case LAZY_PRODUCT -> value = value == 0 ? 0 : value * ((Noise2D) operands[i]).noise(x, z);
+                case MAP -> value = ((FloatOperator) operands[i]).applyAsFloat(value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Evaluates each operation over the entire grid in turn, rather than each position through the entire chain.
+     * The operations applied to each value, and their order, are the same as {@link #noise(float, float)}.
+     */
+    @Override
+    public void fill(float[] out, int x0, int z0, int width, int height, int step)
+    {
+        final int size = width * height;
+        if (inputScales.length == 0)
+        {
+            source.fill(out, x0, z0, width, height, step);
+        }
+        else
+        {
+            for (int dz = 0; dz < height; dz++)
+            {
+                for (int dx = 0; dx < width; dx++)
+                {
+                    float sourceX = x0 + dx * step, sourceZ = z0 + dz * step;
+                    for (int i = inputScales.length - 1; i >= 0; i--)
+                    {
+                        sourceX *= inputScales[i];
+                        sourceZ *= inputScales[i];
+                    }
+                    out[dx + width * dz] = source.noise(sourceX, sourceZ);
+                }
+            }
+        }
+
+        for (int i = 0; i < ops.length; i++)
+        {
+            final float a = params[i << 1], b = params[(i << 1) + 1];
+            switch (ops[i])
+            {
+                case AFFINE -> {
+                    for (int j = 0; j < size; j++)
+                    {
+                        out[j] = out[j] * a + b;
+                    }
+                }
+                case CLAMP -> {
+                    for (int j = 0; j < size; j++)
+                    {
+                        out[j] = Mth.clamp(out[j], a, b);
+                    }
+                }
+                case ABS -> {
+                    for (int j = 0; j < size; j++)
+                    {
+                        out[j] = Math.abs(out[j]);
+                    }
+                }
+                case RIDGED -> {
+                    for (int j = 0; j < size; j++)
+                    {
+                        final float value = out[j] < 0 ? -out[j] : out[j];
+                        out[j] = 1f - 2f * value;
+                    }
+                }
+                case TERRACES -> {
+                    final int levels = (int) a;
+                    for (int j = 0; j < size; j++)
+                    {
+                        final float rounded = (int) ((0.5f * out[j] + 0.5f) * levels);
+                        out[j] = (rounded * 2f) / levels - 1f;
+                    }
+                }
+                case ADD -> {
+                    float[] other = scratch.get();
+                    if (other.length < size)
+                    {
+                        scratch.set(other = new float[size]);
+                    }
+                    ((Noise2D) operands[i]).fill(other, x0, z0, width, height, step);
+                    for (int j = 0; j < size; j++)
+                    {
+                        out[j] = out[j] + other[j];
+                    }
+                }
+                case LAZY_PRODUCT -> {
+                    // Evaluated per position, to preserve the laziness
+                    final Noise2D other = (Noise2D) operands[i];
+                    for (int dz = 0; dz < height; dz++)
+                    {
+                        for (int dx = 0; dx < width; dx++)
+                        {
+                            final int j = dx + width * dz;
+                            out[j] = out[j] == 0 ? 0 : out[j] * other.noise(x0 + dx * step, z0 + dz * step);
+                        }
+                    }
+                }
+                case MAP -> {
+                    final FloatOperator operator = (FloatOperator) operands[i];
+                    for (int j = 0; j < size; j++)
+                    {
+                        out[j] = operator.applyAsFloat(out[j]);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public CompiledNoise2D octaves(int octaves)
+    {
+        return new CompiledNoise2D(new Octaves(unwrap(), octaves), NO_FLOATS, NO_OPS, NO_FLOATS, NO_OPERANDS);
+    }
+
+    @Override
+    public CompiledNoise2D ridged()
+    {
+        return append(RIDGED, 0, 0, null);
+    }
+
+    @Override
+    public CompiledNoise2D abs()
+    {
+        return append(ABS, 0, 0, null);
+    }
+
+    @Override
+    public CompiledNoise2D terraces(int levels)
+    {
+        return append(TERRACES, levels, 0, null);
+    }
+
+    @Override
+    public CompiledNoise2D spread(float scaleFactor)
+    {
+        for (byte op : ops)
+        {
+            if (op == ADD || op == LAZY_PRODUCT)
+            {
+                // The other noise is sampled at unscaled coordinates, so the whole chain needs to be wrapped
+                return new CompiledNoise2D(this, new float[] {scaleFactor}, NO_OPS, NO_FLOATS, NO_OPERANDS);
+            }
+        }
+        final float[] newInputScales = Arrays.copyOf(inputScales, inputScales.length + 1);
+        newInputScales[inputScales.length] = scaleFactor;
+        return new CompiledNoise2D(source, newInputScales, ops, params, operands);
+    }
+
+    @Override
+    public CompiledNoise2D scaled(float min, float max)
+    {
+        return scaled(-1, 1, min, max);
+    }
+
+    @Override
+    public CompiledNoise2D scaled(float oldMin, float oldMax, float min, float max)
+    {
+        final float scale = (max - min) / (oldMax - oldMin);
+        final float shift = min - oldMin * scale;
+        return affine(scale, shift);
+    }
+
+    @Override
+    public CompiledNoise2D affine(float scale, float shift)
+    {
+        return append(AFFINE, scale, shift, null);
+    }
+
+    @Override
+    public CompiledNoise2D warped(OpenSimplex2D warp)
+    {
+        return new CompiledNoise2D(new Warped(unwrap(), warp), NO_FLOATS, NO_OPS, NO_FLOATS, NO_OPERANDS);
+    }
+
+    @Override
+    public CompiledNoise2D clamped(float min, float max)
+    {
+        return append(CLAMP, min, max, null);
+    }
+
+    @Override
+    public CompiledNoise2D add(Noise2D other)
+    {
+        return append(ADD, 0, 0, other);
+    }
+
+    @Override
+    public CompiledNoise2D lazyProduct(Noise2D other)
+    {
+        return append(LAZY_PRODUCT, 0, 0, other);
+    }
+
+    @Override
+    public CompiledNoise2D map(FloatOperator mappingFunction)
+    {
+        return append(MAP, 0, 0, mappingFunction);
+    }
+
+    private CompiledNoise2D append(byte op, float a, float b, Object operand)
+    {
+        final int size = ops.length;
+        final byte[] newOps = Arrays.copyOf(ops, size + 1);
+        final float[] newParams = Arrays.copyOf(params, (size + 1) << 1);
+        final Object[] newOperands = Arrays.copyOf(operands, size + 1);
+
+        newOps[size] = op;
+        newParams[size << 1] = a;
+        newParams[(size << 1) + 1] = b;
+        newOperands[size] = operand;
+        return new CompiledNoise2D(source, inputScales, newOps, newParams, newOperands);
+    }
+
+    /**
+     * @return The source noise, if this chain doesn't do anything else, to avoid a redundant layer of indirection.
+     */
+    private Noise2D unwrap()
+    {
+        return inputScales.length == 0 && ops.length == 0 ? source : this;
+    }
+
+    record Octaves(Noise2D source, float[] frequency, float[] amplitude) implements Noise2D
+    {
+        Octaves(Noise2D source, int octaves)
+        {
+            this(source, new float[octaves], new float[octaves]);
+            for (int i = 0; i < octaves; i++)
+            {
+                frequency[i] = 1 << i;
+                amplitude[i] = (float) Math.pow(0.5f, octaves - i);
+            }
+        }
+
+        @Override
+        public float noise(float x, float z)
+        {
+            float value = 0;
+            for (int i = 0; i < frequency.length; i++)
+            {
+                value += source.noise(x / frequency[i], z / frequency[i]) * amplitude[i];
+            }
+            return value;
+        }
+    }
+
+    record Warped(Noise2D source, FastNoiseLite warp) implements Noise2D
+    {
+        Warped(Noise2D source, OpenSimplex2D warp)
+        {
+            this(source, warp.fnl);
+            warp.fnl.SetDomainWarpType(FastNoiseLite.DomainWarpType.OpenSimplex2);
+            warp.fnl.SetFractalType(FastNoiseLite.FractalType.DomainWarpIndependent);
+            warp.fnl.SetDomainWarpAmp(warp.getAmplitude() * 2);
+        }
+
+        @Override
+        public float noise(float x, float z)
+        {
+            // A new cursor for each call, as this may be sampled from many threads at once. This is cheap, as the JIT is able to eliminate the allocation entirely.
+            final FastNoiseLite.Vector2 cursor = new FastNoiseLite.Vector2(x, z);
+            warp.DomainWarp(cursor);
+            return source.noise(cursor.x, cursor.y);
+        }
+    }
+}
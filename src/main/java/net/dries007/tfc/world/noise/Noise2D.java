@@ -6,10 +6,9 @@
 
 package net.dries007.tfc.world.noise;
 
-import net.minecraft.util.Mth;
-
 /**
- * Wrapper for a 2D noise layer
+ * Wrapper for a 2D noise layer.
+ * All combinators are recorded by {@link CompiledNoise2D}, which evaluates the resulting chain without nesting lambdas.
  */
 @FunctionalInterface
 public interface Noise2D
@@ -17,25 +16,30 @@ public interface Noise2D
     float noise(float x, float z);
 
     /**
-     * @param octaves The number of octaves
+     * Samples this noise over a grid of positions, equivalent to calling {@link #noise(float, float)} at each position.
+     *
+     * @param out  The output array, indexed by {@code dx + width * dz}. Must be at least {@code width * height} in size.
+     * @param x0   The minimum x position.
+     * @param z0   The minimum z position.
+     * @param step The distance between adjacent positions.
      */
-    default Noise2D octaves(int octaves)
+    default void fill(float[] out, int x0, int z0, int width, int height, int step)
     {
-        final float[] frequency = new float[octaves];
-        final float[] amplitude = new float[octaves];
-        for (int i = 0; i < octaves; i++)
+        for (int dz = 0; dz < height; dz++)
         {
-            frequency[i] = 1 << i;
-            amplitude[i] = (float) Math.pow(0.5f, octaves - i);
-        }
-        return (x, y) -> {
-            float value = 0;
-            for (int i = 0; i < octaves; i++)
+            for (int dx = 0; dx < width; dx++)
             {
-                value += Noise2D.this.noise(x / frequency[i], y / frequency[i]) * amplitude[i];
+                out[dx + width * dz] = noise(x0 + dx * step, z0 + dz * step);
             }
-            return value;
-        };
+        }
+    }
+
+    /**
+     * @param octaves The number of octaves
+     */
+    default Noise2D octaves(int octaves)
+    {
+        return CompiledNoise2D.of(this).octaves(octaves);
     }
 
     /**
@@ -45,11 +49,7 @@ public interface Noise2D
      */
     default Noise2D ridged()
     {
-        return (x, y) -> {
-            float value = Noise2D.this.noise(x, y);
-            value = value < 0 ? -value : value;
-            return 1f - 2f * value;
-        };
+        return CompiledNoise2D.of(this).ridged();
     }
 
     /**
@@ -59,7 +59,7 @@ public interface Noise2D
      */
     default Noise2D abs()
     {
-        return (x, y) -> Math.abs(Noise2D.this.noise(x, y));
+        return CompiledNoise2D.of(this).abs();
     }
 
     /**
@@ -71,11 +71,7 @@ public interface Noise2D
      */
     default Noise2D terraces(int levels)
     {
-        return (x, y) -> {
-            float value = 0.5f * Noise2D.this.noise(x, y) + 0.5f;
-            float rounded = (int) (value * levels); // In range [0, levels)
-            return (rounded * 2f) / levels - 1f;
-        };
+        return CompiledNoise2D.of(this).terraces(levels);
     }
 
     /**
@@ -86,7 +82,7 @@ public interface Noise2D
      */
     default Noise2D spread(float scaleFactor)
     {
-        return (x, y) -> Noise2D.this.noise(x * scaleFactor, y * scaleFactor);
+        return CompiledNoise2D.of(this).spread(scaleFactor);
     }
 
     default Noise2D scaled(float min, float max)
@@ -105,28 +101,20 @@ public interface Noise2D
      */
     default Noise2D scaled(float oldMin, float oldMax, float min, float max)
     {
-        final float scale = (max - min) / (oldMax - oldMin);
-        final float shift = min - oldMin * scale;
-        return affine(scale, shift);
+        return CompiledNoise2D.of(this).scaled(oldMin, oldMax, min, max);
     }
 
     default Noise2D affine(float scale, float shift)
     {
-        return (x, y) -> Noise2D.this.noise(x, y) * scale + shift;
+        return CompiledNoise2D.of(this).affine(scale, shift);
     }
 
+    /**
+     * Warps the input coordinates of this noise. The result is safe to sample from multiple threads.
+     */
     default Noise2D warped(OpenSimplex2D warp)
     {
-        warp.fnl.SetDomainWarpType(FastNoiseLite.DomainWarpType.OpenSimplex2);
-        warp.fnl.SetFractalType(FastNoiseLite.FractalType.DomainWarpIndependent);
-        warp.fnl.SetDomainWarpAmp(warp.getAmplitude() * 2);
-        final FastNoiseLite.Vector2 cursor = new FastNoiseLite.Vector2(0, 0);
-        return (x, z) -> {
-            cursor.x = x;
-            cursor.y = z;
-            warp.fnl.DomainWarp(cursor);
-            return Noise2D.this.noise(cursor.x, cursor.y);
-        };
+        return CompiledNoise2D.of(this).warped(warp);
     }
 
     /**
@@ -138,7 +126,7 @@ public interface Noise2D
      */
     default Noise2D clamped(float min, float max)
     {
-        return (x, y) -> Mth.clamp(Noise2D.this.noise(x, y), min, max);
+        return CompiledNoise2D.of(this).clamped(min, max);
     }
 
     /**
@@ -146,7 +134,7 @@ public interface Noise2D
      */
     default Noise2D add(Noise2D other)
     {
-        return (x, y) -> Noise2D.this.noise(x, y) + other.noise(x, y);
+        return CompiledNoise2D.of(this).add(other);
     }
 
     /**
@@ -154,15 +142,12 @@ public interface Noise2D
      */
     default Noise2D lazyProduct(Noise2D other)
     {
-        return (x, y) -> {
-            final float value = Noise2D.this.noise(x, y);
-            return value == 0 ? 0 : value * other.noise(x, y);
-        };
+        return CompiledNoise2D.of(this).lazyProduct(other);
     }
 
     default Noise2D map(FloatOperator mappingFunction)
     {
-        return (x, y) -> mappingFunction.applyAsFloat(Noise2D.this.noise(x, y));
+        return CompiledNoise2D.of(this).map(mappingFunction);
     }
 
     @FunctionalInterface
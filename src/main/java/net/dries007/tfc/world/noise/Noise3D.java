@@ -74,11 +74,9 @@ public interface Noise3D
         warp.fnl.SetDomainWarpType(FastNoiseLite.DomainWarpType.OpenSimplex2);
         warp.fnl.SetFractalType(FastNoiseLite.FractalType.DomainWarpIndependent);
         warp.fnl.SetDomainWarpAmp(warp.getAmplitude() * 2);
-        final FastNoiseLite.Vector3 cursor = new FastNoiseLite.Vector3(0, 0, 0);
         return (x, y, z) -> {
-            cursor.x = x;
-            cursor.y = y;
-            cursor.z = z;
+            // A new cursor for each call, as this may be sampled from many threads at once
+            final FastNoiseLite.Vector3 cursor = new FastNoiseLite.Vector3(x, y, z);
             warp.fnl.DomainWarp(cursor);
             return Noise3D.this.noise(cursor.x, cursor.y, cursor.z);
         };
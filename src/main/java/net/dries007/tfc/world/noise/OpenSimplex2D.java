@@ -35,6 +35,21 @@ public class OpenSimplex2D implements Noise2D
         return midpoint + fnl.GetNoise(x, z) * amplitude;
     }
 
+    @Override
+    public void fill(float[] out, int x0, int z0, int width, int height, int step)
+    {
+        final FastNoiseLite fnl = this.fnl;
+        final float midpoint = this.midpoint, amplitude = this.amplitude;
+        for (int dz = 0; dz < height; dz++)
+        {
+            final float z = z0 + dz * step;
+            for (int dx = 0; dx < width; dx++)
+            {
+                out[dx + width * dz] = midpoint + fnl.GetNoise(x0 + dx * step, z) * amplitude;
+            }
+        }
+    }
+
     @Override
     public OpenSimplex2D octaves(int octaves)
     {
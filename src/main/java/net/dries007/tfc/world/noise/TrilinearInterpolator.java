@@ -6,114 +6,269 @@
 
 package net.dries007.tfc.world.noise;
 
+import java.util.Arrays;
+import org.jetbrains.annotations.Nullable;
+
 import net.minecraft.util.Mth;
 
 /**
- * An abstraction for trilinear interpolation.
+ * An abstraction for trilinear interpolation, of one or more channels sampled over the same grid.
  * Source coordinates are full resolution but only sampled at values that are divisible by the cell width / cell height.
  * The iteration order here is changed to go:
  * 1) Sample / swap slices (cell x)
  * 2) Select slice y/z (cell y, cell z)
  * 3) Select x/z (local x, local z)
  * 4) Select y (local y)
+ * <p>
+ * Each slice stores all channels in a single flat array, with the channels of each grid point adjacent. Grid points are sampled lazily, the first time a cell which uses them is selected, so cells which are never visited (i.e. above the surface) are never sampled.
+ * The last few channels may be marked as dependent on a parent channel. These are only sampled, and interpolated, for cells where the parent channel may be non-negative, and their values are meaningless otherwise.
+ * <p>
+ * Slices may optionally be sampled all at once, ahead of time, via {@link #allocateSlices()} and {@link #fillSlices(int, int)}. As disjoint ranges of cell y may be sampled concurrently, the sources must be thread safe in this case.
  *
  * @see net.minecraft.world.level.levelgen.NoiseChunk.NoiseInterpolator
  */
 public final class TrilinearInterpolator
 {
+    private static final byte SAMPLED = 1; // Independent channels have been sampled
+    private static final byte SAMPLED_DEPENDENTS = 2; // Dependent channels have been sampled
+
     private final ChunkNoiseSamplingSettings settings;
-    private final Source source;
+    private final Source[] sources;
+    private final int channels;
+    private final int parent; // The channel which dependent channels depend on
+    private final int firstDependent; // The first dependent channel, or the number of channels if there are none
+    private final int sizeY; // The number of grid points in each slice in the y direction
+
+    private double[] slice0, slice1; // Sampled values, indexed by (dz * sizeY + dy) * channels + channel
+    private byte[] sampled0, sampled1; // Which channels have been sampled, for each grid point
+    private int sliceX0, sliceX1; // The absolute cell x of each slice
+
+    @Nullable private double[][] slices; // Every slice in the chunk, indexed by cell x, if sampled ahead of time
+    @Nullable private byte[][] sampled;
 
-    private double[][] slice0;
-    private double[][] slice1;
-    private double noise000, noise001, noise100, noise101, noise010, noise011, noise110, noise111;
-    private double valueX0Z, valueX1Z;
-    private double valueXYZ;
+    private final double[] noise; // The eight corners of the selected cell, for each channel
+    private final double[] valueX0Z, valueX1Z;
+    private final double[] valueXYZ;
+    private int activeChannels; // The number of channels interpolated for the selected cell
+
+    public TrilinearInterpolator(ChunkNoiseSamplingSettings settings, Source... sources)
+    {
+        this(settings, sources, -1, 0);
+    }
 
-    public TrilinearInterpolator(ChunkNoiseSamplingSettings settings, Source source)
+    /**
+     * @param sources    The source for each channel.
+     * @param parent     The channel which the dependent channels depend on. Must not itself be dependent.
+     * @param dependents The number of channels, at the end of {@code sources}, which are only required where the parent channel is non-negative.
+     */
+    public TrilinearInterpolator(ChunkNoiseSamplingSettings settings, Source[] sources, int parent, int dependents)
     {
         this.settings = settings;
-        this.source = source;
+        this.sources = sources;
+        this.channels = sources.length;
+        this.parent = parent;
+        this.firstDependent = channels - dependents;
+        this.sizeY = settings.cellCountY() + 1;
 
-        this.slice0 = allocateSlice(settings.cellCountY(), settings.cellCountXZ());
-        this.slice1 = allocateSlice(settings.cellCountY(), settings.cellCountXZ());
+        assert dependents == 0 || (parent >= 0 && parent < firstDependent);
+
+        final int sliceSize = (settings.cellCountXZ() + 1) * sizeY;
+        this.slice0 = new double[sliceSize * channels];
+        this.slice1 = new double[sliceSize * channels];
+        this.sampled0 = new byte[sliceSize];
+        this.sampled1 = new byte[sliceSize];
+
+        this.noise = new double[8 * channels];
+        this.valueX0Z = new double[channels];
+        this.valueX1Z = new double[channels];
+        this.valueXYZ = new double[channels];
+    }
+
+    /**
+     * Allocates storage for every slice in the chunk, which must then be sampled ahead of time with {@link #fillSlices(int, int)}.
+     */
+    public void allocateSlices()
+    {
+        final int sliceSize = (settings.cellCountXZ() + 1) * sizeY;
+        slices = new double[settings.cellCountXZ() + 1][];
+        sampled = new byte[settings.cellCountXZ() + 1][];
+        for (int dx = 0; dx < slices.length; dx++)
+        {
+            slices[dx] = new double[sliceSize * channels];
+            sampled[dx] = new byte[sliceSize];
+        }
+    }
+
+    /**
+     * Samples the independent channels in the range [minCellY, maxCellY) of every slice in the chunk. Dependent channels are still sampled lazily.
+     * Each sample is identical to one taken lazily, and disjoint ranges may be filled concurrently.
+     */
+    public void fillSlices(int minCellY, int maxCellY)
+    {
+        assert slices != null && sampled != null;
+        for (int dx = 0; dx < slices.length; dx++)
+        {
+            final int cellX = settings.firstCellX() + dx;
+            for (int dz = 0; dz < settings.cellCountXZ() + 1; dz++)
+            {
+                for (int dy = minCellY; dy < maxCellY; dy++)
+                {
+                    final int point = dz * sizeY + dy;
+                    sampleChannels(slices[dx], point, cellX, dz, dy, 0, firstDependent);
+                    sampled[dx][point] = SAMPLED;
+                }
+            }
+        }
     }
 
     public void initializeForFirstCellX()
     {
-        fillSlice(slice0, settings.firstCellX());
+        if (slices != null && sampled != null)
+        {
+            slice0 = slices[0];
+            sampled0 = sampled[0];
+        }
+        else
+        {
+            Arrays.fill(sampled0, (byte) 0);
+        }
+        sliceX0 = settings.firstCellX();
     }
 
     public void advanceCellX(int cellX)
     {
-        fillSlice(slice1, settings.firstCellX() + cellX + 1);
+        if (slices != null && sampled != null)
+        {
+            slice1 = slices[cellX + 1];
+            sampled1 = sampled[cellX + 1];
+        }
+        else
+        {
+            Arrays.fill(sampled1, (byte) 0);
+        }
+        sliceX1 = settings.firstCellX() + cellX + 1;
     }
 
     public void selectCellYZ(int cellY, int cellZ)
     {
-        noise000 = slice0[cellZ][cellY];
-        noise001 = slice0[cellZ + 1][cellY];
-        noise100 = slice1[cellZ][cellY];
-        noise101 = slice1[cellZ + 1][cellY];
-        noise010 = slice0[cellZ][cellY + 1];
-        noise011 = slice0[cellZ + 1][cellY + 1];
-        noise110 = slice1[cellZ][cellY + 1];
-        noise111 = slice1[cellZ + 1][cellY + 1];
+        final int point00 = cellZ * sizeY + cellY; // (z, y)
+        final int point01 = point00 + sizeY; // (z + 1, y)
+        final int point10 = point00 + 1; // (z, y + 1)
+        final int point11 = point01 + 1; // (z + 1, y + 1)
+
+        ensureSampled(slice0, sampled0, sliceX0, point00, cellZ, cellY);
+        ensureSampled(slice0, sampled0, sliceX0, point01, cellZ + 1, cellY);
+        ensureSampled(slice0, sampled0, sliceX0, point10, cellZ, cellY + 1);
+        ensureSampled(slice0, sampled0, sliceX0, point11, cellZ + 1, cellY + 1);
+        ensureSampled(slice1, sampled1, sliceX1, point00, cellZ, cellY);
+        ensureSampled(slice1, sampled1, sliceX1, point01, cellZ + 1, cellY);
+        ensureSampled(slice1, sampled1, sliceX1, point10, cellZ, cellY + 1);
+        ensureSampled(slice1, sampled1, sliceX1, point11, cellZ + 1, cellY + 1);
+
+        activeChannels = firstDependent;
+        if (firstDependent < channels && (
+            slice0[point00 * channels + parent] >= 0 || slice0[point01 * channels + parent] >= 0 || slice0[point10 * channels + parent] >= 0 || slice0[point11 * channels + parent] >= 0 ||
+            slice1[point00 * channels + parent] >= 0 || slice1[point01 * channels + parent] >= 0 || slice1[point10 * channels + parent] >= 0 || slice1[point11 * channels + parent] >= 0))
+        {
+            // The parent channel may be non-negative somewhere in this cell, so the dependent channels are required
+            ensureDependentsSampled(slice0, sampled0, sliceX0, point00, cellZ, cellY);
+            ensureDependentsSampled(slice0, sampled0, sliceX0, point01, cellZ + 1, cellY);
+            ensureDependentsSampled(slice0, sampled0, sliceX0, point10, cellZ, cellY + 1);
+            ensureDependentsSampled(slice0, sampled0, sliceX0, point11, cellZ + 1, cellY + 1);
+            ensureDependentsSampled(slice1, sampled1, sliceX1, point00, cellZ, cellY);
+            ensureDependentsSampled(slice1, sampled1, sliceX1, point01, cellZ + 1, cellY);
+            ensureDependentsSampled(slice1, sampled1, sliceX1, point10, cellZ, cellY + 1);
+            ensureDependentsSampled(slice1, sampled1, sliceX1, point11, cellZ + 1, cellY + 1);
+            activeChannels = channels;
+        }
+
+        for (int channel = 0; channel < activeChannels; channel++)
+        {
+            final int i = channel << 3;
+            noise[i] = slice0[point00 * channels + channel]; // 000
+            noise[i + 1] = slice0[point01 * channels + channel]; // 001
+            noise[i + 2] = slice1[point00 * channels + channel]; // 100
+            noise[i + 3] = slice1[point01 * channels + channel]; // 101
+            noise[i + 4] = slice0[point10 * channels + channel]; // 010
+            noise[i + 5] = slice0[point11 * channels + channel]; // 011
+            noise[i + 6] = slice1[point10 * channels + channel]; // 110
+            noise[i + 7] = slice1[point11 * channels + channel]; // 111
+        }
     }
 
     public void updateForXZ(double x, double z)
     {
-        final double valueX00 = Mth.lerp(x, noise000, noise100);
-        final double valueX10 = Mth.lerp(x, noise010, noise110);
-        final double valueX01 = Mth.lerp(x, noise001, noise101);
-        final double valueX11 = Mth.lerp(x, noise011, noise111);
+        for (int channel = 0; channel < activeChannels; channel++)
+        {
+            final int i = channel << 3;
+            final double valueX00 = Mth.lerp(x, noise[i], noise[i + 2]);
+            final double valueX10 = Mth.lerp(x, noise[i + 4], noise[i + 6]);
+            final double valueX01 = Mth.lerp(x, noise[i + 1], noise[i + 3]);
+            final double valueX11 = Mth.lerp(x, noise[i + 5], noise[i + 7]);
 
-        valueX0Z = Mth.lerp(z, valueX00, valueX01);
-        valueX1Z = Mth.lerp(z, valueX10, valueX11);
+            valueX0Z[channel] = Mth.lerp(z, valueX00, valueX01);
+            valueX1Z[channel] = Mth.lerp(z, valueX10, valueX11);
+        }
     }
 
     public void updateForY(double y)
     {
-        valueXYZ = Mth.lerp(y, valueX0Z, valueX1Z);
+        for (int channel = 0; channel < activeChannels; channel++)
+        {
+            valueXYZ[channel] = Mth.lerp(y, valueX0Z[channel], valueX1Z[channel]);
+        }
     }
 
-    public double sample()
+    /**
+     * @return The interpolated value of a channel. For dependent channels, this is only meaningful where the parent channel is non-negative.
+     */
+    public double sample(int channel)
     {
-        return this.valueXYZ;
+        return valueXYZ[channel];
     }
 
     public void swapSlices()
     {
-        final double[][] temp = slice0;
+        final double[] tempSlice = slice0;
         slice0 = slice1;
-        slice1 = temp;
+        slice1 = tempSlice;
+
+        final byte[] tempSampled = sampled0;
+        sampled0 = sampled1;
+        sampled1 = tempSampled;
+
+        final int tempSliceX = sliceX0;
+        sliceX0 = sliceX1;
+        sliceX1 = tempSliceX;
     }
 
-    private void fillSlice(double[][] slice, int cellX)
+    private void ensureSampled(double[] slice, byte[] sampled, int cellX, int point, int dz, int dy)
     {
-        final int cellWidth = settings.cellWidth();
-        final int cellHeight = settings.cellHeight();
-        for (int dz = 0; dz < settings.cellCountXZ() + 1; ++dz)
+        if ((sampled[point] & SAMPLED) == 0)
         {
-            final int cellZ = settings.firstCellZ() + dz;
-            for (int dy = 0; dy < settings.cellCountY() + 1; ++dy)
-            {
-                final int cellY = dy + settings.firstCellY();
-                slice[dz][dy] = source.sample(cellX * cellWidth, cellY * cellHeight, cellZ * cellWidth);
-            }
+            sampleChannels(slice, point, cellX, dz, dy, 0, firstDependent);
+            sampled[point] |= SAMPLED;
+        }
+    }
+
+    private void ensureDependentsSampled(double[] slice, byte[] sampled, int cellX, int point, int dz, int dy)
+    {
+        if ((sampled[point] & SAMPLED_DEPENDENTS) == 0)
+        {
+            sampleChannels(slice, point, cellX, dz, dy, firstDependent, channels);
+            sampled[point] |= SAMPLED_DEPENDENTS;
         }
     }
 
-    private double[][] allocateSlice(int cellCountY, int cellCountXZ)
+    private void sampleChannels(double[] slice, int point, int cellX, int dz, int dy, int minChannel, int maxChannel)
     {
-        final int sizeXZ = cellCountXZ + 1;
-        final int sizeY = cellCountY + 1;
-        final double[][] slice = new double[sizeXZ][sizeY];
-        for (int k = 0; k < sizeXZ; ++k)
+        final int x = cellX * settings.cellWidth();
+        final int y = (settings.firstCellY() + dy) * settings.cellHeight();
+        final int z = (settings.firstCellZ() + dz) * settings.cellWidth();
+        for (int channel = minChannel; channel < maxChannel; channel++)
         {
-            slice[k] = new double[sizeY];
+            slice[point * channels + channel] = sources[channel].sample(x, y, z);
         }
-        return slice;
     }
 
     @FunctionalInterface
@@ -83,7 +83,7 @@ public class MidpointFractal
     }
 
     public final float[] segments;
-    private final float norm;
+    final float norm;
 
     public MidpointFractal(RandomSource random, int bisections, float sourceX, float sourceY, float drainX, float drainY)
     {
@@ -93,6 +93,15 @@ public class MidpointFractal
         this.norm = ENCOMPASSING_RANGES[bisections] * RiverHelpers.normInf(sourceX - drainX, sourceY - drainY);
     }
 
+    /**
+     * Restores a previously generated fractal, see {@link WatershedStore}
+     */
+    MidpointFractal(float[] segments, float norm)
+    {
+        this.segments = segments;
+        this.norm = norm;
+    }
+
     /**
      * Checks if a given point (x, y) comes within a minimum {@code distance} of the bounding box of the fractal.
      * Faster and more efficient than checking {@link #intersect(float, float, float)}.
@@ -120,13 +129,18 @@ public class MidpointFractal
     public Flow intersectWithFlow(float x, float y, float distance)
     {
         final int i = intersectIndex(x, y, distance * distance);
-        if (i != -1)
-        {
-            float sourceX = segments[i], sourceY = segments[i + 1], drainX = segments[i + 2], drainY = segments[i + 3];
-            float angle = (float) Mth.atan2(-(drainY - sourceY), drainX - sourceX);
-            return Flow.fromAngle(angle);
-        }
-        return Flow.NONE;
+        return i != -1 ? flowAt(i) : Flow.NONE;
+    }
+
+    /**
+     * @param i The index of the start of a segment, in {@link #segments}.
+     * @return The flow of the river along that segment.
+     */
+    public Flow flowAt(int i)
+    {
+        float sourceX = segments[i], sourceY = segments[i + 1], drainX = segments[i + 2], drainY = segments[i + 3];
+        float angle = (float) Mth.atan2(-(drainY - sourceY), drainX - sourceX);
+        return Flow.fromAngle(angle);
     }
 
     private int intersectIndex(float x, float y, float distSq)
@@ -82,9 +82,14 @@ public class RiverFractal
     private final List<MidpointFractal> fractals;
 
     public RiverFractal(List<Edge> edges, RandomSource random)
+    {
+        this(edges, edges.stream().map(e -> e.fractal(random, 4)).toList());
+    }
+
+    RiverFractal(List<Edge> edges, List<MidpointFractal> fractals)
     {
         this.edges = edges;
-        this.fractals = edges.stream().map(e -> e.fractal(random, 4)).toList();
+        this.fractals = fractals;
     }
 
     @Override
@@ -0,0 +1,188 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.river;
+
+import java.util.List;
+
+import net.minecraft.util.Mth;
+
+/**
+ * The fractals which may intersect a single partition area, along with a uniform grid index of their segments, so a query only needs to test the segments near the queried point.
+ * <p>
+ * Each cell of the grid holds every (fractal, segment) pair whose bounding box, expanded by the river width, overlaps the cell, sorted in the same order that a linear scan over {@link #getFractals()} would visit them.
+ * The first intersecting entry in a cell is therefore the same segment that the linear scan would find, and results are identical to querying each fractal in turn.
+ */
+public final class RiverPartition
+{
+    private static final int GRID_BITS = 3;
+    private static final int GRID_SIZE = 1 << GRID_BITS;
+
+    private static final int SEGMENT_BITS = 16;
+    private static final int SEGMENT_MASK = (1 << SEGMENT_BITS) - 1;
+
+    /**
+     * The distance which bounding boxes are expanded by, in watershed coordinates. This is larger than the river width, so that rounding can never exclude a segment which the exact test would accept.
+     */
+    private static final float MARGIN = 2 * Watershed.RIVER_WIDTH;
+
+    private final List<MidpointFractal> fractals;
+    private final float minX, minZ, cellScale;
+
+    /**
+     * The entries of each cell, in {@link #entries}, are in the range {@code [cellStart[i], cellStart[i + 1])}.
+     * Each entry is a fractal index, and a segment index, packed into an int.
+     */
+    private final int[] cellStart;
+    private final int[] entries;
+
+    /**
+     * @param fractals The fractals in the partition.
+     * @param minX The minimum x of the partition area, in watershed coordinates.
+     * @param minZ The minimum z of the partition area, in watershed coordinates.
+     * @param size The width of the partition area, in watershed coordinates.
+     */
+    public RiverPartition(List<MidpointFractal> fractals, float minX, float minZ, float size)
+    {
+        this.fractals = fractals;
+        this.minX = minX;
+        this.minZ = minZ;
+        this.cellScale = GRID_SIZE / size;
+        this.cellStart = new int[GRID_SIZE * GRID_SIZE + 1];
+
+        // Two passes: first count the entries in each cell, then fill them
+        for (int f = 0; f < fractals.size(); f++)
+        {
+            final float[] segments = fractals.get(f).segments;
+            for (int i = 0; i < segments.length - 2; i += 2)
+            {
+                forEachCell(segments, i, cell -> cellStart[cell + 1]++);
+            }
+        }
+        for (int cell = 0; cell < GRID_SIZE * GRID_SIZE; cell++)
+        {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+
+        this.entries = new int[cellStart[GRID_SIZE * GRID_SIZE]];
+
+        final int[] cursor = new int[GRID_SIZE * GRID_SIZE];
+        for (int f = 0; f < fractals.size(); f++)
+        {
+            final float[] segments = fractals.get(f).segments;
+            for (int i = 0; i < segments.length - 2; i += 2)
+            {
+                final int entry = (f << SEGMENT_BITS) | (i >> 1);
+                forEachCell(segments, i, cell -> entries[cellStart[cell] + cursor[cell]++] = entry);
+            }
+        }
+    }
+
+    public List<MidpointFractal> getFractals()
+    {
+        return fractals;
+    }
+
+    /**
+     * @return {@code true} if the point (x, z), in watershed coordinates, is within the river width of any fractal.
+     */
+    public boolean intersect(float x, float z)
+    {
+        return intersectEntry(x, z) != -1;
+    }
+
+    /**
+     * @return The flow of the first fractal which the point (x, z), in watershed coordinates, is within the river width of, or {@link Flow#NONE}.
+     */
+    public Flow intersectWithFlow(float x, float z)
+    {
+        final int entry = intersectEntry(x, z);
+        return entry != -1 ? fractals.get(entry >>> SEGMENT_BITS).flowAt((entry & SEGMENT_MASK) << 1) : Flow.NONE;
+    }
+
+    /**
+     * @return The packed entry of the first intersecting segment, or -1 if none intersect.
+     */
+    private int intersectEntry(float x, float z)
+    {
+        final int cellX = Mth.floor((x - minX) * cellScale), cellZ = Mth.floor((z - minZ) * cellScale);
+        if (cellX < 0 || cellX >= GRID_SIZE || cellZ < 0 || cellZ >= GRID_SIZE)
+        {
+            return intersectEntryLinear(x, z); // Outside the partition area, so not indexed
+        }
+
+        final int cell = cellX | (cellZ << GRID_BITS);
+        final float distSq = Watershed.RIVER_WIDTH * Watershed.RIVER_WIDTH;
+
+        int lastFractal = -1;
+        boolean maybeIntersect = false;
+        for (int j = cellStart[cell], end = cellStart[cell + 1]; j < end; j++)
+        {
+            final int entry = entries[j];
+            final int f = entry >>> SEGMENT_BITS;
+            final MidpointFractal fractal = fractals.get(f);
+            if (f != lastFractal)
+            {
+                // Same early exit as the linear scan, which is cheaper than testing more than a couple segments
+                lastFractal = f;
+                maybeIntersect = fractal.maybeIntersect(x, z, Watershed.RIVER_WIDTH);
+            }
+            if (maybeIntersect)
+            {
+                final float[] segments = fractal.segments;
+                final int i = (entry & SEGMENT_MASK) << 1;
+                if (RiverHelpers.distancePointToLineSq(segments[i], segments[i + 1], segments[i + 2], segments[i + 3], x, z) < distSq)
+                {
+                    return entry;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private int intersectEntryLinear(float x, float z)
+    {
+        final float distSq = Watershed.RIVER_WIDTH * Watershed.RIVER_WIDTH;
+        for (int f = 0; f < fractals.size(); f++)
+        {
+            final MidpointFractal fractal = fractals.get(f);
+            if (fractal.maybeIntersect(x, z, Watershed.RIVER_WIDTH))
+            {
+                final float[] segments = fractal.segments;
+                for (int i = 0; i < segments.length - 2; i += 2)
+                {
+                    if (RiverHelpers.distancePointToLineSq(segments[i], segments[i + 1], segments[i + 2], segments[i + 3], x, z) < distSq)
+                    {
+                        return (f << SEGMENT_BITS) | (i >> 1);
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    private void forEachCell(float[] segments, int i, CellConsumer action)
+    {
+        final float x0 = Math.min(segments[i], segments[i + 2]) - MARGIN, x1 = Math.max(segments[i], segments[i + 2]) + MARGIN;
+        final float z0 = Math.min(segments[i + 1], segments[i + 3]) - MARGIN, z1 = Math.max(segments[i + 1], segments[i + 3]) + MARGIN;
+
+        final int minCellX = Math.max(0, Mth.floor((x0 - minX) * cellScale)), maxCellX = Math.min(GRID_SIZE - 1, Mth.floor((x1 - minX) * cellScale));
+        final int minCellZ = Math.max(0, Mth.floor((z0 - minZ) * cellScale)), maxCellZ = Math.min(GRID_SIZE - 1, Mth.floor((z1 - minZ) * cellScale));
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++)
+        {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++)
+            {
+                action.accept(cellX | (cellZ << GRID_BITS));
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface CellConsumer
+    {
+        void accept(int cell);
+    }
+}
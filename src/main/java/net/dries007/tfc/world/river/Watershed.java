@@ -6,11 +6,13 @@
 
 package net.dries007.tfc.world.river;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.util.Mth;
 import net.minecraft.world.level.levelgen.RandomSource;
@@ -20,6 +22,7 @@ import it.unimi.dsi.fastutil.longs.LongArrayList;
 import it.unimi.dsi.fastutil.longs.LongList;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.longs.LongSets;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import net.dries007.tfc.util.Helpers;
 import net.dries007.tfc.world.FastConcurrentCache;
@@ -166,6 +169,18 @@ public abstract class Watershed
             this.rivers = context.build();
         }
 
+        /**
+         * Restores a previously generated watershed, see {@link WatershedStore}. The interior and sources are only needed to build rivers, so are not restored.
+         */
+        Rivers(Plate plate, List<RiverFractal> rivers)
+        {
+            super(plate);
+
+            this.interior = LongSets.EMPTY_SET;
+            this.sources = LongSets.EMPTY_SET;
+            this.rivers = rivers;
+        }
+
         @Override
         public List<RiverFractal> getRivers()
         {
@@ -209,7 +224,7 @@ public abstract class Watershed
 
         private final ThreadLocal<TypedArea<Plate>> plates;
         private final FastConcurrentCache<Watershed> watershedCache;
-        private final FastConcurrentCache<List<MidpointFractal>> partitionCache;
+        private final FastConcurrentCache<RiverPartition> partitionCache;
 
         private final long seed;
         private final float sourceChance;
@@ -217,6 +232,8 @@ public abstract class Watershed
         private final int depth;
         private final float feather;
 
+        @Nullable private volatile WatershedStore store;
+
         public Context(TypedAreaFactory<Plate> plates, long seed, float sourceChance, float length, int depth, float feather)
         {
             this.plates = ThreadLocal.withInitial(plates);
@@ -236,9 +253,19 @@ public abstract class Watershed
          * In order to compute the partition, we query the four adjacent watersheds, which may overlap the partition area.
          */
         public List<MidpointFractal> getFractalsByPartition(int x, int z)
+        {
+            return getPartition(x, z).getFractals();
+        }
+
+        /**
+         * Input coordinates are biome quart positions.
+         *
+         * @return The partition containing the position, which can be queried for river intersections, see {@link #getFractalsByPartition(int, int)}
+         */
+        public RiverPartition getPartition(int x, int z)
         {
             final int px = x >> PARTITION_BITS, pz = z >> PARTITION_BITS;
-            List<MidpointFractal> partition = partitionCache.getIfPresent(px, pz);
+            RiverPartition partition = partitionCache.getIfPresent(px, pz);
             if (partition == null)
             {
                 // Locate the four closest adjacent watersheds.
@@ -259,7 +286,7 @@ public abstract class Watershed
                 final float x1 = partitionToWatershedScale * partitionCenterX, z1 = partitionToWatershedScale * partitionCenterZ;
                 final float radius = partitionToWatershedScale * (PARTITION_RADIUS + 2 * RIVER_WIDTH);
 
-                partition = new ArrayList<>(32);
+                final List<MidpointFractal> fractals = new ArrayList<>(32);
                 for (Watershed shed : nearbySheds)
                 {
                     for (RiverFractal river : shed.getRivers())
@@ -268,13 +295,14 @@ public abstract class Watershed
                         {
                             if (fractal.maybeIntersect(x1, z1, radius))
                             {
-                                partition.add(fractal);
+                                fractals.add(fractal);
                             }
                         }
                     }
                 }
 
-                // Enter the resulting partition in the cache
+                // Index the segments of the partition, then enter it in the cache
+                partition = new RiverPartition(fractals, partitionToWatershedScale * px, partitionToWatershedScale * pz, partitionToWatershedScale);
                 partitionCache.set(px, pz, partition);
             }
             return partition;
@@ -290,10 +318,50 @@ public abstract class Watershed
             Watershed shed = watershedCache.getIfPresent(x, z);
             if (shed == null)
             {
-                shed = Watershed.create(plates.get(), x, z, seed, sourceChance, length, depth, feather);
+                final WatershedStore store = this.store;
+                if (store != null)
+                {
+                    shed = store.get(x, z);
+                }
+                if (shed == null)
+                {
+                    shed = Watershed.create(plates.get(), x, z, seed, sourceChance, length, depth, feather);
+                    if (store != null)
+                    {
+                        store.put(x, z, shed);
+                    }
+                }
                 watershedCache.set(x, z, shed);
             }
             return shed;
         }
+
+        /**
+         * Opens a persistent store of watersheds in {@code directory}, which is read before generating any watershed, and written to with any newly generated watersheds.
+         */
+        public void openStore(Path directory)
+        {
+            closeStore();
+            store = new WatershedStore(directory, seed, sourceChance, length, depth, feather);
+        }
+
+        public void flushStore()
+        {
+            final WatershedStore store = this.store;
+            if (store != null)
+            {
+                store.flush();
+            }
+        }
+
+        public void closeStore()
+        {
+            final WatershedStore store = this.store;
+            if (store != null)
+            {
+                this.store = null;
+                store.flush();
+            }
+        }
     }
 }
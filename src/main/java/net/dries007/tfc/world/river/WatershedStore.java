@@ -0,0 +1,411 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.river;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.dries007.tfc.world.layer.Plate;
+
+/**
+ * A persistent store of generated {@link Watershed}s, so rivers do not need to be rebuilt after a restart, or when revisiting an area.
+ * <p>
+ * Watersheds are grouped into region files of 32x32 watershed coordinates, under a directory in the world save. Each file holds every distinct watershed (by plate) in that region once, and a table of which coordinates map to which watershed.
+ * A small number of regions are kept in memory, evicted in least recently used order, and written to disk when evicted or flushed if they contain newly generated watersheds.
+ * <p>
+ * Each file records the format version, world seed, and river parameters it was generated with. A file which does not match exactly is ignored, and overwritten when that region is next written, so stale rivers are never used.
+ * <p>
+ * Region files are read and written outside of any store-wide lock. A region is published as a future before it is read, so only threads which need that region wait for it. An evicted region stays available until it is written, so it is never read back from a file which is still being written.
+ */
+public final class WatershedStore
+{
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final int MAGIC = 0x54464357; // "TFCW"
+    private static final int FORMAT_VERSION = 1; // Must be incremented whenever the format, or generation of watersheds or rivers, changes
+
+    private static final int REGION_BITS = 5;
+    private static final int REGION_SIZE = 1 << REGION_BITS;
+    private static final int REGION_MASK = REGION_SIZE - 1;
+    private static final int MAX_LOADED_REGIONS = 16;
+
+    private static final byte EMPTY = 0;
+    private static final byte RIVERS = 1;
+
+    private final Path directory;
+    private final long seed;
+    private final float sourceChance;
+    private final float length;
+    private final int depth;
+    private final float feather;
+
+    private final Long2ObjectLinkedOpenHashMap<CompletableFuture<Region>> regions; // In least to most recently used order
+    private final Long2ObjectMap<CompletableFuture<Region>> evicted; // Evicted, but possibly not yet written
+
+    public WatershedStore(Path directory, long seed, float sourceChance, float length, int depth, float feather)
+    {
+        this.directory = directory;
+        this.seed = seed;
+        this.sourceChance = sourceChance;
+        this.length = length;
+        this.depth = depth;
+        this.feather = feather;
+        this.regions = new Long2ObjectLinkedOpenHashMap<>();
+        this.evicted = new Long2ObjectOpenHashMap<>();
+    }
+
+    /**
+     * @param x The watershed x coordinate
+     * @param z The watershed z coordinate
+     * @return The stored watershed at the coordinates, or {@code null} if none has been stored yet.
+     */
+    @Nullable
+    public Watershed get(int x, int z)
+    {
+        final Region region = region(x >> REGION_BITS, z >> REGION_BITS);
+        synchronized (region)
+        {
+            return region.watersheds[index(x, z)];
+        }
+    }
+
+    public void put(int x, int z, Watershed watershed)
+    {
+        while (true)
+        {
+            final Region region = region(x >> REGION_BITS, z >> REGION_BITS);
+            synchronized (region)
+            {
+                // A region which was evicted and written while we held it can't be changed, so retry with the region as it is now
+                if (!region.retired)
+                {
+                    region.watersheds[index(x, z)] = watershed;
+                    region.dirty = true;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes any regions with newly generated watersheds to disk.
+     */
+    public void flush()
+    {
+        final List<Region> loaded = new ArrayList<>();
+        synchronized (regions)
+        {
+            for (CompletableFuture<Region> future : regions.values())
+            {
+                final Region region = future.getNow(null);
+                if (region != null) // Regions which are still being read have nothing new to write
+                {
+                    loaded.add(region);
+                }
+            }
+        }
+        for (Region region : loaded)
+        {
+            write(region);
+        }
+    }
+
+    private Region region(int regionX, int regionZ)
+    {
+        final long key = RiverHelpers.pack(regionX, regionZ);
+        final CompletableFuture<Region> future;
+        boolean read = false;
+        long evictedKey = 0;
+        CompletableFuture<Region> evictedFuture = null;
+        synchronized (regions)
+        {
+            CompletableFuture<Region> existing = regions.getAndMoveToLast(key);
+            if (existing == null)
+            {
+                // Re-use a region which is still being written, otherwise publish the region before reading it
+                existing = evicted.remove(key);
+                if (existing == null)
+                {
+                    existing = new CompletableFuture<>();
+                    read = true;
+                }
+                regions.putAndMoveToLast(key, existing);
+                if (regions.size() > MAX_LOADED_REGIONS)
+                {
+                    evictedKey = regions.firstLongKey();
+                    evictedFuture = regions.removeFirst();
+                    evicted.put(evictedKey, evictedFuture);
+                }
+            }
+            future = existing;
+        }
+
+        if (read)
+        {
+            future.complete(read(regionX, regionZ));
+        }
+        if (evictedFuture != null)
+        {
+            evict(evictedKey, evictedFuture);
+        }
+        return future.join();
+    }
+
+    /**
+     * Writes an evicted region, until it is either fully written and can be dropped, or is in use again.
+     */
+    private void evict(long key, CompletableFuture<Region> future)
+    {
+        final Region region = future.join();
+        synchronized (region.writeLock)
+        {
+            while (true)
+            {
+                write(region);
+                synchronized (regions)
+                {
+                    synchronized (region)
+                    {
+                        if (regions.get(key) == future)
+                        {
+                            return; // In use again, so it will be written when next evicted, or flushed
+                        }
+                        if (!region.dirty)
+                        {
+                            // Any further use of this region reads it back from disk
+                            region.retired = true;
+                            evicted.remove(key, future);
+                            return;
+                        }
+                        // Otherwise, it was written to by a thread which was using it before it was evicted, so write it again
+                    }
+                }
+            }
+        }
+    }
+
+    private int index(int x, int z)
+    {
+        return (x & REGION_MASK) | ((z & REGION_MASK) << REGION_BITS);
+    }
+
+    private Path path(int regionX, int regionZ)
+    {
+        return directory.resolve("r." + regionX + "." + regionZ + ".bin");
+    }
+
+    private Region read(int regionX, int regionZ)
+    {
+        final Region region = new Region(regionX, regionZ);
+        final Path path = path(regionX, regionZ);
+        if (!Files.exists(path))
+        {
+            return region;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new InflaterInputStream(Files.newInputStream(path)))))
+        {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || in.readLong() != seed || in.readFloat() != sourceChance || in.readFloat() != length || in.readInt() != depth || in.readFloat() != feather)
+            {
+                LOGGER.info("Ignoring watershed region {}, as it was generated with a different seed, settings or version", path);
+                return region;
+            }
+
+            final Watershed[] table = new Watershed[in.readInt()];
+            for (int i = 0; i < table.length; i++)
+            {
+                table[i] = readWatershed(in);
+            }
+            for (int i = 0; i < region.watersheds.length; i++)
+            {
+                final int entry = in.readInt();
+                region.watersheds[i] = entry == -1 ? null : table[entry];
+            }
+        }
+        catch (IOException | RuntimeException e)
+        {
+            LOGGER.warn("Unable to read watershed region {}, it will be regenerated", path, e);
+            return new Region(regionX, regionZ);
+        }
+        return region;
+    }
+
+    private void write(Region region)
+    {
+        // Only one write of a region at a time, so the most recent copy of it is always written last
+        synchronized (region.writeLock)
+        {
+            final Watershed[] watersheds;
+            synchronized (region)
+            {
+                if (!region.dirty)
+                {
+                    return;
+                }
+                region.dirty = false;
+                watersheds = region.watersheds.clone();
+            }
+            write(region, watersheds);
+        }
+    }
+
+    private void write(Region region, Watershed[] watersheds)
+    {
+        final Path path = path(region.x, region.z);
+        final Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try
+        {
+            Files.createDirectories(directory);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new DeflaterOutputStream(Files.newOutputStream(temp)))))
+            {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(seed);
+                out.writeFloat(sourceChance);
+                out.writeFloat(length);
+                out.writeInt(depth);
+                out.writeFloat(feather);
+
+                // Many coordinates share the same watershed (the whole plate), so each distinct watershed is only written once
+                final Object2IntOpenHashMap<Watershed> indices = new Object2IntOpenHashMap<>();
+                final List<Watershed> table = new ArrayList<>();
+                indices.defaultReturnValue(-1);
+                for (Watershed watershed : watersheds)
+                {
+                    if (watershed != null && indices.putIfAbsent(watershed, table.size()) == -1)
+                    {
+                        table.add(watershed);
+                    }
+                }
+
+                out.writeInt(table.size());
+                for (Watershed watershed : table)
+                {
+                    writeWatershed(out, watershed);
+                }
+                for (Watershed watershed : watersheds)
+                {
+                    out.writeInt(watershed == null ? -1 : indices.getInt(watershed));
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e)
+        {
+            LOGGER.warn("Unable to write watershed region {}", path, e);
+        }
+    }
+
+    private static Watershed readWatershed(DataInput in) throws IOException
+    {
+        final Plate plate = new Plate(in.readFloat(), in.readFloat(), in.readFloat(), in.readFloat(), in.readFloat(), in.readBoolean());
+        if (in.readByte() == EMPTY)
+        {
+            return new Watershed.Empty(plate);
+        }
+
+        final List<RiverFractal> rivers = new ArrayList<>();
+        for (int i = in.readInt(); i > 0; i--)
+        {
+            final int edgeCount = in.readInt();
+            final List<RiverFractal.Edge> edges = new ArrayList<>(edgeCount);
+            final List<MidpointFractal> fractals = new ArrayList<>(edgeCount);
+            for (int j = 0; j < edgeCount; j++)
+            {
+                edges.add(new RiverFractal.Edge(readVertex(in), readVertex(in)));
+
+                final float norm = in.readFloat();
+                final float[] segments = new float[in.readInt()];
+                for (int k = 0; k < segments.length; k++)
+                {
+                    segments[k] = in.readFloat();
+                }
+                fractals.add(new MidpointFractal(segments, norm));
+            }
+            rivers.add(new RiverFractal(edges, fractals));
+        }
+        return new Watershed.Rivers(plate, rivers);
+    }
+
+    private static void writeWatershed(DataOutput out, Watershed watershed) throws IOException
+    {
+        final Plate plate = watershed.getPlate();
+        out.writeFloat(plate.x());
+        out.writeFloat(plate.z());
+        out.writeFloat(plate.driftX());
+        out.writeFloat(plate.driftZ());
+        out.writeFloat(plate.elevation());
+        out.writeBoolean(plate.oceanic());
+        if (!(watershed instanceof Watershed.Rivers))
+        {
+            out.writeByte(EMPTY);
+            return;
+        }
+
+        out.writeByte(RIVERS);
+        out.writeInt(watershed.getRivers().size());
+        for (RiverFractal river : watershed.getRivers())
+        {
+            final List<RiverFractal.Edge> edges = river.getEdges();
+            out.writeInt(edges.size());
+            for (int i = 0; i < edges.size(); i++)
+            {
+                writeVertex(out, edges.get(i).source());
+                writeVertex(out, edges.get(i).drain());
+
+                final MidpointFractal fractal = river.getFractals().get(i);
+                out.writeFloat(fractal.norm);
+                out.writeInt(fractal.segments.length);
+                for (float value : fractal.segments)
+                {
+                    out.writeFloat(value);
+                }
+            }
+        }
+    }
+
+    private static RiverFractal.Vertex readVertex(DataInput in) throws IOException
+    {
+        return new RiverFractal.Vertex(in.readFloat(), in.readFloat(), in.readFloat(), in.readFloat(), in.readInt());
+    }
+
+    private static void writeVertex(DataOutput out, RiverFractal.Vertex vertex) throws IOException
+    {
+        out.writeFloat(vertex.x());
+        out.writeFloat(vertex.y());
+        out.writeFloat(vertex.angle());
+        out.writeFloat(vertex.length());
+        out.writeInt(vertex.distance());
+    }
+
+    static final class Region
+    {
+        final int x, z;
+        final Watershed[] watersheds = new Watershed[REGION_SIZE * REGION_SIZE];
+        final Object writeLock = new Object();
+        boolean dirty, retired; // Guarded by the region
+
+        Region(int x, int z)
+        {
+            this.x = x;
+            this.z = z;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.common.blocks.crop;
+
+import java.util.Random;
+
+import net.minecraft.util.Mth;
+
+import net.dries007.tfc.TestBase;
+import net.dries007.tfc.common.blockentities.FarmlandBlockEntity;
+import net.dries007.tfc.util.Helpers;
+import net.dries007.tfc.util.calendar.ICalendar;
+import org.junit.jupiter.api.Test;
+
+import static net.dries007.tfc.TestHelper.seed;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CropHelpersTests extends TestBase
+{
+    static final float MIN_TEMPERATURE = 5, MAX_TEMPERATURE = 25, WIGGLE = 5;
+
+    @Test
+    public void testCatchUpMatchesStepping()
+    {
+        final Random seeds = new Random(seed());
+        for (int i = 0; i < 1000; i++)
+        {
+            final long seed = seeds.nextLong();
+            final Random random = new Random(seed);
+            final boolean hasFarmland = random.nextBoolean();
+            final float[] nutrients = {random.nextFloat(), random.nextFloat(), random.nextFloat()};
+            final float growthLimit = random.nextBoolean() ? 1 : random.nextFloat();
+            final FarmlandBlockEntity.NutrientType primary = FarmlandBlockEntity.NutrientType.values()[random.nextInt(3)];
+            final long fromTick = random.nextInt(100_000), toTick = fromTick + random.nextInt(200 * ICalendar.TICKS_IN_DAY);
+            final float averageTemperature = 15 + random.nextFloat() * 10 - 5;
+
+            final SteppedCrop expected = new SteppedCrop(hasFarmland ? nutrients.clone() : null);
+            final boolean expectedSurvived = expected.growthTick(fromTick, toTick, averageTemperature, growthLimit, primary, new Random(seed));
+
+            final CropHelpers.GrowthState actual = new CropHelpers.GrowthState(0, 0, 0, hasFarmland ? nutrients.clone() : null);
+            final boolean actualSurvived = CropHelpers.catchUp(actual, fromTick, toTick, CropHelpers.UPDATE_INTERVAL, tick -> temperature(tick, averageTemperature), CropHelpersTests::checkClimate, growthLimit, primary, new Random(seed));
+
+            assertEquals(expectedSurvived, actualSurvived, "Seed " + seed);
+            assertEquals(expected.growth, actual.growth, "Seed " + seed);
+            assertEquals(expected.expiry, actual.expiry, "Seed " + seed);
+            if (expectedSurvived)
+            {
+                assertEquals(expected.yield, actual.yield, "Seed " + seed);
+            }
+            if (hasFarmland)
+            {
+                assertArrayEquals(expected.nutrients, actual.nutrients, "Seed " + seed);
+            }
+        }
+    }
+
+    @Test
+    public void testSingleStepMatchesStepping()
+    {
+        // A step interval of Long.MAX_VALUE, as used by growthTickStep, covers the whole duration in one step
+        final Random seeds = new Random(seed());
+        for (int i = 0; i < 1000; i++)
+        {
+            final long seed = seeds.nextLong();
+            final Random random = new Random(seed);
+            final float[] nutrients = {random.nextFloat(), random.nextFloat(), random.nextFloat()};
+            final long fromTick = random.nextInt(100_000), toTick = fromTick + random.nextInt(4 * ICalendar.TICKS_IN_DAY);
+            final float averageTemperature = 15 + random.nextFloat() * 10 - 5;
+
+            final SteppedCrop expected = new SteppedCrop(nutrients.clone());
+            final boolean expectedSurvived = fromTick >= toTick || expected.growthTickStep(fromTick, toTick, averageTemperature, 1, FarmlandBlockEntity.NutrientType.NITROGEN, new Random(seed));
+
+            final CropHelpers.GrowthState actual = new CropHelpers.GrowthState(0, 0, 0, nutrients.clone());
+            final boolean actualSurvived = CropHelpers.catchUp(actual, fromTick, toTick, Long.MAX_VALUE, tick -> temperature(tick, averageTemperature), CropHelpersTests::checkClimate, 1, FarmlandBlockEntity.NutrientType.NITROGEN, new Random(seed));
+
+            assertEquals(expectedSurvived, actualSurvived, "Seed " + seed);
+            assertEquals(expected.growth, actual.growth, "Seed " + seed);
+            assertEquals(expected.expiry, actual.expiry, "Seed " + seed);
+            assertArrayEquals(expected.nutrients, actual.nutrients, "Seed " + seed);
+        }
+    }
+
+    @Test
+    public void testCropsDieWithinBound()
+    {
+        final Random random = new Random(seed());
+        for (int i = 0; i < 1000; i++)
+        {
+            final float[] nutrients = random.nextBoolean() ? new float[] {1, 1, 1} : null;
+            final float growthLimit = random.nextBoolean() ? 1 : random.nextFloat();
+            final CropHelpers.GrowthState state = new CropHelpers.GrowthState(0, 0, 0, nutrients);
+
+            int steps = 1;
+            while (CropHelpers.step(state, true, true, CropHelpers.UPDATE_INTERVAL, growthLimit, FarmlandBlockEntity.NutrientType.NITROGEN, random))
+            {
+                steps++;
+            }
+            assertTrue(steps <= CropHelpers.MAX_CATCH_UP_STEPS, "Survived " + steps + " steps");
+        }
+    }
+
+    /**
+     * A seasonal curve, with some daily noise, similar in shape to the overworld climate model.
+     */
+    private static float temperature(long tick, float averageTemperature)
+    {
+        final long day = tick / ICalendar.TICKS_IN_DAY;
+        final float season = Mth.sin((float) (2 * Math.PI * tick / (96.0 * ICalendar.TICKS_IN_DAY)));
+        return averageTemperature + 15 * season + new Random(day).nextFloat() * 4 - 2;
+    }
+
+    private static boolean checkClimate(float firstTemperature, float secondTemperature, boolean allowWiggle)
+    {
+        final float wiggle = allowWiggle ? WIGGLE : 0;
+        return firstTemperature >= MIN_TEMPERATURE - wiggle && firstTemperature <= MAX_TEMPERATURE + wiggle
+            && secondTemperature >= MIN_TEMPERATURE - wiggle && secondTemperature <= MAX_TEMPERATURE + wiggle;
+    }
+
+    /**
+     * The previous implementation, which stepped one interval at a time, reading and writing the crop and farmland on every step.
+     */
+    static class SteppedCrop
+    {
+        final float[] nutrients;
+        final boolean hasFarmland;
+        float growth, expiry, yield;
+
+        SteppedCrop(float[] nutrients)
+        {
+            this.hasFarmland = nutrients != null;
+            this.nutrients = nutrients;
+        }
+
+        boolean growthTick(long firstTick, long thisTick, float averageTemperature, float growthLimit, FarmlandBlockEntity.NutrientType primary, Random random)
+        {
+            long tick = firstTick + CropHelpers.UPDATE_INTERVAL, lastTick = firstTick;
+            for (; tick < thisTick; tick += CropHelpers.UPDATE_INTERVAL)
+            {
+                if (!growthTickStep(lastTick, tick, averageTemperature, growthLimit, primary, random))
+                {
+                    return false;
+                }
+                lastTick = tick;
+            }
+            return lastTick >= thisTick || growthTickStep(lastTick, thisTick, averageTemperature, growthLimit, primary, random);
+        }
+
+        boolean growthTickStep(long fromTick, long toTick, float averageTemperature, float growthLimit, FarmlandBlockEntity.NutrientType primary, Random random)
+        {
+            final float startTemperature = temperature(fromTick, averageTemperature);
+            final float endTemperature = temperature(toTick, averageTemperature);
+            final long tickDelta = toTick - fromTick;
+
+            final boolean growing = checkClimate(startTemperature, endTemperature, false);
+            final boolean healthy = growing || checkClimate(startTemperature, endTemperature, true);
+
+            float nutrientsAvailable = 0, nutrientsRequired = CropHelpers.NUTRIENT_CONSUMPTION * tickDelta, nutrientsConsumed = 0;
+            if (hasFarmland)
+            {
+                nutrientsAvailable = nutrients[primary.ordinal()];
+                nutrientsConsumed = Math.min(nutrientsAvailable, nutrientsRequired);
+                nutrients[primary.ordinal()] = Mth.clamp(nutrientsAvailable - nutrientsConsumed, 0, 1);
+                for (FarmlandBlockEntity.NutrientType other : FarmlandBlockEntity.NutrientType.values())
+                {
+                    if (other != primary)
+                    {
+                        nutrients[other.ordinal()] = Mth.clamp(nutrients[other.ordinal()] + nutrientsConsumed * (1 / 6f), 0, 1);
+                    }
+                }
+            }
+
+            float totalGrowthDelta = Helpers.uniform(random, 0.9f, 1.1f) * tickDelta * CropHelpers.GROWTH_FACTOR + nutrientsConsumed * CropHelpers.NUTRIENT_GROWTH_FACTOR;
+            final float initialGrowth = growth;
+            float growth = initialGrowth, expiry = this.expiry, actualYield = yield;
+
+            if (totalGrowthDelta > 0 && growing && growth < growthLimit)
+            {
+                final float delta = Math.min(totalGrowthDelta, growthLimit - growth);
+                growth += delta;
+                totalGrowthDelta -= delta;
+            }
+            if (totalGrowthDelta > 0)
+            {
+                final float delta = Math.min(totalGrowthDelta, CropHelpers.EXPIRY_LIMIT - expiry);
+                expiry += delta;
+                totalGrowthDelta -= delta;
+            }
+
+            final float growthDelta = growth - initialGrowth;
+            final float nutrientSatisfaction;
+            if (growthDelta <= 0 || nutrientsRequired <= 0)
+            {
+                nutrientSatisfaction = 1;
+            }
+            else
+            {
+                nutrientSatisfaction = Math.min(1, (totalGrowthDelta / growthDelta) * (nutrientsAvailable / nutrientsRequired));
+            }
+            actualYield += growthDelta * Helpers.lerp(nutrientSatisfaction, CropHelpers.YIELD_MIN, CropHelpers.YIELD_LIMIT);
+
+            // Growth and expiry are recorded on death, to compare with the state passed to die()
+            this.growth = growth;
+            this.expiry = expiry;
+            if (expiry >= CropHelpers.EXPIRY_LIMIT || !healthy)
+            {
+                return false;
+            }
+            this.yield = actualYield;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.common.capabilities.food;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+
+import org.junit.jupiter.api.Test;
+
+import static net.dries007.tfc.TestHelper.seed;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NutritionDataTests
+{
+    static final float DEFAULT = 0.5f, DEFAULT_DAIRY = 0f;
+    static final float EPSILON = 1e-4f;
+
+    @Test
+    public void testMatchesReference()
+    {
+        final Random random = new Random(seed());
+        for (int window : new int[] {1, 4, 20, 80})
+        {
+            final NutritionData data = new NutritionData(DEFAULT, DEFAULT_DAIRY, window);
+            final LinkedList<FoodRecord> records = new LinkedList<>();
+            assertNutrients(reference(records, window), data);
+
+            for (int i = 0; i < 2000; i++)
+            {
+                final FoodRecord record = randomRecord(random);
+                records.addFirst(record);
+                data.addNutrients(record);
+                assertNutrients(reference(records, window), data);
+            }
+        }
+    }
+
+    @Test
+    public void testSerializationRoundTrip()
+    {
+        final Random random = new Random(seed());
+        final NutritionData data = new NutritionData(DEFAULT, DEFAULT_DAIRY, 20);
+        for (int i = 0; i < 50; i++)
+        {
+            data.addNutrients(randomRecord(random));
+
+            final NutritionData copy = new NutritionData(DEFAULT, DEFAULT_DAIRY, 20);
+            copy.deserializeNBT(data.serializeNBT());
+            assertArrayEquals(data.getNutrients(), copy.getNutrients());
+            assertEquals(data.getAverageNutrition(), copy.getAverageNutrition());
+        }
+    }
+
+    @Test
+    public void testDeserializeLegacyRecords()
+    {
+        final Random random = new Random(seed());
+        final LinkedList<FoodRecord> records = new LinkedList<>();
+        final ListTag recordsNbt = new ListTag();
+        for (int i = 0; i < 30; i++)
+        {
+            final FoodRecord record = randomRecord(random);
+            records.addFirst(record);
+            recordsNbt.add(0, record.write());
+        }
+
+        final CompoundTag nbt = new CompoundTag();
+        nbt.put("records", recordsNbt);
+
+        final NutritionData data = new NutritionData(DEFAULT, DEFAULT_DAIRY, 20);
+        data.deserializeNBT(nbt);
+        assertNutrients(reference(records, 20), data);
+    }
+
+    @Test
+    public void testReset()
+    {
+        final Random random = new Random(seed());
+        final NutritionData data = new NutritionData(DEFAULT, DEFAULT_DAIRY, 20);
+        for (int i = 0; i < 10; i++)
+        {
+            data.addNutrients(randomRecord(random));
+        }
+        data.reset();
+        assertNutrients(reference(List.of(), 20), data);
+    }
+
+    private void assertNutrients(float[] expected, NutritionData data)
+    {
+        final float[] actual = data.getNutrients();
+        float average = 0;
+        for (int i = 0; i < Nutrient.TOTAL; i++)
+        {
+            assertEquals(expected[i], actual[i], EPSILON, "Nutrient " + Nutrient.VALUES[i]);
+            average += expected[i];
+        }
+        assertEquals(average / Nutrient.TOTAL, data.getAverageNutrition(), EPSILON);
+    }
+
+    private FoodRecord randomRecord(Random random)
+    {
+        final float[] nutrients = new float[Nutrient.TOTAL];
+        for (int i = 0; i < Nutrient.TOTAL; i++)
+        {
+            nutrients[i] = random.nextInt(3) == 0 ? 0 : random.nextFloat() * 3;
+        }
+        return new FoodRecord(random.nextInt(8) == 0 ? 0 : random.nextInt(10), 0, 0, nutrients, 1);
+    }
+
+    /**
+     * The previous implementation, which iterated all records (newest first) on every update.
+     */
+    private float[] reference(List<FoodRecord> records, int hungerWindow)
+    {
+        final float[] nutrients = new float[Nutrient.TOTAL];
+        int runningHungerTotal = 0;
+        for (FoodRecord record : records)
+        {
+            final int nextHunger = record.getHunger() + runningHungerTotal;
+            if (nextHunger < hungerWindow)
+            {
+                for (int j = 0; j < Nutrient.TOTAL; j++)
+                {
+                    nutrients[j] += record.getNutrient(j) * record.getHunger();
+                }
+                runningHungerTotal = nextHunger;
+            }
+            else
+            {
+                final float actualHunger = hungerWindow - runningHungerTotal;
+                for (int j = 0; j < Nutrient.TOTAL; j++)
+                {
+                    nutrients[j] += record.getNutrient(j) * actualHunger;
+                }
+                break;
+            }
+        }
+
+        for (int j = 0; j < Nutrient.TOTAL; j++)
+        {
+            nutrients[j] /= hungerWindow;
+        }
+        if (runningHungerTotal < hungerWindow)
+        {
+            final float defaultModifier = 1 - (float) runningHungerTotal / hungerWindow;
+            for (Nutrient nutrient : Nutrient.VALUES)
+            {
+                nutrients[nutrient.ordinal()] += (nutrient == Nutrient.DAIRY ? DEFAULT_DAIRY : DEFAULT) * defaultModifier;
+            }
+        }
+        for (int j = 0; j < Nutrient.TOTAL; j++)
+        {
+            nutrients[j] = Math.min(1, nutrients[j]);
+        }
+        return nutrients;
+    }
+}
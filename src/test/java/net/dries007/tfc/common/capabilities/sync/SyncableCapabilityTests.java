@@ -0,0 +1,138 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.common.capabilities.sync;
+
+import java.util.Random;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.item.ItemStack;
+
+import io.netty.buffer.Unpooled;
+import net.dries007.tfc.TestBase;
+import org.junit.jupiter.api.Test;
+
+import static net.dries007.tfc.TestHelper.seed;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SyncableCapabilityTests extends TestBase
+{
+    static final int TRAILER = 0xCAFE;
+
+    @Test
+    public void testRoundTrip()
+    {
+        final Random random = new Random(seed());
+        for (int i = 0; i < 100; i++)
+        {
+            final Syncable written = new Syncable(random.nextFloat(), random.nextLong()), read = new Syncable(0, 0);
+            final FriendlyByteBuf buffer = roundTrip(written, read);
+
+            assertEquals(written.temperature, read.temperature);
+            assertEquals(written.tick, read.tick);
+            assertEquals(TRAILER, buffer.readInt());
+            assertEquals(0, buffer.readableBytes());
+        }
+    }
+
+    @Test
+    public void testReaderWithoutCapabilitySkipsData()
+    {
+        final Random random = new Random(seed());
+        for (int i = 0; i < 100; i++)
+        {
+            final FriendlyByteBuf buffer = roundTrip(new Syncable(random.nextFloat(), random.nextLong()), null);
+
+            assertEquals(TRAILER, buffer.readInt());
+            assertEquals(0, buffer.readableBytes());
+        }
+    }
+
+    @Test
+    public void testWriterWithoutCapability()
+    {
+        final Syncable read = new Syncable(1, 1);
+        final FriendlyByteBuf buffer = roundTrip(null, read);
+
+        assertEquals(1, read.temperature);
+        assertEquals(1, read.tick);
+        assertEquals(TRAILER, buffer.readInt());
+        assertEquals(0, buffer.readableBytes());
+    }
+
+    @Test
+    public void testReaderDoesNotReadPastData()
+    {
+        final FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.buffer());
+        SyncableCapability.writeNetworkData(new Syncable(1, 1), ItemStack.EMPTY, buffer);
+        buffer.writeInt(TRAILER);
+
+        // A reader which expects more data than was written fails within the capability data, rather than consuming the rest of the packet
+        final Syncable greedy = new Syncable(0, 0)
+        {
+            @Override
+            public void readNetworkData(ItemStack stack, FriendlyByteBuf buffer)
+            {
+                super.readNetworkData(stack, buffer);
+                buffer.readInt();
+            }
+        };
+        assertThrows(IndexOutOfBoundsException.class, () -> SyncableCapability.readNetworkData(greedy, ItemStack.EMPTY, buffer));
+        assertEquals(TRAILER, buffer.readInt());
+    }
+
+    /**
+     * Writes an item's capability data followed by the rest of a packet, and reads back the capability data.
+     *
+     * @return The buffer, positioned at the rest of the packet.
+     */
+    private FriendlyByteBuf roundTrip(@Nullable Syncable writer, @Nullable Syncable reader)
+    {
+        final FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.buffer());
+        SyncableCapability.writeNetworkData(writer, ItemStack.EMPTY, buffer);
+        buffer.writeInt(TRAILER);
+        SyncableCapability.readNetworkData(reader, ItemStack.EMPTY, buffer);
+        return buffer;
+    }
+
+    static class Syncable implements ISyncable
+    {
+        float temperature;
+        long tick;
+
+        Syncable(float temperature, long tick)
+        {
+            this.temperature = temperature;
+            this.tick = tick;
+        }
+
+        @Override
+        public void writeNetworkData(ItemStack stack, FriendlyByteBuf buffer)
+        {
+            buffer.writeFloat(temperature);
+            buffer.writeVarLong(tick);
+        }
+
+        @Override
+        public void readNetworkData(ItemStack stack, FriendlyByteBuf buffer)
+        {
+            temperature = buffer.readFloat();
+            tick = buffer.readVarLong();
+        }
+
+        @Nullable
+        @Override
+        public CompoundTag writeNetworkTag(ItemStack stack)
+        {
+            return null;
+        }
+
+        @Override
+        public void readNetworkTag(ItemStack stack, CompoundTag tag) {}
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.gson.JsonObject;
+import net.minecraft.core.BlockPos;
+import net.minecraft.data.BuiltinRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.LevelHeightAccessor;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ProtoChunk;
+import net.minecraft.world.level.chunk.UpgradeData;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.dries007.tfc.TestBase;
+import net.dries007.tfc.util.tracker.SupportIndex;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SupportTests extends TestBase
+{
+    static final BlockPos SUPPORT = new BlockPos(0, 10, 0);
+    static final BlockPos FROM = new BlockPos(-20, 0, -20), TO = new BlockPos(20, 20, 20);
+
+    @BeforeAll
+    public static void setupSupports()
+    {
+        final ResourceLocation id = Helpers.identifier("test_support");
+        final JsonObject json = new JsonObject();
+        json.addProperty("ingredient", "minecraft:oak_log");
+        json.addProperty("support_up", 1);
+        json.addProperty("support_down", 1);
+        json.addProperty("support_horizontal", 4);
+        Support.MANAGER.onSync(Map.of(id, new Support(id, json)), -1);
+    }
+
+    @AfterAll
+    public static void clearSupports()
+    {
+        Support.MANAGER.onSync(Map.of(), -2);
+    }
+
+    @Test
+    public void testFindUnsupportedPositions()
+    {
+        final Chunks chunks = new Chunks();
+        chunks.setBlockState(SUPPORT, Blocks.OAK_LOG.defaultBlockState());
+
+        final SupportIndex index = new SupportIndex();
+        final Set<BlockPos> unsupported = Support.findUnsupportedPositions(index, chunks, FROM, TO);
+
+        assertEquals(41 * 21 * 41 - 9 * 3 * 9, unsupported.size());
+        for (BlockPos pos : BlockPos.betweenClosed(SUPPORT.offset(-4, -1, -4), SUPPORT.offset(4, 1, 4)))
+        {
+            assertFalse(unsupported.contains(pos), "Supported at " + pos);
+        }
+        assertTrue(unsupported.contains(SUPPORT.offset(5, 0, 0)));
+        assertTrue(unsupported.contains(SUPPORT.above(2)));
+    }
+
+    @Test
+    public void testUnsupportedQueryOnlyVisitsIndex()
+    {
+        final Chunks chunks = new Chunks();
+        final SupportIndex index = new SupportIndex();
+
+        // The first query indexes each chunk in range exactly once
+        final Set<BlockPos> unsupported = Support.findUnsupportedPositions(index, chunks, FROM, TO);
+        assertEquals(41 * 21 * 41, unsupported.size());
+        assertEquals(chunks.chunks.size(), chunks.requests.size());
+
+        // Queries over an indexed area, with nothing supported, don't read the chunks at all
+        chunks.requests.clear();
+        assertEquals(unsupported, Support.findUnsupportedPositions(index, chunks, FROM, TO));
+        assertEquals(List.of(), chunks.requests);
+    }
+
+    @Test
+    public void testBlockChangesUpdateIndex()
+    {
+        final Chunks chunks = new Chunks();
+        final SupportIndex index = new SupportIndex();
+        assertTrue(Support.findUnsupportedPositions(index, chunks, SUPPORT, SUPPORT).contains(SUPPORT));
+
+        // Changes reach the index directly, without the chunk being re-read
+        chunks.requests.clear();
+        index.onBlockChanged(SUPPORT, Blocks.OAK_LOG.defaultBlockState());
+        assertTrue(Support.findUnsupportedPositions(index, chunks, SUPPORT, SUPPORT).isEmpty());
+
+        index.onBlockChanged(SUPPORT, Blocks.AIR.defaultBlockState());
+        assertTrue(Support.findUnsupportedPositions(index, chunks, SUPPORT, SUPPORT).contains(SUPPORT));
+        assertEquals(List.of(), chunks.requests);
+    }
+
+    /**
+     * Empty chunks, created on first request, which records every request made by the index.
+     */
+    static class Chunks implements SupportIndex.ChunkGetter
+    {
+        final Long2ObjectMap<ProtoChunk> chunks = new Long2ObjectOpenHashMap<>();
+        final List<ChunkPos> requests = new ArrayList<>();
+
+        @Override
+        public ProtoChunk getChunk(int chunkX, int chunkZ)
+        {
+            final ChunkPos pos = new ChunkPos(chunkX, chunkZ);
+            requests.add(pos);
+            return chunks.computeIfAbsent(pos.toLong(), key -> new ProtoChunk(pos, UpgradeData.EMPTY, new LevelHeightAccessor()
+            {
+                @Override
+                public int getHeight()
+                {
+                    return 384;
+                }
+
+                @Override
+                public int getMinBuildHeight()
+                {
+                    return -64;
+                }
+            }, BuiltinRegistries.BIOME, null));
+        }
+
+        void setBlockState(BlockPos pos, BlockState state)
+        {
+            final ProtoChunk chunk = getChunk(pos.getX() >> 4, pos.getZ() >> 4);
+            chunk.getSection(chunk.getSectionIndex(pos.getY())).setBlockState(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15, state);
+            requests.clear();
+        }
+    }
+}
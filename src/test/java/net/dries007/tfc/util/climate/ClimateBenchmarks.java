@@ -0,0 +1,130 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.util.climate;
+
+import java.util.Arrays;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.ChunkPos;
+
+import net.dries007.tfc.TestBase;
+import net.dries007.tfc.util.calendar.Calendars;
+import net.dries007.tfc.util.calendar.ICalendar;
+import net.dries007.tfc.world.chunkdata.ChunkData;
+import net.dries007.tfc.world.chunkdata.LerpFloatLayer;
+import net.dries007.tfc.world.noise.Noise2D;
+import net.dries007.tfc.world.noise.OpenSimplex2D;
+import net.dries007.tfc.world.settings.ClimateSettings;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures the cost of a temperature query through {@link OverworldClimateModel}, as is done by random ticks, crops, and block entities.
+ * Compares queries which share a tick (the common case, where the calendar terms are cached), against queries which each see a new tick.
+ * <p>
+ * Also measures the sampling phase of {@link OverworldClimateModel#onChunkLoad} for a cold chunk, batched per chunk, against sampling each column individually. The block placement phase requires a live level, and is not covered here.
+ */
+@Disabled
+public class ClimateBenchmarks extends TestBase
+{
+    static final int WARMUP = 1_000_000;
+    static final int OPERATIONS = 10_000_000;
+    static final int QUERIES_PER_TICK = 4096;
+    static final int CHUNKS = 100_000;
+
+    @Test
+    public void testSharedTick()
+    {
+        run("shared tick", QUERIES_PER_TICK);
+    }
+
+    @Test
+    public void testNewTickEveryQuery()
+    {
+        run("new tick every query", 1);
+    }
+
+    @Test
+    public void testChunkLoadSamplingBatched()
+    {
+        final ChunkData data = coldChunkData();
+        final int[] surfaceHeights = new int[16 * 16];
+        Arrays.fill(surfaceHeights, 90);
+
+        float sum = 0;
+        final long start = System.nanoTime();
+        for (int i = 0; i < CHUNKS; i++)
+        {
+            final OverworldClimateModel.ChunkColumns columns = OverworldClimateModel.INSTANCE.sampleColumns(new ChunkPos(i, 0), data, surfaceHeights, Calendars.SERVER);
+            sum += columns.temperatures()[i & 255] + columns.snowNoise()[i & 255];
+        }
+        final long elapsed = System.nanoTime() - start;
+        System.out.printf("batched chunk sampling : %.2f us / chunk (sum = %.1f)%n", elapsed / 1000.0 / CHUNKS, sum);
+    }
+
+    @Test
+    public void testChunkLoadSamplingPerColumn()
+    {
+        final ChunkData data = coldChunkData();
+        final Noise2D snowNoise = new OpenSimplex2D(72397489123L).octaves(2).spread(0.3f).scaled(-1, 1);
+        final Noise2D iceNoise = new OpenSimplex2D(192639412341L).octaves(3).spread(0.6f);
+        final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+
+        float sum = 0;
+        final long start = System.nanoTime();
+        for (int i = 0; i < CHUNKS; i++)
+        {
+            // How each column was handled previously: a full temperature query, and two noise samples
+            for (int x = 0; x < 16; x++)
+            {
+                for (int z = 0; z < 16; z++)
+                {
+                    cursor.set((i << 4) + x, 90, z);
+                    sum += OverworldClimateModel.getTemperature(cursor, data, Calendars.SERVER) + snowNoise.noise(cursor.getX(), z) + iceNoise.noise(cursor.getX() * 0.2f, z * 0.2f);
+                }
+            }
+        }
+        final long elapsed = System.nanoTime() - start;
+        System.out.printf("per column chunk sampling : %.2f us / chunk (sum = %.1f)%n", elapsed / 1000.0 / CHUNKS, sum);
+    }
+
+    private ChunkData coldChunkData()
+    {
+        // Ensures the model's snow and ice noise are initialized with the same seeds used by the per column comparison
+        OverworldClimateModel.INSTANCE.updateCachedTemperatureSettings(ClimateSettings.DEFAULT_TEMPERATURE, 0);
+        final ChunkData data = new ChunkData(new ChunkPos(0, 0), null);
+        data.setAverageTemp(new LerpFloatLayer(-18, -16, -20, -17));
+        return data;
+    }
+
+    private void run(String name, int queriesPerTick)
+    {
+        final ChunkData data = new ChunkData(new ChunkPos(0, 0), null);
+        data.setAverageTemp(new LerpFloatLayer(10, 12, 8, 11));
+
+        final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+        final long startTick = 3 * ICalendar.TICKS_IN_DAY;
+
+        run(data, cursor, startTick, queriesPerTick, WARMUP);
+        final long start = System.nanoTime();
+        final float sum = run(data, cursor, startTick, queriesPerTick, OPERATIONS);
+        final long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%s : %.2f ns / op (sum = %.1f)%n", name, (double) elapsed / OPERATIONS, sum);
+    }
+
+    private float run(ChunkData data, BlockPos.MutableBlockPos cursor, long startTick, int queriesPerTick, int operations)
+    {
+        float sum = 0;
+        for (int i = 0; i < operations; i++)
+        {
+            cursor.set(i & 15, 60 + (i >> 8 & 63), (i >> 4) & 15);
+            sum += OverworldClimateModel.INSTANCE.getTemperature(null, cursor, data, startTick + i / queriesPerTick, 8);
+        }
+        return sum;
+    }
+}
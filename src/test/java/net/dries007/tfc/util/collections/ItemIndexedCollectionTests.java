@@ -0,0 +1,82 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.util.collections;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+import net.dries007.tfc.TestBase;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemIndexedCollectionTests extends TestBase
+{
+    @Test
+    public void testFirstMatchInInsertionOrder()
+    {
+        final Definition rejectsSticks = new Definition(List.of(Items.STICK, Items.COAL), false, stack -> stack.getItem() != Items.STICK);
+        final Definition sticks = new Definition(List.of(Items.STICK), false, stack -> true);
+        final Definition coal = new Definition(List.of(Items.COAL), false, stack -> true);
+        final ItemIndexedCollection<Definition> collection = collection(rejectsSticks, sticks, coal);
+
+        assertSame(sticks, collection.getFirst(new ItemStack(Items.STICK), Definition::matches), "A candidate which is not item only must be tested");
+        assertSame(rejectsSticks, collection.getFirst(new ItemStack(Items.COAL), Definition::matches));
+        assertNull(collection.getFirst(new ItemStack(Items.DIAMOND), Definition::matches));
+        assertEquals(List.of(rejectsSticks, sticks), collection.getAll(Items.STICK));
+        assertEquals(List.of(), collection.getAll(Items.DIAMOND));
+    }
+
+    @Test
+    public void testItemOnlySkipsMatch()
+    {
+        final Definition itemOnly = new Definition(List.of(Items.STICK), true, stack -> fail("Item only candidates should not be tested"));
+        final ItemIndexedCollection<Definition> collection = collection(itemOnly);
+
+        assertSame(itemOnly, collection.getFirst(new ItemStack(Items.STICK), Definition::matches));
+    }
+
+    @Test
+    public void testEmptyStackIsAlwaysTested()
+    {
+        final Definition air = new Definition(List.of(Items.AIR), true, stack -> false);
+        final ItemIndexedCollection<Definition> collection = collection(air);
+
+        assertNull(collection.getFirst(ItemStack.EMPTY, Definition::matches));
+    }
+
+    @Test
+    public void testReloadReplacesCandidates()
+    {
+        final Definition first = new Definition(List.of(Items.STICK), true, stack -> true);
+        final Definition second = new Definition(List.of(Items.COAL), true, stack -> true);
+        final ItemIndexedCollection<Definition> collection = collection(first);
+
+        collection.reload(List.of(second));
+        assertNull(collection.getFirst(new ItemStack(Items.STICK), Definition::matches));
+        assertSame(second, collection.getFirst(new ItemStack(Items.COAL), Definition::matches));
+    }
+
+    private ItemIndexedCollection<Definition> collection(Definition... definitions)
+    {
+        final ItemIndexedCollection<Definition> collection = new ItemIndexedCollection<>(Definition::items, Definition::itemOnly);
+        collection.reload(List.of(definitions));
+        return collection;
+    }
+
+    record Definition(List<Item> items, boolean itemOnly, Predicate<ItemStack> test)
+    {
+        boolean matches(ItemStack stack)
+        {
+            return test.test(stack);
+        }
+    }
+}
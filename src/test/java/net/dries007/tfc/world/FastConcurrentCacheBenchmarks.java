@@ -0,0 +1,143 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.ChunkPos;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares {@link FastConcurrentCache} against the previous, single monitor implementation, under contention from 1, 8 and 32 threads.
+ * Access pattern mimics the aquifer cache: mostly reads of a small working set of nearby positions, with a write on every miss.
+ */
+@Disabled
+public class FastConcurrentCacheBenchmarks
+{
+    static final int SIZE = 256;
+    static final int OPERATIONS = 10_000_000;
+
+    @Test
+    public void testLockFree() throws Exception
+    {
+        final FastConcurrentCache<Long> cache = new FastConcurrentCache<>(SIZE);
+        for (int threads : new int[] {1, 8, 32})
+        {
+            run("lock-free", threads, cache::getIfPresent, cache::set);
+        }
+    }
+
+    @Test
+    public void testSynchronized() throws Exception
+    {
+        final SynchronizedCache<Long> cache = new SynchronizedCache<>(SIZE);
+        for (int threads : new int[] {1, 8, 32})
+        {
+            run("synchronized", threads, cache::getIfPresent, cache::set);
+        }
+    }
+
+    private void run(String name, int threads, Getter getter, Setter setter) throws Exception
+    {
+        final ExecutorService service = Executors.newFixedThreadPool(threads);
+        final List<Future<?>> futures = new ArrayList<>();
+        final int perThread = OPERATIONS / threads;
+        final long start = System.nanoTime();
+        for (int t = 0; t < threads; t++)
+        {
+            final int offset = t * 3;
+            futures.add(service.submit(() -> {
+                for (int i = 0; i < perThread; i++)
+                {
+                    final int x = offset + (i & 15), z = (i >> 4) & 15;
+                    final Long value = getter.get(x, z);
+                    if (value == null)
+                    {
+                        setter.set(x, z, ChunkPos.asLong(x, z));
+                    }
+                    else
+                    {
+                        assertEquals(ChunkPos.asLong(x, z), value.longValue());
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures)
+        {
+            future.get();
+        }
+        final long elapsed = System.nanoTime() - start;
+        service.shutdown();
+        System.out.printf("%s, threads = %d : %.2f ns / op%n", name, threads, (double) elapsed * threads / OPERATIONS);
+    }
+
+    interface Getter
+    {
+        @Nullable
+        Long get(int x, int z);
+    }
+
+    interface Setter
+    {
+        void set(int x, int z, Long value);
+    }
+
+    /**
+     * The previous implementation of {@link FastConcurrentCache}, kept as a baseline.
+     */
+    static class SynchronizedCache<T>
+    {
+        private final Object lock = new Object();
+        private final long[] keys;
+        private final T[] values;
+        private final int mask;
+
+        @SuppressWarnings("unchecked")
+        SynchronizedCache(int size)
+        {
+            size = Mth.smallestEncompassingPowerOfTwo(size);
+            this.mask = size - 1;
+            this.keys = new long[size];
+            this.values = (T[]) new Object[size];
+            Arrays.fill(this.keys, Long.MIN_VALUE);
+        }
+
+        @Nullable
+        T getIfPresent(int x, int z)
+        {
+            final long key = ChunkPos.asLong(x, z);
+            final int index = (int) HashCommon.mix(key) & mask;
+            synchronized (lock)
+            {
+                return keys[index] == key ? values[index] : null;
+            }
+        }
+
+        void set(int x, int z, T value)
+        {
+            final long key = ChunkPos.asLong(x, z);
+            final int index = (int) HashCommon.mix(key) & mask;
+            synchronized (lock)
+            {
+                keys[index] = key;
+                values[index] = value;
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world;
+
+import java.lang.management.ManagementFactory;
+
+import it.unimi.dsi.fastutil.objects.Object2DoubleMap;
+import it.unimi.dsi.fastutil.objects.Object2DoubleOpenHashMap;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures allocation and time per chunk of the biome weight handling in {@link ChunkNoiseFiller}, using {@link WeightMap} against the previous hash map based implementation.
+ * Each chunk builds a 7x7 grid of quart weights, then for each of the 256 columns, interpolates a column weight map from four corners, and merges it into a weight map of noise samplers.
+ * Allocation is measured with {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}.
+ */
+@Disabled
+public class WeightMapBenchmarks
+{
+    static final int WARMUP = 2_000;
+    static final int CHUNKS = 20_000;
+    static final Object[] BIOMES = {"plains", "hills", "river", "lake", "mountains", "shore"};
+    static final Object[] SAMPLERS = {"flat", "hilly", "river", "flat", "mountain", "flat"};
+
+    @Test
+    public void testWeightMap()
+    {
+        run("weight map", this::chunkWithWeightMap);
+    }
+
+    @Test
+    public void testHashMap()
+    {
+        run("hash map", this::chunkWithHashMap);
+    }
+
+    private void run(String name, ChunkTask task)
+    {
+        final com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long thread = Thread.currentThread().getId();
+
+        double sum = 0;
+        for (int i = 0; i < WARMUP; i++)
+        {
+            sum += task.run(i);
+        }
+
+        final long startBytes = bean.getThreadAllocatedBytes(thread);
+        final long start = System.nanoTime();
+        for (int i = 0; i < CHUNKS; i++)
+        {
+            sum += task.run(i);
+        }
+        final long elapsed = System.nanoTime() - start;
+        final long bytes = bean.getThreadAllocatedBytes(thread) - startBytes;
+
+        System.out.printf("%s : %.2f us / chunk, %d bytes / chunk (sum = %.1f)%n", name, elapsed / 1000.0 / CHUNKS, bytes / CHUNKS, sum);
+    }
+
+    private double chunkWithWeightMap(int chunk)
+    {
+        @SuppressWarnings("unchecked") final WeightMap<Object>[] quarts = new WeightMap[7 * 7];
+        for (int i = 0; i < quarts.length; i++)
+        {
+            quarts[i] = new WeightMap<>();
+            for (int k = 0; k < 25; k++)
+            {
+                quarts[i].add(biomeAt(chunk, i, k), 0.04);
+            }
+        }
+
+        final WeightMap<Object> column = new WeightMap<>(), samplers = new WeightMap<>();
+        double sum = 0;
+        for (int x = 0; x < 16; x++)
+        {
+            for (int z = 0; z < 16; z++)
+            {
+                final int index = ((x >> 2) + 1) + 7 * ((z >> 2) + 1);
+                final double lerpX = (x & 3) * 0.25, lerpZ = (z & 3) * 0.25;
+
+                column.clear();
+                column.addScaled(quarts[index], (1 - lerpX) * (1 - lerpZ));
+                column.addScaled(quarts[index + 1], lerpX * (1 - lerpZ));
+                column.addScaled(quarts[index + 7], (1 - lerpX) * lerpZ);
+                column.addScaled(quarts[index + 8], lerpX * lerpZ);
+
+                samplers.clear();
+                for (int i = 0; i < column.size(); i++)
+                {
+                    samplers.add(samplerOf(column.key(i)), column.weight(i));
+                }
+                for (int i = 0; i < samplers.size(); i++)
+                {
+                    sum += samplers.weight(i);
+                }
+            }
+        }
+        return sum;
+    }
+
+    private double chunkWithHashMap(int chunk)
+    {
+        @SuppressWarnings("unchecked") final Object2DoubleMap<Object>[] quarts = new Object2DoubleMap[7 * 7];
+        for (int i = 0; i < quarts.length; i++)
+        {
+            quarts[i] = new Object2DoubleOpenHashMap<>();
+            for (int k = 0; k < 25; k++)
+            {
+                quarts[i].mergeDouble(biomeAt(chunk, i, k), 0.04, Double::sum);
+            }
+        }
+
+        final Object2DoubleMap<Object> column = new Object2DoubleOpenHashMap<>(), samplers = new Object2DoubleOpenHashMap<>();
+        double sum = 0;
+        for (int x = 0; x < 16; x++)
+        {
+            for (int z = 0; z < 16; z++)
+            {
+                final int index = ((x >> 2) + 1) + 7 * ((z >> 2) + 1);
+                final double lerpX = (x & 3) * 0.25, lerpZ = (z & 3) * 0.25;
+
+                column.clear();
+                addScaled(column, quarts[index], (1 - lerpX) * (1 - lerpZ));
+                addScaled(column, quarts[index + 1], lerpX * (1 - lerpZ));
+                addScaled(column, quarts[index + 7], (1 - lerpX) * lerpZ);
+                addScaled(column, quarts[index + 8], lerpX * lerpZ);
+
+                samplers.clear();
+                for (Object2DoubleMap.Entry<Object> entry : column.object2DoubleEntrySet())
+                {
+                    samplers.mergeDouble(samplerOf(entry.getKey()), entry.getDoubleValue(), Double::sum);
+                }
+                for (Object2DoubleMap.Entry<Object> entry : samplers.object2DoubleEntrySet())
+                {
+                    sum += entry.getDoubleValue();
+                }
+            }
+        }
+        return sum;
+    }
+
+    private void addScaled(Object2DoubleMap<Object> accumulator, Object2DoubleMap<Object> corner, double t)
+    {
+        if (t > 0)
+        {
+            for (Object2DoubleMap.Entry<Object> entry : corner.object2DoubleEntrySet())
+            {
+                accumulator.mergeDouble(entry.getKey(), entry.getDoubleValue() * t, Double::sum);
+            }
+        }
+    }
+
+    /**
+     * Mostly one biome per quart, with two or three at borders, which is typical of real terrain.
+     */
+    private Object biomeAt(int chunk, int quart, int sample)
+    {
+        final int border = (chunk * 31 + quart * 7) % 5;
+        return BIOMES[(chunk + quart / 7 + (sample < border * 5 ? sample % 3 : 0)) % BIOMES.length];
+    }
+
+    private Object samplerOf(Object biome)
+    {
+        for (int i = 0; i < BIOMES.length; i++)
+        {
+            if (BIOMES[i] == biome)
+            {
+                return SAMPLERS[i];
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    @FunctionalInterface
+    interface ChunkTask
+    {
+        double run(int chunk);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world;
+
+import net.dries007.tfc.TestBase;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WeightMapTests extends TestBase
+{
+    @Test
+    public void testAddAndRemove()
+    {
+        // Keys are compared by identity, and more than the default capacity
+        final Object[] keys = new Object[10];
+        for (int i = 0; i < keys.length; i++)
+        {
+            keys[i] = new Object();
+        }
+
+        final WeightMap<Object> map = new WeightMap<>();
+        for (int i = 0; i < 20; i++)
+        {
+            map.add(keys[i % 10], 1);
+        }
+
+        assertEquals(10, map.size());
+        assertEquals(2, map.weight(map.indexOf(keys[3])));
+
+        map.removeAt(map.indexOf(keys[0]));
+        assertEquals(9, map.size());
+        assertEquals(-1, map.indexOf(keys[0]));
+        assertSame(keys[1], map.key(0));
+        assertSame(keys[9], map.key(8));
+    }
+
+    @Test
+    public void testAddScaled()
+    {
+        final WeightMap<String> a = new WeightMap<>(), b = new WeightMap<>(), result = new WeightMap<>();
+        a.add("plains", 1);
+        b.add("plains", 0.5);
+        b.add("hills", 0.5);
+
+        result.addScaled(a, 0.25);
+        result.addScaled(b, 0.75);
+        result.addScaled(b, 0); // No contribution, should not insert anything
+
+        assertEquals(2, result.size());
+        assertEquals(0.625, result.weight(result.indexOf("plains")), 1e-9);
+        assertEquals(0.375, result.weight(result.indexOf("hills")), 1e-9);
+    }
+
+    @Test
+    public void testComposeSampleWeights()
+    {
+        // The example from the documentation of composeSampleWeights()
+        final WeightMap<String> low = new WeightMap<>(), high = new WeightMap<>();
+        low.add("plains", 0.3);
+        low.add("mountains", 0.4);
+        low.add("hills", 0.3);
+        low.add("river", 0.1);
+        high.add("plains", 0.6);
+        high.add("river", 0.4);
+
+        TFCChunkGenerator.composeSampleWeights(high, low, key -> key.equals("river") ? 1 : 0, 2);
+
+        assertEquals(4, high.size());
+        assertEquals(0.18, high.weight(high.indexOf("plains")), 1e-9);
+        assertEquals(0.24, high.weight(high.indexOf("mountains")), 1e-9);
+        assertEquals(0.18, high.weight(high.indexOf("hills")), 1e-9);
+        assertEquals(0.4, high.weight(high.indexOf("river")), 1e-9);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.chunkdata;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.Blocks;
+
+import net.dries007.tfc.TestBase;
+import net.dries007.tfc.util.Helpers;
+import net.dries007.tfc.world.settings.ClimateSettings;
+import net.dries007.tfc.world.settings.RockLayerSettings;
+import net.dries007.tfc.world.settings.RockSettings;
+import org.junit.jupiter.api.Test;
+
+import static net.dries007.tfc.TestHelper.seed;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TFCChunkDataGeneratorTests extends TestBase
+{
+    @Test
+    public void testSampledClimateMatchesChunkData()
+    {
+        final Map<ResourceLocation, RockSettings> map = new HashMap<>();
+        for (int i = 0; i < 4; i++)
+        {
+            final ResourceLocation id = Helpers.identifier("rock_" + i);
+            map.put(id, new RockSettings(id, Blocks.STONE, Blocks.STONE, Blocks.STONE, Blocks.STONE, Blocks.STONE, Blocks.STONE, Optional.empty(), Optional.empty(), true, true, true));
+        }
+        final RockLayerSettings settings = new RockLayerSettings(map, 1);
+        final TFCChunkDataGenerator generator = new TFCChunkDataGenerator(seed(), settings, ClimateSettings.DEFAULT_TEMPERATURE, ClimateSettings.DEFAULT_RAINFALL);
+
+        for (int chunkX = -20; chunkX <= 20; chunkX += 5)
+        {
+            for (int chunkZ = -20; chunkZ <= 20; chunkZ += 5)
+            {
+                final ChunkPos pos = new ChunkPos(chunkX, chunkZ);
+                final ChunkData data = new ChunkData(pos, settings);
+                generator.generate(data);
+
+                for (int x = pos.getMinBlockX(); x <= pos.getMaxBlockX(); x++)
+                {
+                    for (int z = pos.getMinBlockZ(); z <= pos.getMaxBlockZ(); z++)
+                    {
+                        assertEquals(data.getAverageTemp(x, z), generator.sampleAverageTemp(x, z), "at " + x + ", " + z);
+                        assertEquals(data.getRainfall(x, z), generator.sampleRainfall(x, z), "at " + x + ", " + z);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.feature.vein;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+
+import net.dries007.tfc.TestBase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VeinExportTests extends TestBase
+{
+    static final ResourceLocation COPPER = new ResourceLocation("tfc", "vein/normal_native_copper");
+    static final ResourceLocation GOLD = new ResourceLocation("tfc", "vein/deep_native_gold");
+    static final ResourceLocation CLUSTER = new ResourceLocation("tfc", "cluster_vein");
+    static final ResourceLocation PIPE = new ResourceLocation("tfc", "pipe_vein");
+
+    static final List<VeinQuery.Entry> ENTRIES = List.of(
+        new VeinQuery.Entry(COPPER, CLUSTER, new BlockPos(10, 20, 30), new BoundingBox(2, 12, 22, 18, 28, 38)),
+        new VeinQuery.Entry(GOLD, PIPE, new BlockPos(-100, -40, 250), new BoundingBox(-104, -60, 246, -96, -20, 254)),
+        new VeinQuery.Entry(COPPER, CLUSTER, new BlockPos(-7, 64, -9), new BoundingBox(-15, 56, -17, 1, 72, -1))
+    );
+
+    @Test
+    public void testCsv(@TempDir Path directory) throws IOException
+    {
+        final Path path = directory.resolve("veins." + VeinExport.Format.CSV.getExtension());
+        assertEquals(3, VeinExport.export(this::query, -128, -128, 255, 255, path, VeinExport.Format.CSV));
+
+        assertEquals(List.of(
+            "name,type,x,y,z,min_x,min_y,min_z,max_x,max_y,max_z",
+            "tfc:vein/normal_native_copper,tfc:cluster_vein,10,20,30,2,12,22,18,28,38",
+            "tfc:vein/deep_native_gold,tfc:pipe_vein,-100,-40,250,-104,-60,246,-96,-20,254",
+            "tfc:vein/normal_native_copper,tfc:cluster_vein,-7,64,-9,-15,56,-17,1,72,-1"
+        ), Files.readAllLines(path, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testBinary(@TempDir Path directory) throws IOException
+    {
+        final Path path = directory.resolve("veins." + VeinExport.Format.BINARY.getExtension());
+        assertEquals(3, VeinExport.export(this::query, -128, -128, 255, 255, path, VeinExport.Format.BINARY));
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(path)))))
+        {
+            assertEquals(VeinExport.MAGIC, in.readInt());
+            assertEquals(VeinExport.FORMAT_VERSION, in.readInt());
+            assertEquals(-128, in.readInt());
+            assertEquals(-128, in.readInt());
+            assertEquals(255, in.readInt());
+            assertEquals(255, in.readInt());
+
+            // The first occurrence of each name is written in full, and assigned the next index
+            assertEquals(-1, in.readShort());
+            assertEquals(COPPER.toString(), in.readUTF());
+            assertEquals(CLUSTER.toString(), in.readUTF());
+            assertVein(in, ENTRIES.get(0));
+
+            assertEquals(-1, in.readShort());
+            assertEquals(GOLD.toString(), in.readUTF());
+            assertEquals(PIPE.toString(), in.readUTF());
+            assertVein(in, ENTRIES.get(1));
+
+            // Later occurrences refer to the index
+            assertEquals(0, in.readShort());
+            assertVein(in, ENTRIES.get(2));
+
+            assertEquals(-2, in.readShort());
+            assertEquals(-1, in.read(), "Expected the end of the stream");
+        }
+    }
+
+    private long query(int minX, int minZ, int maxX, int maxZ, Consumer<VeinQuery.Entry> consumer)
+    {
+        ENTRIES.forEach(consumer);
+        return ENTRIES.size();
+    }
+
+    /**
+     * The center as three ints, then the bounds as six shorts, relative to the center.
+     */
+    private void assertVein(DataInputStream in, VeinQuery.Entry expected) throws IOException
+    {
+        final BlockPos center = new BlockPos(in.readInt(), in.readInt(), in.readInt());
+        final BoundingBox box = new BoundingBox(center.getX() + in.readShort(), center.getY() + in.readShort(), center.getZ() + in.readShort(), center.getX() + in.readShort(), center.getY() + in.readShort(), center.getZ() + in.readShort());
+
+        assertEquals(expected.center(), center);
+        assertEquals(expected.box(), box);
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.feature.vein;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.data.BuiltinRegistries;
+import net.minecraft.world.level.LevelHeightAccessor;
+import net.minecraft.world.level.levelgen.DebugLevelSource;
+import net.minecraft.world.level.levelgen.RandomSource;
+import net.minecraft.world.level.levelgen.VerticalAnchor;
+import net.minecraft.world.level.levelgen.WorldGenerationContext;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+
+import net.dries007.tfc.TestBase;
+import org.junit.jupiter.api.Test;
+
+import static net.dries007.tfc.TestHelper.seed;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VeinIndexTests extends TestBase
+{
+    static final ClusterVeinFeature FEATURE = new ClusterVeinFeature(VeinConfig.CODEC);
+
+    @Test
+    public void testMatchesChunkScan()
+    {
+        final Random random = new Random(seed());
+        final WorldGenerationContext context = context();
+        for (int size : new int[] {4, 8, 16, 40})
+        {
+            for (int i = 0; i < 10; i++)
+            {
+                final long seed = random.nextLong();
+                final VeinConfig config = config(size, 1 + random.nextInt(4));
+                for (int radius : new int[] {0, 1, config.getChunkRadius(), 4})
+                {
+                    for (int j = 0; j < 50; j++)
+                    {
+                        final int chunkX = random.nextInt(10_000) - 5_000, chunkZ = random.nextInt(10_000) - 5_000;
+                        assertVeinsEqual(scan(seed, context, config, chunkX, chunkZ, radius), query(seed, context, config, chunkX, chunkZ, radius), "Seed " + seed + " at " + chunkX + ", " + chunkZ + " radius " + radius);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testMatchesChunkScanAcrossThreads()
+    {
+        final long seed = seed();
+        final WorldGenerationContext context = context();
+        final VeinConfig config = config(16, 2);
+        final int radius = config.getChunkRadius();
+
+        // Neighbouring chunks, so threads share, and race to create, the same regions
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try
+        {
+            final List<CompletableFuture<?>> futures = new ArrayList<>();
+            for (int chunkX = -40; chunkX < 40; chunkX++)
+            {
+                for (int chunkZ = -40; chunkZ < 40; chunkZ++)
+                {
+                    final int x = chunkX, z = chunkZ;
+                    futures.add(CompletableFuture.runAsync(() -> assertVeinsEqual(scan(seed, context, config, x, z, radius), query(seed, context, config, x, z, radius), "At " + x + ", " + z), executor));
+                }
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testVeinsAtChunkMatchCreateVein()
+    {
+        final long seed = seed();
+        final WorldGenerationContext context = context();
+        final VeinConfig config = config(8, 2);
+        final VeinIndex<VeinConfig, ClusterVeinFeature.ClusterVein> index = FEATURE.getIndex(seed, context, config);
+        for (int chunkX = -20; chunkX < 20; chunkX++)
+        {
+            for (int chunkZ = -20; chunkZ < 20; chunkZ++)
+            {
+                final ClusterVeinFeature.ClusterVein expected = createVein(seed, context, config, chunkX, chunkZ);
+                final ClusterVeinFeature.ClusterVein actual = index.getVeinAtChunk(chunkX, chunkZ);
+                if (expected == null)
+                {
+                    assertNull(actual);
+                }
+                else
+                {
+                    assertNotNull(actual);
+                    assertVeinEquals(config, expected, actual, "At " + chunkX + ", " + chunkZ);
+                }
+            }
+        }
+    }
+
+    private List<ClusterVeinFeature.ClusterVein> query(long seed, WorldGenerationContext context, VeinConfig config, int chunkX, int chunkZ, int radius)
+    {
+        final List<ClusterVeinFeature.ClusterVein> veins = new ArrayList<>();
+        FEATURE.getIndex(seed, context, config).getVeinsIntersecting(chunkX, chunkZ, radius, veins, vein -> true);
+        return veins;
+    }
+
+    /**
+     * The previous implementation, which re-created the vein of every chunk within the radius, in order of x then z. Only the veins whose bounding box intersects the chunk are kept, as the others never placed a block or used the random.
+     */
+    private List<ClusterVeinFeature.ClusterVein> scan(long seed, WorldGenerationContext context, VeinConfig config, int chunkX, int chunkZ, int radius)
+    {
+        final List<ClusterVeinFeature.ClusterVein> veins = new ArrayList<>();
+        for (int x = chunkX - radius; x <= chunkX + radius; x++)
+        {
+            for (int z = chunkZ - radius; z <= chunkZ + radius; z++)
+            {
+                final ClusterVeinFeature.ClusterVein vein = createVein(seed, context, config, x, z);
+                if (vein != null)
+                {
+                    final BlockPos pos = vein.getPos();
+                    final BoundingBox box = FEATURE.getBoundingBox(config, vein).moved(pos.getX(), pos.getY(), pos.getZ());
+                    if (box.minX() <= (chunkX << 4) + 15 && box.maxX() >= chunkX << 4 && box.minZ() <= (chunkZ << 4) + 15 && box.maxZ() >= chunkZ << 4)
+                    {
+                        veins.add(vein);
+                    }
+                }
+            }
+        }
+        return veins;
+    }
+
+    private ClusterVeinFeature.ClusterVein createVein(long seed, WorldGenerationContext context, VeinConfig config, int chunkX, int chunkZ)
+    {
+        final RandomSource random = config.random(seed, chunkX, chunkZ);
+        if (config.random(seed, chunkX, chunkZ).nextInt(config.getRarity()) == 0)
+        {
+            return FEATURE.createVein(context, chunkX << 4, chunkZ << 4, random, config);
+        }
+        return null;
+    }
+
+    private void assertVeinsEqual(List<ClusterVeinFeature.ClusterVein> expected, List<ClusterVeinFeature.ClusterVein> actual, String message)
+    {
+        assertEquals(expected.size(), actual.size(), message);
+        for (int i = 0; i < expected.size(); i++)
+        {
+            assertEquals(expected.get(i).getPos(), actual.get(i).getPos(), message);
+        }
+    }
+
+    /**
+     * Compares the position, and the shape, by sampling the chance to generate throughout the bounding box.
+     */
+    private void assertVeinEquals(VeinConfig config, ClusterVeinFeature.ClusterVein expected, ClusterVeinFeature.ClusterVein actual, String message)
+    {
+        assertEquals(expected.getPos(), actual.getPos(), message);
+        final BoundingBox box = FEATURE.getBoundingBox(config, expected);
+        for (int x = box.minX(); x <= box.maxX(); x += 2)
+        {
+            for (int y = box.minY(); y <= box.maxY(); y += 2)
+            {
+                for (int z = box.minZ(); z <= box.maxZ(); z += 2)
+                {
+                    assertEquals(FEATURE.getChanceToGenerate(x, y, z, expected, config), FEATURE.getChanceToGenerate(x, y, z, actual, config), message);
+                }
+            }
+        }
+    }
+
+    private VeinConfig config(int size, int rarity)
+    {
+        return new VeinConfig(Map.of(), Optional.empty(), rarity, size, 0.5f, VerticalAnchor.absolute(-32), VerticalAnchor.absolute(100), "test_vein", Optional.empty());
+    }
+
+    private WorldGenerationContext context()
+    {
+        return new WorldGenerationContext(new DebugLevelSource(BuiltinRegistries.STRUCTURE_SETS, BuiltinRegistries.BIOME), new LevelHeightAccessor()
+        {
+            @Override
+            public int getHeight()
+            {
+                return 384;
+            }
+
+            @Override
+            public int getMinBuildHeight()
+            {
+                return -64;
+            }
+        });
+    }
+}
@@ -15,6 +15,8 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import net.dries007.tfc.TestBase;
+import net.dries007.tfc.util.IArtist;
+import net.dries007.tfc.world.layer.TFCLayers;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -78,6 +80,52 @@ public class LayerFrameworkTests extends TestBase
         resolve(service, futures);
     }
 
+    @Test
+    public void testConcurrentAreaMatchesArea()
+    {
+        final long seed = System.currentTimeMillis();
+        final AreaFactory factory = SourceLayerImpl.INSTANCE.apply(seed);
+        final Area area = factory.get();
+        final ConcurrentArea<Integer> layer = new ConcurrentArea<>(factory, i -> i, 64);
+
+        // Small cache, large range, forcing evictions
+        for (int pass = 0; pass < 2; pass++)
+        {
+            for (int x = 0; x < 50; x++)
+            {
+                for (int z = 0; z < 50; z++)
+                {
+                    assertEquals(area.get(x, z), layer.get(x, z));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFillMatchesGet()
+    {
+        final long seed = System.currentTimeMillis();
+        for (AreaFactory factory : new AreaFactory[] {
+            TFCLayers.createOverworldRockLayer(seed, 3, 10),
+            TFCLayers.createOverworldForestLayer(seed, IArtist.nope())
+        })
+        {
+            final Area pointArea = factory.get(), regionArea = factory.get();
+            final int x0 = -37, z0 = 101, width = 53, height = 29; // Odd sizes and offsets, to catch alignment errors in zoom layers
+            final int[] values = new int[width * height];
+
+            regionArea.fill(values, x0, z0, width, height);
+            for (int dz = 0; dz < height; dz++)
+            {
+                for (int dx = 0; dx < width; dx++)
+                {
+                    final int x = x0 + dx, z = z0 + dz;
+                    assertEquals(pointArea.get(x, z), values[dx + dz * width], () -> "Region and point values differ at x=" + x + ", z=" + z);
+                }
+            }
+        }
+    }
+
     @Test
     public void testSourceLayerIsDeterministic()
     {
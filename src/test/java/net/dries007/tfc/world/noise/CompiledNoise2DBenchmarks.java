@@ -0,0 +1,74 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.noise;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import static net.dries007.tfc.world.noise.LambdaNoise2D.*;
+
+/**
+ * Compares the per-column throughput of {@link CompiledNoise2D} against the previous lambda based chains.
+ * Several differently shaped chains are sampled in turn, as happens when sampling biome noise, so the lambda call sites become megamorphic.
+ */
+@Disabled
+public class CompiledNoise2DBenchmarks
+{
+    static final int CHUNKS = 20_000;
+
+    @Test
+    public void testLambda()
+    {
+        final Noise2D[] chains = {
+            add(scaled(new OpenSimplex2D(1).octaves(4).spread(0.11f), -1, 1, 40, 60), clamped(ridged(new OpenSimplex2D(2).spread(0.02f)), -1, 1)),
+            scaled(map(warped(new OpenSimplex2D(3).octaves(4).spread(0.06f), new OpenSimplex2D(4).octaves(4).spread(0.03f).scaled(-100f, 100f)), x -> x > 0.4 ? x - 0.8f : -x), -0.4f, 0.8f, 70, 100),
+            affine(terraces(abs(spread(new Cellular2D(5), 0.05f)), 5), 10, 60),
+            lazyProduct(affine(new OpenSimplex2D(6).spread(0.1f), 0.5f, 0.5f), scaled(octaves(new Cellular2D(7), 2), -1, 1, 50, 80)),
+        };
+        run("lambda", chains);
+    }
+
+    @Test
+    public void testCompiled()
+    {
+        final Noise2D[] chains = {
+            new OpenSimplex2D(1).octaves(4).spread(0.11f).scaled(40, 60).add(new OpenSimplex2D(2).spread(0.02f).ridged().clamped(-1, 1)),
+            new OpenSimplex2D(3).octaves(4).spread(0.06f).warped(new OpenSimplex2D(4).octaves(4).spread(0.03f).scaled(-100f, 100f)).map(x -> x > 0.4 ? x - 0.8f : -x).scaled(-0.4f, 0.8f, 70, 100),
+            new Cellular2D(5).spread(0.05f).abs().terraces(5).affine(10, 60),
+            new OpenSimplex2D(6).spread(0.1f).affine(0.5f, 0.5f).lazyProduct(new Cellular2D(7).octaves(2).scaled(50, 80)),
+        };
+        run("compiled", chains);
+    }
+
+    private void run(String name, Noise2D[] chains)
+    {
+        sample(chains, CHUNKS / 10); // Warmup
+        final long start = System.nanoTime();
+        final float sum = sample(chains, CHUNKS);
+        final long elapsed = System.nanoTime() - start;
+        System.out.printf("%s : %.2f ns / column (sum = %.1f)%n", name, (double) elapsed / (CHUNKS * 16 * 16 * chains.length), sum);
+    }
+
+    private float sample(Noise2D[] chains, int chunks)
+    {
+        float sum = 0;
+        for (int chunk = 0; chunk < chunks; chunk++)
+        {
+            for (Noise2D chain : chains)
+            {
+                for (int x = 0; x < 16; x++)
+                {
+                    for (int z = 0; z < 16; z++)
+                    {
+                        sum += chain.noise((chunk << 4) + x, z);
+                    }
+                }
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.noise;
+
+import java.util.function.LongFunction;
+
+import org.junit.jupiter.api.Test;
+
+import static net.dries007.tfc.world.noise.LambdaNoise2D.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompiledNoise2DTests
+{
+    @Test
+    public void testWarpedChain()
+    {
+        // Mirrors BiomeNoise#canyons
+        assertSameNoise(seed -> {
+            final OpenSimplex2D warp = new OpenSimplex2D(seed).octaves(4).spread(0.03f).scaled(-100f, 100f);
+            return new OpenSimplex2D(seed + 1).octaves(4).spread(0.06f).warped(warp).map(x -> x > 0.4 ? x - 0.8f : -x).scaled(-0.4f, 0.8f, 70, 100);
+        }, seed -> {
+            final OpenSimplex2D warp = new OpenSimplex2D(seed).octaves(4).spread(0.03f).scaled(-100f, 100f);
+            return scaled(map(warped(new OpenSimplex2D(seed + 1).octaves(4).spread(0.06f), warp), x -> x > 0.4 ? x - 0.8f : -x), -0.4f, 0.8f, 70, 100);
+        });
+    }
+
+    @Test
+    public void testOutputOperations()
+    {
+        assertSameNoise(
+            seed -> new Cellular2D(seed).spread(0.05f).abs().terraces(5).clamped(-0.5f, 0.5f).affine(3, 2).ridged(),
+            seed -> ridged(affine(clamped(terraces(abs(new Cellular2D(seed).spread(0.05f)), 5), -0.5f, 0.5f), 3, 2))
+        );
+    }
+
+    @Test
+    public void testSpreadAfterAdd()
+    {
+        assertSameNoise(
+            seed -> new OpenSimplex2D(seed).spread(0.1f).add(new OpenSimplex2D(seed + 1)).spread(0.3f).lazyProduct(new OpenSimplex2D(seed + 2).spread(0.2f)),
+            seed -> lazyProduct(spread(add(new OpenSimplex2D(seed).spread(0.1f), new OpenSimplex2D(seed + 1)), 0.3f), new OpenSimplex2D(seed + 2).spread(0.2f))
+        );
+    }
+
+    @Test
+    public void testOctavesOfChain()
+    {
+        assertSameNoise(
+            seed -> new Cellular2D(seed).affine(0.5f, 0.1f).spread(0.2f).spread(0.7f).octaves(3).scaled(-2, 2),
+            seed -> scaled(octaves(spread(spread(affine(new Cellular2D(seed), 0.5f, 0.1f), 0.2f), 0.7f), 3), -1, 1, -2, 2)
+        );
+    }
+
+    @Test
+    public void testFillMatchesNoise()
+    {
+        final OpenSimplex2D warp = new OpenSimplex2D(3).octaves(4).spread(0.03f).scaled(-100f, 100f);
+        final Noise2D[] chains = {
+            new OpenSimplex2D(1).octaves(4).spread(0.11f).scaled(40, 60),
+            new OpenSimplex2D(1).octaves(4).spread(0.11f).scaled(40, 60).add(new Cellular2D(2).spread(0.05f).ridged()).warped(warp).clamped(45, 55),
+            new Cellular2D(4).spread(0.05f).abs().terraces(5).affine(10, 60).map(x -> x * x),
+            new OpenSimplex2D(5).spread(0.1f).add(new OpenSimplex2D(6)).spread(0.3f).lazyProduct(new OpenSimplex2D(7).abs()).octaves(2),
+        };
+        for (Noise2D chain : chains)
+        {
+            assertFillMatchesNoise(chain, 16, 16, 1);
+            assertFillMatchesNoise(chain, 11, 11, 8);
+        }
+    }
+
+    private void assertFillMatchesNoise(Noise2D noise, int width, int height, int step)
+    {
+        final int x0 = -37, z0 = 154;
+        final float[] out = new float[width * height];
+        noise.fill(out, x0, z0, width, height, step);
+        for (int dx = 0; dx < width; dx++)
+        {
+            for (int dz = 0; dz < height; dz++)
+            {
+                assertEquals(noise.noise(x0 + dx * step, z0 + dz * step), out[dx + width * dz], "At " + dx + ", " + dz);
+            }
+        }
+    }
+
+    private void assertSameNoise(LongFunction<Noise2D> compiled, LongFunction<Noise2D> reference)
+    {
+        final Noise2D actual = compiled.apply(1234L);
+        final Noise2D expected = reference.apply(1234L);
+        assertInstanceOf(CompiledNoise2D.class, actual);
+        for (int x = -200; x < 200; x += 7)
+        {
+            for (int z = -200; z < 200; z += 7)
+            {
+                assertEquals(expected.noise(x, z), actual.noise(x, z), "At " + x + ", " + z);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.noise;
+
+import net.minecraft.util.Mth;
+
+/**
+ * The previous, lambda based implementations of the {@link Noise2D} combinators, kept as a reference for {@link CompiledNoise2D}.
+ */
+public final class LambdaNoise2D
+{
+    public static Noise2D octaves(Noise2D noise, int octaves)
+    {
+        final float[] frequency = new float[octaves];
+        final float[] amplitude = new float[octaves];
+        for (int i = 0; i < octaves; i++)
+        {
+            frequency[i] = 1 << i;
+            amplitude[i] = (float) Math.pow(0.5f, octaves - i);
+        }
+        return (x, y) -> {
+            float value = 0;
+            for (int i = 0; i < octaves; i++)
+            {
+                value += noise.noise(x / frequency[i], y / frequency[i]) * amplitude[i];
+            }
+            return value;
+        };
+    }
+
+    public static Noise2D ridged(Noise2D noise)
+    {
+        return (x, y) -> {
+            float value = noise.noise(x, y);
+            value = value < 0 ? -value : value;
+            return 1f - 2f * value;
+        };
+    }
+
+    public static Noise2D abs(Noise2D noise)
+    {
+        return (x, y) -> Math.abs(noise.noise(x, y));
+    }
+
+    public static Noise2D terraces(Noise2D noise, int levels)
+    {
+        return (x, y) -> {
+            float value = 0.5f * noise.noise(x, y) + 0.5f;
+            float rounded = (int) (value * levels);
+            return (rounded * 2f) / levels - 1f;
+        };
+    }
+
+    public static Noise2D spread(Noise2D noise, float scaleFactor)
+    {
+        return (x, y) -> noise.noise(x * scaleFactor, y * scaleFactor);
+    }
+
+    public static Noise2D scaled(Noise2D noise, float oldMin, float oldMax, float min, float max)
+    {
+        final float scale = (max - min) / (oldMax - oldMin);
+        final float shift = min - oldMin * scale;
+        return affine(noise, scale, shift);
+    }
+
+    public static Noise2D affine(Noise2D noise, float scale, float shift)
+    {
+        return (x, y) -> noise.noise(x, y) * scale + shift;
+    }
+
+    public static Noise2D warped(Noise2D noise, OpenSimplex2D warp)
+    {
+        warp.fnl.SetDomainWarpType(FastNoiseLite.DomainWarpType.OpenSimplex2);
+        warp.fnl.SetFractalType(FastNoiseLite.FractalType.DomainWarpIndependent);
+        warp.fnl.SetDomainWarpAmp(warp.getAmplitude() * 2);
+        final FastNoiseLite.Vector2 cursor = new FastNoiseLite.Vector2(0, 0);
+        return (x, z) -> {
+            cursor.x = x;
+            cursor.y = z;
+            warp.fnl.DomainWarp(cursor);
+            return noise.noise(cursor.x, cursor.y);
+        };
+    }
+
+    public static Noise2D clamped(Noise2D noise, float min, float max)
+    {
+        return (x, y) -> Mth.clamp(noise.noise(x, y), min, max);
+    }
+
+    public static Noise2D add(Noise2D noise, Noise2D other)
+    {
+        return (x, y) -> noise.noise(x, y) + other.noise(x, y);
+    }
+
+    public static Noise2D lazyProduct(Noise2D noise, Noise2D other)
+    {
+        return (x, y) -> {
+            final float value = noise.noise(x, y);
+            return value == 0 ? 0 : value * other.noise(x, y);
+        };
+    }
+
+    public static Noise2D map(Noise2D noise, Noise2D.FloatOperator mappingFunction)
+    {
+        return (x, y) -> mappingFunction.applyAsFloat(noise.noise(x, y));
+    }
+}
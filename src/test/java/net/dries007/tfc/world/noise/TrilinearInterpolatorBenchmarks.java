@@ -0,0 +1,82 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.noise;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import net.minecraft.Util;
+
+import net.dries007.tfc.TestBase;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the per-chunk latency of sampling all cave noise serially, against sampling it in vertical bands on {@link Util#backgroundExecutor()}, as is done by {@link net.dries007.tfc.world.ChunkNoiseFiller#sampleInterpolatorsAsync(Executor, int)}.
+ * Chunks are generated one at a time, so this measures the best case, where the background executor is otherwise idle.
+ */
+@Disabled
+public class TrilinearInterpolatorBenchmarks extends TestBase
+{
+    static final ChunkNoiseSamplingSettings SETTINGS = new ChunkNoiseSamplingSettings(-64, 4, 48, 4, 8, 100, -8, -37);
+    static final int CHUNKS = 2_000;
+
+    @Test
+    public void testBands()
+    {
+        for (int bands : new int[] {1, 2, 4, 8})
+        {
+            run(bands, CHUNKS / 10); // Warmup
+            final long start = System.nanoTime();
+            run(bands, CHUNKS);
+            final long elapsed = System.nanoTime() - start;
+            System.out.printf("bands = %d : %.1f us / chunk%n", bands, (double) elapsed / (CHUNKS * 1000));
+        }
+    }
+
+    private void run(int bands, int chunks)
+    {
+        final TrilinearInterpolator.Source[] sources = sources();
+        for (int chunk = 0; chunk < chunks; chunk++)
+        {
+            final TrilinearInterpolator interpolator = new TrilinearInterpolator(SETTINGS, sources, 1, 2);
+            interpolator.allocateSlices();
+
+            final int cellCountY = SETTINGS.cellCountY() + 1;
+            if (bands == 1)
+            {
+                interpolator.fillSlices(0, cellCountY);
+                continue;
+            }
+
+            // Mirrors ChunkNoiseFiller#sampleInterpolatorsAsync
+            final int actualBands = Math.min(bands, cellCountY);
+            final CompletableFuture<?>[] futures = new CompletableFuture<?>[actualBands];
+            for (int band = 0; band < actualBands; band++)
+            {
+                final int minCellY = band * cellCountY / actualBands;
+                final int maxCellY = (band + 1) * cellCountY / actualBands;
+                futures[band] = CompletableFuture.runAsync(() -> interpolator.fillSlices(minCellY, maxCellY), Util.backgroundExecutor());
+            }
+            CompletableFuture.allOf(futures).join();
+        }
+    }
+
+    private TrilinearInterpolator.Source[] sources()
+    {
+        final Noise3D noise = new OpenSimplex3D(1234L).octaves(4).spread(0.02f);
+        final Noise3D toggle = new OpenSimplex3D(5678L).octaves(2).spread(0.03f);
+        final Noise3D ridgeA = new OpenSimplex3D(9012L).spread(0.05f);
+        final Noise3D ridgeB = new OpenSimplex3D(3456L).spread(0.05f);
+        return new TrilinearInterpolator.Source[] {
+            (x, y, z) -> noise.noise(x, y, z),
+            (x, y, z) -> toggle.noise(x, y, z),
+            (x, y, z) -> ridgeA.noise(x, y, z),
+            (x, y, z) -> ridgeB.noise(x, y, z)
+        };
+    }
+}
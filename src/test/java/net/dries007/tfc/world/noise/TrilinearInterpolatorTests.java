@@ -0,0 +1,202 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.noise;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import net.minecraft.util.Mth;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrilinearInterpolatorTests
+{
+    static final ChunkNoiseSamplingSettings SETTINGS = new ChunkNoiseSamplingSettings(-64, 4, 48, 4, 8, 100, -8, -37);
+
+    @Test
+    public void testMatchesReference()
+    {
+        final TrilinearInterpolator.Source[] sources = sources();
+        final TrilinearInterpolator interpolator = new TrilinearInterpolator(SETTINGS, sources, 1, 2);
+
+        assertArrayEquals(sampleReference(sources), sampleChunk(interpolator));
+    }
+
+    @Test
+    public void testParallelSlicesMatchSerial()
+    {
+        final TrilinearInterpolator.Source[] sources = sources();
+        final double[] expected = sampleChunk(new TrilinearInterpolator(SETTINGS, sources, 1, 2));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try
+        {
+            for (int bands : new int[] {1, 2, 3, 4, 7, 48, 64})
+            {
+                final TrilinearInterpolator interpolator = new TrilinearInterpolator(SETTINGS, sources, 1, 2);
+                interpolator.allocateSlices();
+
+                // Mirrors ChunkNoiseFiller#sampleInterpolatorsAsync
+                final int cellCountY = SETTINGS.cellCountY() + 1;
+                final int actualBands = Math.min(bands, cellCountY);
+                final CompletableFuture<?>[] futures = new CompletableFuture<?>[actualBands];
+                for (int band = 0; band < actualBands; band++)
+                {
+                    final int minCellY = band * cellCountY / actualBands;
+                    final int maxCellY = (band + 1) * cellCountY / actualBands;
+                    futures[band] = CompletableFuture.runAsync(() -> interpolator.fillSlices(minCellY, maxCellY), executor);
+                }
+                CompletableFuture.allOf(futures).join();
+
+                assertArrayEquals(expected, sampleChunk(interpolator), "Bands = " + bands);
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Four channels, where the last two depend on the second. The second is negative in roughly half of all cells.
+     */
+    private TrilinearInterpolator.Source[] sources()
+    {
+        final Noise3D noise = new OpenSimplex3D(1234L).octaves(4).spread(0.02f);
+        final Noise3D toggle = new OpenSimplex3D(5678L).octaves(2).spread(0.03f);
+        final Noise3D ridgeA = new OpenSimplex3D(9012L).spread(0.05f);
+        final Noise3D ridgeB = new OpenSimplex3D(3456L).spread(0.05f);
+        return new TrilinearInterpolator.Source[] {
+            (x, y, z) -> noise.noise(x, y, z),
+            (x, y, z) -> toggle.noise(x, y, z),
+            (x, y, z) -> ridgeA.noise(x, y, z),
+            (x, y, z) -> ridgeB.noise(x, y, z)
+        };
+    }
+
+    /**
+     * Visits every block in the chunk in the same order as {@link net.dries007.tfc.world.ChunkNoiseFiller#fillFromNoise()}, and records every sample.
+     * Dependent channels are only recorded where the parent channel is non-negative, as is done by the chunk noise filler.
+     */
+    private double[] sampleChunk(TrilinearInterpolator interpolator)
+    {
+        final int cellWidth = SETTINGS.cellWidth(), cellHeight = SETTINGS.cellHeight();
+        final double[] samples = new double[16 * 16 * SETTINGS.cellCountY() * cellHeight * 4];
+        int index = 0;
+
+        interpolator.initializeForFirstCellX();
+        for (int cellX = 0; cellX < SETTINGS.cellCountXZ(); cellX++)
+        {
+            interpolator.advanceCellX(cellX);
+            for (int cellZ = 0; cellZ < SETTINGS.cellCountXZ(); cellZ++)
+            {
+                for (int localCellX = 0; localCellX < cellWidth; localCellX++)
+                {
+                    for (int localCellZ = 0; localCellZ < cellWidth; localCellZ++)
+                    {
+                        for (int cellY = SETTINGS.cellCountY() - 1; cellY >= 0; cellY--)
+                        {
+                            interpolator.selectCellYZ(cellY, cellZ);
+                            interpolator.updateForXZ((double) localCellX / cellWidth, (double) localCellZ / cellWidth);
+                            for (int localCellY = cellHeight - 1; localCellY >= 0; localCellY--)
+                            {
+                                interpolator.updateForY((double) localCellY / cellHeight);
+                                samples[index++] = interpolator.sample(0);
+                                samples[index++] = interpolator.sample(1);
+                                if (interpolator.sample(1) >= 0)
+                                {
+                                    samples[index++] = interpolator.sample(2);
+                                    samples[index++] = interpolator.sample(3);
+                                }
+                                else
+                                {
+                                    index += 2;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            interpolator.swapSlices();
+        }
+        return samples;
+    }
+
+    /**
+     * Interpolates each channel independently, directly from the source, in the same way as a single channel interpolator did previously.
+     */
+    private double[] sampleReference(TrilinearInterpolator.Source[] sources)
+    {
+        final int cellWidth = SETTINGS.cellWidth(), cellHeight = SETTINGS.cellHeight();
+        final double[] samples = new double[16 * 16 * SETTINGS.cellCountY() * cellHeight * 4];
+        final double[] values = new double[4];
+        int index = 0;
+
+        for (int cellX = 0; cellX < SETTINGS.cellCountXZ(); cellX++)
+        {
+            for (int cellZ = 0; cellZ < SETTINGS.cellCountXZ(); cellZ++)
+            {
+                for (int localCellX = 0; localCellX < cellWidth; localCellX++)
+                {
+                    for (int localCellZ = 0; localCellZ < cellWidth; localCellZ++)
+                    {
+                        for (int cellY = SETTINGS.cellCountY() - 1; cellY >= 0; cellY--)
+                        {
+                            for (int localCellY = cellHeight - 1; localCellY >= 0; localCellY--)
+                            {
+                                for (int channel = 0; channel < 4; channel++)
+                                {
+                                    values[channel] = interpolate(sources[channel], cellX, cellY, cellZ, (double) localCellX / cellWidth, (double) localCellY / cellHeight, (double) localCellZ / cellWidth);
+                                }
+                                samples[index++] = values[0];
+                                samples[index++] = values[1];
+                                if (values[1] >= 0)
+                                {
+                                    samples[index++] = values[2];
+                                    samples[index++] = values[3];
+                                }
+                                else
+                                {
+                                    index += 2;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return samples;
+    }
+
+    private double interpolate(TrilinearInterpolator.Source source, int cellX, int cellY, int cellZ, double x, double y, double z)
+    {
+        final double noise000 = sample(source, cellX, cellY, cellZ);
+        final double noise001 = sample(source, cellX, cellY, cellZ + 1);
+        final double noise100 = sample(source, cellX + 1, cellY, cellZ);
+        final double noise101 = sample(source, cellX + 1, cellY, cellZ + 1);
+        final double noise010 = sample(source, cellX, cellY + 1, cellZ);
+        final double noise011 = sample(source, cellX, cellY + 1, cellZ + 1);
+        final double noise110 = sample(source, cellX + 1, cellY + 1, cellZ);
+        final double noise111 = sample(source, cellX + 1, cellY + 1, cellZ + 1);
+
+        final double valueX00 = Mth.lerp(x, noise000, noise100);
+        final double valueX10 = Mth.lerp(x, noise010, noise110);
+        final double valueX01 = Mth.lerp(x, noise001, noise101);
+        final double valueX11 = Mth.lerp(x, noise011, noise111);
+        final double valueX0Z = Mth.lerp(z, valueX00, valueX01);
+        final double valueX1Z = Mth.lerp(z, valueX10, valueX11);
+        return Mth.lerp(y, valueX0Z, valueX1Z);
+    }
+
+    private double sample(TrilinearInterpolator.Source source, int dx, int dy, int dz)
+    {
+        return source.sample((SETTINGS.firstCellX() + dx) * SETTINGS.cellWidth(), (SETTINGS.firstCellY() + dy) * SETTINGS.cellHeight(), (SETTINGS.firstCellZ() + dz) * SETTINGS.cellWidth());
+    }
+}
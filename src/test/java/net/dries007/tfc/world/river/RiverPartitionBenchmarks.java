@@ -0,0 +1,108 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.river;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.dries007.tfc.TestBase;
+import net.dries007.tfc.world.layer.TFCLayers;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures the time to build the 5x5 flow map of a chunk (as in {@link net.dries007.tfc.world.ChunkNoiseFiller}), using the segment index in {@link RiverPartition} against a linear scan of each fractal in the partition.
+ * Only the most river dense chunks are measured, chosen from the chunks with the most fractals in their partition across several seeds, as those are where the linear scan is the slowest.
+ */
+@Disabled
+public class RiverPartitionBenchmarks extends TestBase
+{
+    static final long[] SEEDS = {1L, 42L, 1234567L, -98765L, 31415926L};
+    static final int SEARCH_RADIUS = 256; // In chunks
+    static final int DENSE_CHUNKS = 2_000;
+    static final int ITERATIONS = 50;
+
+    @Test
+    public void testFlowMapConstruction()
+    {
+        for (long seed : SEEDS)
+        {
+            final Watershed.Context context = new Watershed.Context(TFCLayers.createEarlyPlateLayers(seed), seed, 0.5f, 0.8f, 14, 0.2f);
+            final int[] chunks = findDenseChunks(context);
+
+            int fractals = 0;
+            for (int i = 0; i < chunks.length; i += 2)
+            {
+                fractals += context.getFractalsByPartition(chunks[i] << 2, chunks[i + 1] << 2).size();
+            }
+
+            // Warm up both, then measure
+            final int flows = flowMaps(context, chunks, true) + flowMaps(context, chunks, false);
+            final long indexed = time(context, chunks, true), linear = time(context, chunks, false);
+
+            System.out.printf("seed %d : %.1f fractals / partition, indexed %.2f us / chunk, linear %.2f us / chunk (%d)%n", seed, (float) fractals / DENSE_CHUNKS, indexed / 1000.0 / DENSE_CHUNKS / ITERATIONS, linear / 1000.0 / DENSE_CHUNKS / ITERATIONS, flows);
+        }
+    }
+
+    private long time(Watershed.Context context, int[] chunks, boolean indexed)
+    {
+        final long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++)
+        {
+            flowMaps(context, chunks, indexed);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private int flowMaps(Watershed.Context context, int[] chunks, boolean indexed)
+    {
+        final float scale = 1f / (1 << 7);
+        int flows = 0;
+        for (int i = 0; i < chunks.length; i += 2)
+        {
+            final int quartX = chunks[i] << 2, quartZ = chunks[i + 1] << 2;
+            for (int x = 0; x < 5; x++)
+            {
+                for (int z = 0; z < 5; z++)
+                {
+                    final RiverPartition partition = context.getPartition(quartX + x, quartZ + z);
+                    final float x0 = (quartX + x) * scale, z0 = (quartZ + z) * scale;
+                    final Flow flow = indexed ? partition.intersectWithFlow(x0, z0) : RiverPartitionTests.linearScan(partition, x0, z0);
+                    if (flow != Flow.NONE)
+                    {
+                        flows++;
+                    }
+                }
+            }
+        }
+        return flows;
+    }
+
+    /**
+     * @return Pairs of chunk x, z coordinates, of the chunks with the most fractals in their partition.
+     */
+    private int[] findDenseChunks(Watershed.Context context)
+    {
+        final List<long[]> candidates = new ArrayList<>();
+        for (int x = -SEARCH_RADIUS; x < SEARCH_RADIUS; x++)
+        {
+            for (int z = -SEARCH_RADIUS; z < SEARCH_RADIUS; z++)
+            {
+                candidates.add(new long[] {context.getFractalsByPartition(x << 2, z << 2).size(), x, z});
+            }
+        }
+        candidates.sort((a, b) -> Long.compare(b[0], a[0]));
+
+        final int[] chunks = new int[DENSE_CHUNKS * 2];
+        for (int i = 0; i < DENSE_CHUNKS; i++)
+        {
+            chunks[2 * i] = (int) candidates.get(i)[1];
+            chunks[2 * i + 1] = (int) candidates.get(i)[2];
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.river;
+
+import net.dries007.tfc.TestBase;
+import net.dries007.tfc.world.layer.TFCLayers;
+import org.junit.jupiter.api.Test;
+
+import static net.dries007.tfc.TestHelper.seed;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RiverPartitionTests extends TestBase
+{
+    @Test
+    public void testIndexMatchesLinearScan()
+    {
+        final long seed = seed();
+        final Watershed.Context context = new Watershed.Context(TFCLayers.createEarlyPlateLayers(seed), seed, 0.5f, 0.8f, 14, 0.2f);
+        final float scale = 1f / (1 << 7);
+
+        int rivers = 0;
+        for (int x = -1000; x <= 1000; x++)
+        {
+            for (int z = -1000; z <= 1000; z += 3)
+            {
+                final RiverPartition partition = context.getPartition(x, z);
+                final float x0 = x * scale, z0 = z * scale;
+
+                final Flow expected = linearScan(partition, x0, z0);
+                assertEquals(expected, partition.intersectWithFlow(x0, z0), "at " + x + ", " + z);
+                assertEquals(expected != Flow.NONE, partition.intersect(x0, z0), "at " + x + ", " + z);
+                if (expected != Flow.NONE)
+                {
+                    rivers++;
+                }
+            }
+        }
+        assertNotEquals(0, rivers, "Expected some rivers in the sampled area");
+    }
+
+    @Test
+    public void testPointsOutsidePartition()
+    {
+        final long seed = seed();
+        final Watershed.Context context = new Watershed.Context(TFCLayers.createEarlyPlateLayers(seed), seed, 0.5f, 0.8f, 14, 0.2f);
+        final RiverPartition partition = context.getPartition(0, 0);
+
+        // Points outside the indexed area must fall back to testing every fractal in the partition
+        for (float x0 = -0.5f; x0 <= 0.75f; x0 += 0.01f)
+        {
+            for (float z0 = -0.5f; z0 <= 0.75f; z0 += 0.01f)
+            {
+                assertEquals(linearScan(partition, x0, z0), partition.intersectWithFlow(x0, z0));
+            }
+        }
+    }
+
+    /**
+     * The query which {@link RiverPartition} replaces.
+     */
+    static Flow linearScan(RiverPartition partition, float x0, float z0)
+    {
+        for (MidpointFractal fractal : partition.getFractals())
+        {
+            if (fractal.maybeIntersect(x0, z0, Watershed.RIVER_WIDTH))
+            {
+                final Flow flow = fractal.intersectWithFlow(x0, z0, Watershed.RIVER_WIDTH);
+                if (flow != Flow.NONE)
+                {
+                    return flow;
+                }
+            }
+        }
+        return Flow.NONE;
+    }
+}
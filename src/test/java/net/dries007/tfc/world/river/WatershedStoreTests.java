@@ -0,0 +1,155 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.river;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import net.dries007.tfc.TestBase;
+import net.dries007.tfc.world.layer.Plate;
+import net.dries007.tfc.world.layer.TFCLayers;
+import net.dries007.tfc.world.layer.framework.TypedArea;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static net.dries007.tfc.TestHelper.seed;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WatershedStoreTests extends TestBase
+{
+    @Test
+    public void testWatershedsRoundTrip(@TempDir Path directory)
+    {
+        final long seed = seed();
+        final TypedArea<Plate> plates = TFCLayers.createEarlyPlateLayers(seed).get();
+        final WatershedStore store = new WatershedStore(directory, seed, 0.5f, 0.8f, 14, 0.2f);
+
+        // Span multiple regions, in both directions
+        for (int x = -40; x <= 40; x += 4)
+        {
+            for (int z = -40; z <= 40; z += 4)
+            {
+                store.put(x, z, Watershed.create(plates, x, z, seed, 0.5f, 0.8f, 14, 0.2f));
+            }
+        }
+        store.flush();
+
+        final WatershedStore reloaded = new WatershedStore(directory, seed, 0.5f, 0.8f, 14, 0.2f);
+        for (int x = -40; x <= 40; x += 4)
+        {
+            for (int z = -40; z <= 40; z += 4)
+            {
+                final Watershed expected = Watershed.create(plates, x, z, seed, 0.5f, 0.8f, 14, 0.2f);
+                final Watershed actual = reloaded.get(x, z);
+
+                assertNotNull(actual);
+                assertEquals(expected.getPlate(), actual.getPlate());
+                assertEquals(expected.getPlate().oceanic(), actual.getPlate().oceanic());
+                assertEquals(expected.getClass(), actual.getClass());
+                assertIterableEquals(expected.getRivers(), actual.getRivers());
+
+                for (int i = 0; i < expected.getRivers().size(); i++)
+                {
+                    final RiverFractal expectedRiver = expected.getRivers().get(i), actualRiver = actual.getRivers().get(i);
+                    for (int j = 0; j < expectedRiver.getFractals().size(); j++)
+                    {
+                        final MidpointFractal expectedFractal = expectedRiver.getFractals().get(j), actualFractal = actualRiver.getFractals().get(j);
+                        assertArrayEquals(expectedFractal.segments, actualFractal.segments);
+                        assertEquals(expectedFractal.norm, actualFractal.norm);
+                    }
+                }
+            }
+        }
+
+        assertNull(reloaded.get(1, 1), "Coordinates which were never stored should not be present");
+    }
+
+    @Test
+    public void testStaleRegionsAreIgnored(@TempDir Path directory)
+    {
+        final long seed = seed();
+        final TypedArea<Plate> plates = TFCLayers.createEarlyPlateLayers(seed).get();
+        final WatershedStore store = new WatershedStore(directory, seed, 0.5f, 0.8f, 14, 0.2f);
+
+        store.put(0, 0, Watershed.create(plates, 0, 0, seed, 0.5f, 0.8f, 14, 0.2f));
+        store.flush();
+
+        assertNull(new WatershedStore(directory, seed + 1, 0.5f, 0.8f, 14, 0.2f).get(0, 0), "Different seed");
+        assertNull(new WatershedStore(directory, seed, 0.5f, 0.8f, 10, 0.2f).get(0, 0), "Different river parameters");
+        assertNotNull(new WatershedStore(directory, seed, 0.5f, 0.8f, 14, 0.2f).get(0, 0));
+    }
+
+    @Test
+    public void testConcurrentAccessAcrossEvictions(@TempDir Path directory)
+    {
+        final long seed = seed();
+        final TypedArea<Plate> plates = TFCLayers.createEarlyPlateLayers(seed).get();
+        final WatershedStore store = new WatershedStore(directory, seed, 0.5f, 0.8f, 14, 0.2f);
+
+        // One coordinate in each of more regions than are kept loaded, so threads keep evicting and re-reading regions that others are using
+        final List<int[]> coordinates = new ArrayList<>();
+        final List<Watershed> watersheds = new ArrayList<>();
+        for (int regionX = -3; regionX < 3; regionX++)
+        {
+            for (int regionZ = -2; regionZ < 2; regionZ++)
+            {
+                final int x = regionX * 32 + 7, z = regionZ * 32 + 11;
+                coordinates.add(new int[] {x, z});
+                watersheds.add(Watershed.create(plates, x, z, seed, 0.5f, 0.8f, 14, 0.2f));
+            }
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try
+        {
+            final List<CompletableFuture<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++)
+            {
+                final Random random = new Random(seed + thread);
+                futures.add(CompletableFuture.runAsync(() -> {
+                    final List<Integer> order = new ArrayList<>();
+                    for (int i = 0; i < coordinates.size(); i++)
+                    {
+                        order.add(i);
+                    }
+                    for (int pass = 0; pass < 20; pass++)
+                    {
+                        Collections.shuffle(order, random);
+                        for (int i : order)
+                        {
+                            final int[] pos = coordinates.get(i);
+                            store.put(pos[0], pos[1], watersheds.get(i));
+                            final Watershed actual = store.get(pos[0], pos[1]);
+                            assertNotNull(actual);
+                            assertEquals(watersheds.get(i).getPlate(), actual.getPlate());
+                        }
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+        store.flush();
+
+        final WatershedStore reloaded = new WatershedStore(directory, seed, 0.5f, 0.8f, 14, 0.2f);
+        for (int i = 0; i < coordinates.size(); i++)
+        {
+            final Watershed actual = reloaded.get(coordinates.get(i)[0], coordinates.get(i)[1]);
+            assertNotNull(actual);
+            assertEquals(watersheds.get(i).getPlate(), actual.getPlate());
+        }
+    }
+}